@@ -15,22 +15,48 @@
  */
 package org.apache.catalina.startup;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import javax.servlet.ServletContainerInitializer;
+
 import org.apache.catalina.LifecycleEvent;
+import org.apache.catalina.WebResource;
+import org.apache.catalina.core.StandardContext;
+import org.apache.catalina.util.ServerInfo;
+import org.apache.juli.logging.Log;
+import org.apache.juli.logging.LogFactory;
+import org.apache.tomcat.Jar;
 import org.apache.tomcat.JarScanFilter;
 import org.apache.tomcat.JarScanType;
 import org.apache.tomcat.JarScanner;
+import org.apache.tomcat.util.bcel.classfile.ClassFormatException;
 import org.apache.tomcat.util.descriptor.web.WebXml;
 import org.apache.tomcat.util.descriptor.web.WebXmlParser;
+import org.apache.tomcat.util.scan.JarFactory;
 import org.dbflute.tomcat.core.RhythmicalHandlingDef.AnnotationHandling;
 import org.dbflute.tomcat.core.RhythmicalHandlingDef.MetaInfoResourceHandling;
 import org.dbflute.tomcat.core.RhythmicalHandlingDef.TldHandling;
 import org.dbflute.tomcat.core.RhythmicalHandlingDef.WebFragmentsHandling;
+import org.dbflute.tomcat.core.profile.BootProfiler;
+import org.dbflute.tomcat.core.profile.BootProfiler.ProfileStopwatch;
+import org.dbflute.tomcat.core.profile.ProfilingJarScanner;
+import org.dbflute.tomcat.core.scan.AnnotationIndex;
+import org.dbflute.tomcat.core.scan.IdentifiedPackageSelector;
+import org.dbflute.tomcat.core.scan.JarScanResultCache;
+import org.dbflute.tomcat.core.scan.ParallelFragmentJarScannerCallback;
+import org.dbflute.tomcat.core.tld.RhythmicalJasperInitializer;
 
 // use the same package as JavaClassCacheEntry because of package private
 /**
@@ -38,31 +64,55 @@ import org.dbflute.tomcat.core.RhythmicalHandlingDef.WebFragmentsHandling;
  */
 public class RhythmicalContextConfig extends ContextConfig {
 
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Log logger = LogFactory.getLog(RhythmicalContextConfig.class); // super's log is private
+
+    protected static final String ANNOTATION_SCAN_CACHE_PATH = "scancache/annotation.properties"; // under base dir
+    protected static final String TLD_PARSE_CACHE_PATH = "scancache/tld.cache"; // under base dir
+    protected static final String JASPER_INITIALIZER_CLASS = "org.apache.jasper.servlet.JasperInitializer";
+    protected static final String SCAN_RESULT_NOTHING = "nothing"; // means no annotation and no handles-types
+    protected static final String WEB_INF_CLASSES = "/WEB-INF/classes/";
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
     protected final AnnotationHandling annotationHandling;
+    protected final Predicate<String> annotationPackageSelector; // null allowed
     protected final MetaInfoResourceHandling metaInfoResourceHandling;
     protected final TldHandling tldHandling;
     protected final Predicate<String> tldFilesSelector; // null allowed
     protected final WebFragmentsHandling webFragmentsHandling;
     protected final Predicate<String> webFragmentsSelector; // null allowed
+    protected final int jarParsingParallelism; // zero means sequential parsing
+    protected final Predicate<String> initializerSelector; // null allowed
+    protected final BootProfiler bootProfiler; // null allowed, no profiling if null
 
     protected boolean alreadyFirstLifecycle; // stateful
+    protected JarScanResultCache annotationScanCache; // stateful, null allowed, exists only while processing annotations
 
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
-    public RhythmicalContextConfig(AnnotationHandling annotationHandling, MetaInfoResourceHandling metaInfoResourceHandling // meta
+    public RhythmicalContextConfig(AnnotationHandling annotationHandling, Predicate<String> annotationPackageSelector // annotation
+            , MetaInfoResourceHandling metaInfoResourceHandling // meta
             , TldHandling tldHandling, Predicate<String> tldFilesSelector // taglib files
             , WebFragmentsHandling webFragmentsHandling, Predicate<String> webFragmentsSelector // web fragments
+            , int jarParsingParallelism // jar parsing
+            , Predicate<String> initializerSelector // initializers
+            , BootProfiler bootProfiler // profiler
     ) {
         this.annotationHandling = annotationHandling;
+        this.annotationPackageSelector = annotationPackageSelector;
         this.metaInfoResourceHandling = metaInfoResourceHandling;
         this.tldHandling = tldHandling;
         this.tldFilesSelector = tldFilesSelector;
         this.webFragmentsHandling = webFragmentsHandling;
         this.webFragmentsSelector = webFragmentsSelector;
+        this.jarParsingParallelism = jarParsingParallelism;
+        this.initializerSelector = initializerSelector;
+        this.bootProfiler = bootProfiler;
     }
 
     // ===================================================================================
@@ -70,6 +120,17 @@ public class RhythmicalContextConfig extends ContextConfig {
     //                                                                     ===============
     @Override
     public void lifecycleEvent(LifecycleEvent event) { // called several times
+        final ProfileStopwatch stopwatch = bootProfiler != null ? bootProfiler.start(BootProfiler.CATEGORY_LIFECYCLE, event.getType()) : null;
+        try {
+            doLifecycleEvent(event);
+        } finally {
+            if (stopwatch != null) {
+                stopwatch.stop();
+            }
+        }
+    }
+
+    protected void doLifecycleEvent(LifecycleEvent event) {
         super.lifecycleEvent(event);
         if (!alreadyFirstLifecycle) { // ContextConfig is not thread-safe so no care
             alreadyFirstLifecycle = true;
@@ -80,14 +141,17 @@ public class RhythmicalContextConfig extends ContextConfig {
                 final JarScanFilter jarScanFilter = jarScanner.getJarScanFilter(); // not null
                 jarScanner.setJarScanFilter(createSelectableJarScanFilter(jarScanFilter));
             }
+            if (bootProfiler != null) { // last to wrap the adjusted scanner
+                switchToProfilingJarScanner();
+            }
         }
     }
 
     // -----------------------------------------------------
     //                                           Jar Scanner
     //                                           -----------
-    protected boolean isJarScannerAdjustmentEnabled() {
-        return isTldFilesSelectorEnabled() || isWebFragmentsSelectorEnabled();
+    protected boolean isJarScannerAdjustmentEnabled() { // profiler also needs it to count jars
+        return isTldFilesSelectorEnabled() || isWebFragmentsSelectorEnabled() || bootProfiler != null;
     }
 
     protected JarScanner extractJarScanner() {
@@ -102,6 +166,14 @@ public class RhythmicalContextConfig extends ContextConfig {
         //}
     }
 
+    protected void switchToProfilingJarScanner() {
+        final JarScanner existingScanner = extractJarScanner(); // not null
+        if (existingScanner instanceof ProfilingJarScanner) { // already switched
+            return;
+        }
+        context.setJarScanner(new ProfilingJarScanner(existingScanner, bootProfiler));
+    }
+
     protected JarScanFilter createSelectableJarScanFilter(JarScanFilter existingFilter) {
         if (existingFilter instanceof SelectableJarScanFilter) { // already wrapped
             return existingFilter;
@@ -118,6 +190,14 @@ public class RhythmicalContextConfig extends ContextConfig {
         }
 
         public boolean check(JarScanType jarScanType, String jarName) {
+            final boolean selected = doCheck(jarScanType, jarName);
+            if (bootProfiler != null) {
+                bootProfiler.count(jarScanType + (selected ? " selected" : " rejected"));
+            }
+            return selected;
+        }
+
+        protected boolean doCheck(JarScanType jarScanType, String jarName) {
             // specifed selector is prior (completely overridding determination)
             if (JarScanType.TLD.equals(jarScanType)) { // means taglib files
                 if (isTldFilesSelectorEnabled()) {
@@ -138,11 +218,39 @@ public class RhythmicalContextConfig extends ContextConfig {
     @Override
     protected Map<String, WebXml> processJarsForWebFragments(WebXml application, WebXmlParser webXmlParser) {
         if (isWebFragmentsHandlingDetect()) {
+            if (isParallelJarParsingEnabled()) {
+                return processJarsForWebFragmentsInParallel(application);
+            }
             return super.processJarsForWebFragments(application, webXmlParser);
         }
         return new HashMap<String, WebXml>(2); // mutable just in case
     }
 
+    // same as super's process except that web-fragment.xml is parsed on parsing threads
+    // (the specified parser is not thread-safe so parsers are created per thread with the same settings)
+    protected Map<String, WebXml> processJarsForWebFragmentsInParallel(WebXml application) {
+        final boolean delegate = context instanceof StandardContext && ((StandardContext) context).getDelegate();
+        final Set<String> absoluteOrder = application.getAbsoluteOrdering();
+        final boolean parseRequired = !(absoluteOrder != null && absoluteOrder.isEmpty() && !context.getXmlValidation());
+        final ParallelFragmentJarScannerCallback callback = new ParallelFragmentJarScannerCallback(() -> {
+            return new WebXmlParser(context.getXmlNamespaceAware(), context.getXmlValidation(), context.getXmlBlockExternal());
+        }, delegate, parseRequired, jarParsingParallelism);
+        try {
+            extractJarScanner().scan(JarScanType.PLUGGABILITY, context.getServletContext(), callback);
+            final Map<String, WebXml> fragments = callback.takeFragments(); // merged in scanned order
+            if (!callback.isOk()) {
+                ok = false;
+            }
+            return fragments;
+        } finally {
+            callback.shutdown();
+        }
+    }
+
+    protected boolean isParallelJarParsingEnabled() {
+        return jarParsingParallelism > 0;
+    }
+
     // ===================================================================================
     //                                                                   Servlet Container
     //                                                                   =================
@@ -152,12 +260,19 @@ public class RhythmicalContextConfig extends ContextConfig {
             super.processServletContainerInitializers();
         }
         removeJettyInitializer();
+        if (initializerSelector != null) {
+            removeUnselectedInitializer();
+        }
+        // after selection, the jasper's one may be removed
+        if (isTldHandlingCached() || (isTldHandlingDetect() && isParallelJarParsingEnabled())) {
+            switchToRhythmicalJasperInitializer();
+        }
     }
 
     protected boolean isAvailableServletContainerInitializers() {
         // o #thinking annotation handling...why needed? (forgotten) by jflute (2019/05/01)
         // o jasper's initializer executes tld scanning so needed here
-        return isAnnotationHandlingDetect() || isTldHandlingDetect();
+        return isAnnotationHandlingDetect() || isAnnotationHandlingIndexed() || isTldHandlingDetect();
     }
 
     protected void removeJettyInitializer() {
@@ -168,16 +283,339 @@ public class RhythmicalContextConfig extends ContextConfig {
         });
     }
 
+    protected void removeUnselectedInitializer() {
+        final List<ServletContainerInitializer> unselectedList = initializerClassMap.keySet().stream().filter(initializer -> {
+            return !initializerSelector.test(initializer.getClass().getName());
+        }).collect(Collectors.toList());
+        if (unselectedList.isEmpty()) {
+            return;
+        }
+        for (ServletContainerInitializer initializer : unselectedList) {
+            initializerClassMap.remove(initializer);
+            typeInitializerMap.values().forEach(initializerSet -> initializerSet.remove(initializer));
+        }
+        // handles-types only for removed initializers are unneeded so scanning for them is skipped
+        typeInitializerMap.values().removeIf(initializerSet -> initializerSet.isEmpty());
+        handlesTypesAnnotations = typeInitializerMap.keySet().stream().anyMatch(type -> type.isAnnotation());
+        handlesTypesNonAnnotations = typeInitializerMap.keySet().stream().anyMatch(type -> !type.isAnnotation());
+    }
+
+    protected void switchToRhythmicalJasperInitializer() {
+        final ServletContainerInitializer jasperInitializer = initializerClassMap.keySet().stream().filter(initializer -> {
+            return JASPER_INITIALIZER_CLASS.equals(initializer.getClass().getName()); // exactly jasper's one
+        }).findFirst().orElse(null);
+        if (jasperInitializer == null) { // e.g. no jasper, removed by selector
+            return;
+        }
+        final File parseCacheFile = isTldHandlingCached() ? new File(context.getCatalinaBase(), TLD_PARSE_CACHE_PATH) : null;
+        final ServletContainerInitializer rhythmicalInitializer = newRhythmicalJasperInitializer(parseCacheFile, jarParsingParallelism);
+        final Map<ServletContainerInitializer, Set<Class<?>>> replacedMap = new LinkedHashMap<>(); // to keep order
+        initializerClassMap.forEach((initializer, classes) -> {
+            replacedMap.put(initializer == jasperInitializer ? rhythmicalInitializer : initializer, classes);
+        });
+        initializerClassMap.clear();
+        initializerClassMap.putAll(replacedMap);
+        typeInitializerMap.values().forEach(initializerSet -> { // jasper has no handles-types but just in case
+            if (initializerSet.remove(jasperInitializer)) {
+                initializerSet.add(rhythmicalInitializer);
+            }
+        });
+    }
+
+    // returns as interface not to load jasper classes when jasper does not exist
+    protected ServletContainerInitializer newRhythmicalJasperInitializer(File parseCacheFile, int parsingParallelism) {
+        return new RhythmicalJasperInitializer(parseCacheFile, parsingParallelism);
+    }
+
+    // ===================================================================================
+    //                                                                             Classes
+    //                                                                             =======
+    @Override
+    protected void processClasses(WebXml webXml, Set<WebXml> orderedFragments) {
+        if (isAnnotationHandlingIndexed()) {
+            processIndexedClasses(webXml, orderedFragments); // instead of scanning all classes
+        } else {
+            super.processClasses(webXml, orderedFragments);
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                       Indexed Classes
+    //                                       ---------------
+    protected void processIndexedClasses(WebXml webXml, Set<WebXml> orderedFragments) {
+        final Map<String, JavaClassCacheEntry> javaClassCache = new HashMap<String, JavaClassCacheEntry>();
+        final Set<String> handlesTypeNames = typeInitializerMap.keySet().stream().map(type -> {
+            return type.getName();
+        }).collect(Collectors.toSet());
+        if (ok) { // same step as super: WEB-INF/classes
+            processIndexedResource(WEB_INF_CLASSES, path -> {
+                final WebResource resource = context.getResources().getResource(WEB_INF_CLASSES + path);
+                return resource.exists() ? resource.getInputStream() : null;
+            }, webXml, webXml.isMetadataComplete(), handlesTypeNames, javaClassCache);
+        }
+        if (ok) { // same step as super: JARs (and class path directories)
+            for (WebXml fragment : orderedFragments) {
+                final boolean handlesTypesOnly = webXml.isMetadataComplete() || !fragment.getWebappJar() || fragment.isMetadataComplete();
+                processIndexedFragment(fragment, handlesTypesOnly, handlesTypeNames, javaClassCache);
+            }
+        }
+        javaClassCache.clear();
+    }
+
+    protected void processIndexedFragment(WebXml fragment, boolean handlesTypesOnly, Set<String> handlesTypeNames,
+            Map<String, JavaClassCacheEntry> javaClassCache) {
+        final URL url = fragment.getURL();
+        if (url == null) { // e.g. container fragment
+            return;
+        }
+        if ("jar".equals(url.getProtocol()) || url.toString().endsWith(".jar")) {
+            try (Jar jar = JarFactory.newInstance(url)) {
+                processIndexedResource(url.toString(), path -> jar.getInputStream(path), fragment, handlesTypesOnly,
+                        handlesTypeNames, javaClassCache);
+            } catch (IOException e) {
+                logger.warn("Failed to open the jar for annotation index: " + url, e);
+            }
+        } else if ("file".equals(url.getProtocol())) { // e.g. target/classes
+            final File dir;
+            try {
+                dir = new File(url.toURI());
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                logger.warn("Cannot get the directory for annotation index: " + url, e);
+                return;
+            }
+            processIndexedResource(url.toString(), path -> {
+                final File file = new File(dir, path);
+                return file.isFile() ? new FileInputStream(file) : null;
+            }, fragment, handlesTypesOnly, handlesTypeNames, javaClassCache);
+        }
+    }
+
+    protected void processIndexedResource(String location, IndexedResourceOpener opener, WebXml fragment, boolean handlesTypesOnly,
+            Set<String> handlesTypeNames, Map<String, JavaClassCacheEntry> javaClassCache) {
+        final AnnotationIndex index;
+        try (InputStream ins = opener.open(AnnotationIndex.INDEX_PATH)) {
+            if (ins == null) { // no index means no annotation
+                return;
+            }
+            index = AnnotationIndex.load(ins);
+        } catch (IOException e) {
+            logger.warn("Failed to read the annotation index: " + location, e);
+            return;
+        }
+        for (String classPath : index.selectCandidateClassPaths(handlesTypeNames, handlesTypesOnly)) {
+            if (!isAnnotationPackageSelected(classPath)) {
+                continue;
+            }
+            try (InputStream ins = opener.open(classPath)) {
+                if (ins != null) { // basically exists
+                    processAnnotationsStream(ins, fragment, handlesTypesOnly, javaClassCache);
+                }
+            } catch (IOException | ClassFormatException e) {
+                logger.warn("Failed to process the indexed class: " + classPath + " in " + location, e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    protected static interface IndexedResourceOpener {
+
+        InputStream open(String path) throws IOException; // null allowed if not found
+    }
+
     // ===================================================================================
     //                                                                         Annotations
     //                                                                         ===========
     @Override
     protected void processAnnotations(Set<WebXml> fragments, boolean handlesTypesOnly, Map<String, JavaClassCacheEntry> javaClassCache) {
         if (isAnnotationHandlingDetect()) {
-            super.processAnnotations(fragments, handlesTypesOnly, javaClassCache);
+            if (isAnnotationScanCacheEnabled()) {
+                annotationScanCache = prepareAnnotationScanCache(handlesTypesOnly);
+                super.processAnnotations(fragments, handlesTypesOnly, javaClassCache);
+                final int storedCount = annotationScanCache.store();
+                logger.info("Stored annotation scan cache: nothingJars=" + storedCount + ", file=" + annotationScanCache.getCacheFile());
+                annotationScanCache = null;
+            } else {
+                super.processAnnotations(fragments, handlesTypesOnly, javaClassCache);
+            }
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                            Scan Cache
+    //                                            ----------
+    protected boolean isAnnotationScanCacheEnabled() {
+        // the scan result of one jar cannot be determined in parallel scanning
+        // because handles-types classes are collected to the shared map
+        if (!isAnnotationHandlingCached() || context.getParallelAnnotationScanning()) {
+            return false;
+        }
+        // cached results of old selection would skip newly selected classes without warning
+        if (annotationPackageSelector != null && !(annotationPackageSelector instanceof IdentifiedPackageSelector)) {
+            logger.info("Cannot use annotation scan cache because the package selector has no ID (lambda cannot be identified)");
+            return false;
+        }
+        return true;
+    }
+
+    protected JarScanResultCache prepareAnnotationScanCache(boolean handlesTypesOnly) {
+        final File cacheFile = new File(context.getCatalinaBase(), ANNOTATION_SCAN_CACHE_PATH);
+        final JarScanResultCache cache = new JarScanResultCache(cacheFile, buildAnnotationScanSignature(handlesTypesOnly));
+        final int loadedCount = cache.load();
+        logger.info("Loaded annotation scan cache: nothingJars=" + loadedCount + ", packages=" + buildAnnotationPackagesExp() + ", file="
+                + cacheFile);
+        return cache;
+    }
+
+    protected String buildAnnotationScanSignature(boolean handlesTypesOnly) { // cached results depend on them
+        final String handlesTypes = typeInitializerMap.keySet().stream().map(type -> {
+            return type.getName();
+        }).sorted().collect(Collectors.joining(","));
+        return ServerInfo.getServerNumber() + ";handlesTypesOnly=" + handlesTypesOnly + ";handlesTypes=" + handlesTypes + ";packages="
+                + buildAnnotationPackagesExp();
+    }
+
+    protected String buildAnnotationPackagesExp() { // cache is disabled if selector without ID
+        if (annotationPackageSelector instanceof IdentifiedPackageSelector) {
+            return "id:" + ((IdentifiedPackageSelector) annotationPackageSelector).getSelectorId();
+        }
+        return annotationPackageSelector != null ? "(unidentified)" : "all";
+    }
+
+    @Override
+    protected void processAnnotationsJar(URL url, WebXml fragment, boolean handlesTypesOnly,
+            Map<String, JavaClassCacheEntry> javaClassCache) {
+        if (annotationScanCache == null) { // no cache
+            doProcessAnnotationsJar(url, fragment, handlesTypesOnly, javaClassCache);
+            return;
+        }
+        if (SCAN_RESULT_NOTHING.equals(annotationScanCache.findResult(url))) { // unchanged jar that has nothing
+            return;
+        }
+        final int beforeComponentCount = countFragmentComponents(fragment);
+        final int beforeHandlesTypesCount = countHandlesTypesClasses();
+        doProcessAnnotationsJar(url, fragment, handlesTypesOnly, javaClassCache);
+        if (beforeComponentCount == 0 && countFragmentComponents(fragment) == 0 // no web-fragment.xml and annotation
+                && countHandlesTypesClasses() == beforeHandlesTypesCount) { // no matched class for initializers
+            annotationScanCache.saveResult(url, SCAN_RESULT_NOTHING);
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                      Package Selector
+    //                                      ----------------
+    protected void doProcessAnnotationsJar(URL url, WebXml fragment, boolean handlesTypesOnly,
+            Map<String, JavaClassCacheEntry> javaClassCache) {
+        if (bootProfiler == null) {
+            doProcessAnnotationsJarSelectively(url, fragment, handlesTypesOnly, javaClassCache);
+            return;
+        }
+        final String jarUrl = url.toString(); // e.g. jar:file:/.../lib/foo.jar!/
+        final String jarPath = jarUrl.endsWith("!/") ? jarUrl.substring(0, jarUrl.length() - "!/".length()) : jarUrl;
+        final String jarName = jarPath.substring(jarPath.lastIndexOf('/') + 1);
+        final ProfileStopwatch stopwatch = bootProfiler.start(BootProfiler.CATEGORY_ANNOTATION_JAR, jarName);
+        try {
+            doProcessAnnotationsJarSelectively(url, fragment, handlesTypesOnly, javaClassCache);
+        } finally {
+            stopwatch.stop();
+        }
+    }
+
+    protected void doProcessAnnotationsJarSelectively(URL url, WebXml fragment, boolean handlesTypesOnly,
+            Map<String, JavaClassCacheEntry> javaClassCache) {
+        if (annotationPackageSelector == null) {
+            super.processAnnotationsJar(url, fragment, handlesTypesOnly, javaClassCache);
+            return;
+        }
+        // copied from super's processAnnotationsJar() to skip classes before parsing
+        try (Jar jar = JarFactory.newInstance(url)) {
+            jar.nextEntry();
+            String entryName = jar.getEntryName();
+            while (entryName != null) {
+                if (entryName.endsWith(".class") && isAnnotationPackageSelected(entryName)) {
+                    try (InputStream is = jar.getEntryInputStream()) {
+                        processAnnotationsStream(is, fragment, handlesTypesOnly, javaClassCache);
+                    } catch (IOException | ClassFormatException e) {
+                        logger.error(sm.getString("contextConfig.inputStreamJar", entryName, url), e);
+                    }
+                }
+                jar.nextEntry();
+                entryName = jar.getEntryName();
+            }
+        } catch (IOException e) {
+            logger.error(sm.getString("contextConfig.jarFile", url), e);
         }
     }
 
+    @Override
+    protected void processAnnotationsUrl(URL url, WebXml fragment, boolean handlesTypesOnly,
+            Map<String, JavaClassCacheEntry> javaClassCache) {
+        if (annotationPackageSelector != null && "file".equals(url.getProtocol()) && !url.toString().endsWith(".jar")) {
+            final File rootDir;
+            try {
+                rootDir = new File(url.toURI());
+            } catch (URISyntaxException e) {
+                logger.error(sm.getString("contextConfig.fileUrl", url), e);
+                return;
+            }
+            processAnnotationsDirectory(rootDir, "", fragment, handlesTypesOnly, javaClassCache); // e.g. target/classes
+        } else {
+            super.processAnnotationsUrl(url, fragment, handlesTypesOnly, javaClassCache);
+        }
+    }
+
+    protected void processAnnotationsDirectory(File file, String relativePath, WebXml fragment, boolean handlesTypesOnly,
+            Map<String, JavaClassCacheEntry> javaClassCache) { // similar to super's processAnnotationsFile()
+        if (file.isDirectory()) {
+            final String[] dirs = file.list(); // null allowed
+            if (dirs != null) {
+                for (String dir : dirs) {
+                    final String childPath = relativePath.isEmpty() ? dir : relativePath + "/" + dir;
+                    processAnnotationsDirectory(new File(file, dir), childPath, fragment, handlesTypesOnly, javaClassCache);
+                }
+            }
+        } else if (file.getName().endsWith(".class") && file.canRead() && isAnnotationPackageSelected(relativePath)) {
+            try (FileInputStream fis = new FileInputStream(file)) {
+                processAnnotationsStream(fis, fragment, handlesTypesOnly, javaClassCache);
+            } catch (IOException | ClassFormatException e) {
+                logger.error(sm.getString("contextConfig.inputStreamFile", file.getAbsolutePath()), e);
+            }
+        }
+    }
+
+    @Override
+    protected void processAnnotationsWebResource(WebResource webResource, WebXml fragment, boolean handlesTypesOnly,
+            Map<String, JavaClassCacheEntry> javaClassCache) { // for WEB-INF/classes, called recursively
+        if (annotationPackageSelector != null && webResource.isFile()) {
+            final String webappPath = webResource.getWebappPath(); // e.g. /WEB-INF/classes/org/docksidestage/SeaServlet.class
+            if (webappPath.endsWith(".class") && webappPath.startsWith(WEB_INF_CLASSES)) {
+                if (!isAnnotationPackageSelected(webappPath.substring(WEB_INF_CLASSES.length()))) {
+                    return;
+                }
+            }
+        }
+        super.processAnnotationsWebResource(webResource, fragment, handlesTypesOnly, javaClassCache);
+    }
+
+    protected boolean isAnnotationPackageSelected(String classPath) { // e.g. org/docksidestage/SeaServlet.class
+        if (annotationPackageSelector == null) {
+            return true;
+        }
+        final int slashIndex = classPath.lastIndexOf('/');
+        final String packageName = slashIndex >= 0 ? classPath.substring(0, slashIndex).replace('/', '.') : ""; // empty if default
+        return annotationPackageSelector.test(packageName);
+    }
+
+    // -----------------------------------------------------
+    //                                          Scan Counter
+    //                                          ------------
+    protected int countFragmentComponents(WebXml fragment) {
+        return fragment.getServlets().size() + fragment.getFilters().size() + fragment.getListeners().size();
+    }
+
+    protected int countHandlesTypesClasses() {
+        return initializerClassMap.values().stream().mapToInt(classes -> classes.size()).sum();
+    }
+
     // ===================================================================================
     //                                                                       Resource JARs
     //                                                                       =============
@@ -192,7 +630,15 @@ public class RhythmicalContextConfig extends ContextConfig {
     //                                                                        Assist Logic
     //                                                                        ============
     protected boolean isAnnotationHandlingDetect() {
-        return AnnotationHandling.DETECT.equals(annotationHandling);
+        return AnnotationHandling.DETECT.equals(annotationHandling) || isAnnotationHandlingCached();
+    }
+
+    protected boolean isAnnotationHandlingCached() {
+        return AnnotationHandling.CACHED.equals(annotationHandling); // also detect
+    }
+
+    protected boolean isAnnotationHandlingIndexed() {
+        return AnnotationHandling.INDEXED.equals(annotationHandling); // not detect
     }
 
     protected boolean isMetaInfoResourceHandlingDetect() {
@@ -200,7 +646,11 @@ public class RhythmicalContextConfig extends ContextConfig {
     }
 
     protected boolean isTldHandlingDetect() {
-        return TldHandling.DETECT.equals(tldHandling); // .tld in jar files
+        return TldHandling.DETECT.equals(tldHandling) || isTldHandlingCached(); // .tld in jar files
+    }
+
+    protected boolean isTldHandlingCached() {
+        return TldHandling.CACHED.equals(tldHandling); // also detect
     }
 
     protected boolean isTldFilesSelectorEnabled() {
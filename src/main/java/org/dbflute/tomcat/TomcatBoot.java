@@ -17,9 +17,13 @@ package org.dbflute.tomcat;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.Inet6Address;
+import java.net.InetAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLEncoder;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -40,20 +44,31 @@ import java.util.stream.Stream;
 
 import javax.servlet.ServletException;
 
+import org.apache.catalina.Container;
 import org.apache.catalina.Context;
 import org.apache.catalina.Globals;
 import org.apache.catalina.Host;
 import org.apache.catalina.Valve;
+import org.apache.catalina.connector.Connector;
 import org.apache.catalina.core.StandardHost;
 import org.apache.catalina.startup.Tomcat;
+import org.apache.tomcat.util.IntrospectionUtils;
 import org.dbflute.tomcat.core.RhythmicalHandlingDef.AnnotationHandling;
 import org.dbflute.tomcat.core.RhythmicalHandlingDef.MetaInfoResourceHandling;
 import org.dbflute.tomcat.core.RhythmicalHandlingDef.TldHandling;
 import org.dbflute.tomcat.core.RhythmicalHandlingDef.WebFragmentsHandling;
 import org.dbflute.tomcat.core.RhythmicalTomcat;
 import org.dbflute.tomcat.core.accesslog.AccessLogOption;
+import org.dbflute.tomcat.core.cds.ClassDataSharingSupport;
 import org.dbflute.tomcat.core.likeit.LikeItCatalinaSetupper;
+import org.dbflute.tomcat.core.profile.BootProfiler;
+import org.dbflute.tomcat.core.profile.BootProfiler.ProfileStopwatch;
+import org.dbflute.tomcat.core.profile.BootProfiler.ReportFormat;
+import org.dbflute.tomcat.core.scan.IdentifiedPackageSelector;
+import org.dbflute.tomcat.core.servlet.DefaultServletOption;
 import org.dbflute.tomcat.core.valve.YourValveOption;
+import org.dbflute.tomcat.core.warmup.WarmUpDriver;
+import org.dbflute.tomcat.core.warmup.WarmUpOption;
 import org.dbflute.tomcat.logging.BootLogger;
 import org.dbflute.tomcat.logging.TomcatLoggingOption;
 import org.dbflute.tomcat.props.BootPropsTranslator;
@@ -68,6 +83,10 @@ public class TomcatBoot {
     //                                                                          Definition
     //                                                                          ==========
     protected static final String DEFAULT_MARK_DIR = "/tmp/dbflute/tomcatboot"; // for shutdown hook
+    /** The attribute name of servlet context for readiness (Boolean), true after warm-up, e.g. for health check. */
+    public static final String READY_TO_SERVE_ATTR = "org.dbflute.tomcat.readyToServe";
+
+    protected static final String DEFAULT_TRAINING_ARCHIVE_FILE = "tomcatboot-app.jsa"; // for CDS dynamic dump, in working directory
 
     // ===================================================================================
     //                                                                           Attribute
@@ -84,18 +103,29 @@ public class TomcatBoot {
     protected boolean development;
     protected boolean browseOnDesktop;
     protected boolean suppressShutdownHook;
+    protected boolean trainingRun;
+    protected String[] trainingWarmUpPaths; // null allowed (but not null if training run)
     protected boolean useAnnotationDetect;
+    protected boolean useAnnotationScanCache;
+    protected boolean useAnnotationIndex;
+    protected Predicate<String> annotationPackageSelector; // null allowed
     protected boolean useMetaInfoResourceDetect;
     protected boolean useTldDetect;
+    protected boolean useTldParseCache;
     protected Predicate<String> tldFilesSelector; // null allowed
     protected boolean useWebFragmentsDetect;
     protected Predicate<String> webFragmentsSelector; // null allowed
+    protected int jarParsingParallelism; // zero means sequential parsing
+    protected Predicate<String> initializerSelector; // null allowed
+    protected BootProfiler bootProfiler; // null allowed
+    protected int loadOnStartupParallelism; // zero means sequential initialization
     protected String configFile; // null allowed
     protected String[] extendsConfigFiles; // null allowed
     protected String loggingFile; // null allowed
     protected Consumer<TomcatLoggingOption> loggingOptionCall; // null allowed (but not null if loggingFile exists)
     protected String baseDir; // null allowed
     protected YourValveOption yourValveOption; // null allowed
+    protected WarmUpOption warmUpOption; // null allowed
     protected LikeItCatalinaSetupper likeitCatalinaSetupper; // null allowed
 
     // -----------------------------------------------------
@@ -105,6 +135,7 @@ public class TomcatBoot {
     protected List<String> readConfigList; // null allowed (but not null if configFile exists after ready), basically for logging
     protected BootLogger bootLogger; // not null after ready
     protected Tomcat server; // not null after preparing server
+    protected volatile boolean readyToServe; // true after boot successful (after warm-up if it exists)
 
     // -----------------------------------------------------
     //                                              Follower
@@ -181,6 +212,26 @@ public class TomcatBoot {
         return this;
     }
 
+    /**
+     * Does it boot the tomcat server as training run for class data sharing (CDS)? <br>
+     * It boots, requests the warm-up paths, dumps the CDS archive (or class list), and closes without await.
+     * The way of the dump depends on JVM arguments (e.g. -XX:ArchiveClassesAtExit=app.jsa),
+     * and you can boot with the archive by -XX:SharedArchiveFile=app.jsa (whether active is logged at boot).
+     * <pre>
+     * boot.asTrainingRun("/", "/product/list/");
+     * </pre>
+     * @param warmUpPaths The paths under context path to be requested for warm-up by GET. (NotNull, EmptyAllowed)
+     * @return this. (NotNull)
+     */
+    public TomcatBoot asTrainingRun(String... warmUpPaths) {
+        if (warmUpPaths == null) {
+            throw new IllegalArgumentException("The argument 'warmUpPaths' should not be null.");
+        }
+        trainingRun = true;
+        trainingWarmUpPaths = warmUpPaths;
+        return this;
+    }
+
     protected void assertDevelopmentState() {
         if (!development) {
             throw new IllegalStateException("The option is valid only when development: port=" + port);
@@ -196,6 +247,82 @@ public class TomcatBoot {
         return this;
     }
 
+    /**
+     * You can detect annotations in classes of selected packages. <br>
+     * The class files of other packages are skipped before parsing bytecode,
+     * so also classes for initializers (handles-types) should be in the packages.
+     * <pre>
+     * boot.useAnnotationDetect(packageName -&gt; {
+     *     return packageName.startsWith("org.docksidestage.app.web");
+     * });
+     * </pre>
+     * @param oneArgLambda The callback for selector of packages, argument is package name e.g. org.docksidestage.app (NotNull)
+     * @return this. (NotNull)
+     */
+    public TomcatBoot useAnnotationDetect(Predicate<String> oneArgLambda) { // you can select
+        if (oneArgLambda == null) {
+            throw new IllegalArgumentException("The argument 'oneArgLambda' should not be null.");
+        }
+        useAnnotationDetect = true;
+        annotationPackageSelector = oneArgLambda;
+        return this;
+    }
+
+    /**
+     * You can detect annotations in classes of selected packages with ID of the selector. <br>
+     * The ID is used for the annotation scan cache (a lambda cannot be identified between boots),
+     * so change the ID when you change the selecting logic. (the scan cache is not used by the selector without ID)
+     * <pre>
+     * boot.useAnnotationScanCache().useAnnotationDetect("web-v1", packageName -&gt; {
+     *     return packageName.startsWith("org.docksidestage.app.web");
+     * });
+     * </pre>
+     * @param selectorId The ID of the selecting logic, saved in the cache file. (NotNull, NotEmpty)
+     * @param oneArgLambda The callback for selector of packages, argument is package name e.g. org.docksidestage.app (NotNull)
+     * @return this. (NotNull)
+     */
+    public TomcatBoot useAnnotationDetect(String selectorId, Predicate<String> oneArgLambda) { // you can select with cache
+        if (selectorId == null || selectorId.trim().isEmpty()) {
+            throw new IllegalArgumentException("The argument 'selectorId' should not be null or empty: " + selectorId);
+        }
+        if (oneArgLambda == null) {
+            throw new IllegalArgumentException("The argument 'oneArgLambda' should not be null.");
+        }
+        useAnnotationDetect = true;
+        annotationPackageSelector = new IdentifiedPackageSelector(selectorId, oneArgLambda);
+        return this;
+    }
+
+    /**
+     * You can detect annotations in all jar files with scan-result cache. <br>
+     * The jars that have no annotation (and no class for initializers) are saved in the cache file under base directory,
+     * and they are skipped on next boot if their size and last-modified are same.
+     * <pre>
+     * boot.useAnnotationScanCache(); // also enables annotation detect
+     * </pre>
+     * The cache is not used with the package selector without ID, use useAnnotationDetect(selectorId, oneArgLambda) for it. <br>
+     * <span style="color: #CC4747; font-size: 120%">Delete the cache file if the scan results might be changed without jar changes.</span>
+     * @return this. (NotNull)
+     */
+    public TomcatBoot useAnnotationScanCache() {
+        useAnnotationDetect = true;
+        useAnnotationScanCache = true;
+        return this;
+    }
+
+    /**
+     * You can detect annotations by the index made at compile time without class scanning. <br>
+     * The index is made by AnnotationIndexProcessor, and jars (or classes) without index are not scanned.
+     * <pre>
+     * boot.useAnnotationIndex(); // needs AnnotationIndexProcessor at your compiler
+     * </pre>
+     * @return this. (NotNull)
+     */
+    public TomcatBoot useAnnotationIndex() {
+        useAnnotationIndex = true;
+        return this;
+    }
+
     /**
      * You can detect 'META-INF' resources in jar files detected as web fragments. <br>
      * <span style="color: #CC4747; font-size: 120%">So you also needs to enable web fragments detect.</span>
@@ -231,6 +358,23 @@ public class TomcatBoot {
         return this;
     }
 
+    /**
+     * You can detect '.tld' files with reusing parsed TLD of unchanged jar files. <br>
+     * The parsed TLD is recorded in the cache file under base dir,
+     * and reused in next boot if the jar file is unchanged (size and last modified). <br>
+     * Jar files are still scanned to find '.tld' files, parsing them is skipped.
+     * Jasper (tomcat-embed-jasper) is needed, otherwise this is the same as detect.
+     * <pre>
+     * boot.useTldDetect().useTldParseCache();
+     * </pre>
+     * @return this. (NotNull)
+     */
+    public TomcatBoot useTldParseCache() { // also detect, can be used with selector
+        useTldDetect = true;
+        useTldParseCache = true;
+        return this;
+    }
+
     /**
      * You can detect web fragments in all jar files.
      * @return this. (NotNull)
@@ -256,6 +400,109 @@ public class TomcatBoot {
         return this;
     }
 
+    /**
+     * You can parse TLD and web-fragment.xml in jar files in parallel for TLD and web fragments detect. <br>
+     * The count of threads is same as available processors.
+     * @return this. (NotNull)
+     */
+    public TomcatBoot useParallelJarParsing() {
+        return useParallelJarParsing(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * You can parse TLD and web-fragment.xml in jar files in parallel for TLD and web fragments detect. <br>
+     * Jars are scanned on the boot thread as usual, their TLD and web-fragment.xml are parsed on parsing threads,
+     * and the parsed results are merged in the same order as the standard scanning, so the result is not changed.
+     * <pre>
+     * boot.useTldDetect().useWebFragmentsDetect().useParallelJarParsing(8);
+     * </pre>
+     * @param parallelism The max count of threads to parse them. (Positive)
+     * @return this. (NotNull)
+     */
+    public TomcatBoot useParallelJarParsing(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The argument 'parallelism' should be positive: " + parallelism);
+        }
+        jarParsingParallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * You can select servlet container initializers (SCI) to be executed. <br>
+     * Unselected initializers are removed before annotation scanning,
+     * so the scanning for their handles-types (e.g. Spring's WebApplicationInitializer) is also skipped.
+     * <pre>
+     * boot.useTldDetect().selectServletContainerInitializers(className -&gt; { // only jasper for TLD
+     *     return className.startsWith("org.apache.jasper");
+     * });
+     * </pre>
+     * @param oneArgLambda The callback for selector of initializers, argument is FQCN of initializer. (NotNull)
+     * @return this. (NotNull)
+     */
+    public TomcatBoot selectServletContainerInitializers(Predicate<String> oneArgLambda) {
+        if (oneArgLambda == null) {
+            throw new IllegalArgumentException("The argument 'oneArgLambda' should not be null.");
+        }
+        initializerSelector = oneArgLambda;
+        return this;
+    }
+
+    /**
+     * You can initialize load-on-startup servlets of the same order concurrently. <br>
+     * The count of threads is same as available processors.
+     * @return this. (NotNull)
+     */
+    public TomcatBoot useParallelLoadOnStartup() {
+        return useParallelLoadOnStartup(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * You can initialize load-on-startup servlets of the same order concurrently. <br>
+     * Servlets of the next order are initialized after all servlets of the previous order,
+     * so servlets that depend on others should have later order.
+     * <pre>
+     * boot.useParallelLoadOnStartup(4);
+     * </pre>
+     * @param parallelism The max count of threads to initialize servlets. (Positive)
+     * @return this. (NotNull)
+     */
+    public TomcatBoot useParallelLoadOnStartup(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The argument 'parallelism' should be positive: " + parallelism);
+        }
+        loadOnStartupParallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * You can profile the boot process, and the report is logged at the end of boot. <br>
+     * It records wall and CPU time per boot phase, lifecycle event of webapp context, and scanned jar.
+     * @return this. (NotNull)
+     */
+    public TomcatBoot useBootProfiler() {
+        return useBootProfiler(ReportFormat.TEXT);
+    }
+
+    /**
+     * You can profile the boot process, and the report is logged at the end of boot.
+     * <pre>
+     * boot.useBootProfiler(ReportFormat.JSON); // one line JSON e.g. for log analysis
+     * </pre>
+     * @param reportFormat The format of the report. (NotNull)
+     * @return this. (NotNull)
+     */
+    public TomcatBoot useBootProfiler(ReportFormat reportFormat) {
+        if (reportFormat == null) {
+            throw new IllegalArgumentException("The argument 'reportFormat' should not be null.");
+        }
+        bootProfiler = newBootProfiler(reportFormat); // created here to profile also ready()
+        return this;
+    }
+
+    protected BootProfiler newBootProfiler(ReportFormat reportFormat) {
+        return new BootProfiler(reportFormat, 10); // top ten jars is enough for text
+    }
+
     /**
      * You can configure tomcat options by application properties.
      * <pre>
@@ -326,6 +573,27 @@ public class TomcatBoot {
         return this;
     }
 
+    /**
+     * You can warm up the application by local requests before the boot is reported successful. <br>
+     * The readiness flag (isReadyToServe() and servlet context attribute) becomes true after the warm-up. <br>
+     * For HTTPS connector, the certificate is not verified in warm-up requests because they go to the own connector.
+     * <pre>
+     * boot.useWarmUp(op -&gt; op.get("/").get("/product/list/").times(20));
+     * boot.useWarmUp(op -&gt; op.captureFile("./warmup_capture.txt").times(20));
+     * </pre>
+     * @param opLambda The callback for option of warm-up. (NotNull)
+     * @return this. (NotNull)
+     */
+    public TomcatBoot useWarmUp(Consumer<WarmUpOption> opLambda) {
+        if (opLambda == null) {
+            throw new IllegalArgumentException("The argument 'opLambda' should not be null.");
+        }
+        final WarmUpOption option = new WarmUpOption();
+        opLambda.accept(option);
+        warmUpOption = option;
+        return this;
+    }
+
     /**
      * You can customize tomcat resource (e.g. host, context) as you like (it).
      * @param resourceLambda The setupper of tomcat resource (e.g. host, context). (NotNull)
@@ -345,6 +613,10 @@ public class TomcatBoot {
     public TomcatBoot bootAwait() {
         ready();
         go();
+        if (trainingRun) { // no await
+            finishTrainingRun();
+            return this;
+        }
         await();
         return this;
     }
@@ -353,8 +625,13 @@ public class TomcatBoot {
     //                                                 Ready
     //                                                 -----
     public void ready() { // public as parts
-        loadServerConfigIfNeeds();
-        loadServerLoggingIfNeeds();
+        final ProfileStopwatch stopwatch = startProfile("ready");
+        try {
+            loadServerConfigIfNeeds();
+            loadServerLoggingIfNeeds();
+        } finally {
+            stopProfile(stopwatch);
+        }
     }
 
     protected void loadServerConfigIfNeeds() {
@@ -394,14 +671,36 @@ public class TomcatBoot {
     //                                                  Go
     //                                                ------
     public void go() { // public as parts, no wait
-        info("...Booting the Tomcat: port=" + port + " contextPath=" + contextPath);
-        if (development) {
+        info("...Booting the Tomcat: port=" + port + " contextPath=" + contextPath + (trainingRun ? " as training run" : ""));
+        if (development && !trainingRun) { // training run closes soon
             registerShutdownHook();
         }
-        prepareServer();
-        final URI uri = startServer();
+        final ProfileStopwatch prepareStopwatch = startProfile("prepareServer");
+        try {
+            prepareServer();
+        } finally {
+            stopProfile(prepareStopwatch);
+        }
+        final ProfileStopwatch startStopwatch = startProfile("startServer");
+        final URI uri;
+        try {
+            uri = startServer();
+        } finally {
+            stopProfile(startStopwatch);
+        }
+        if (warmUpOption != null) {
+            final ProfileStopwatch warmUpStopwatch = startProfile("warmUp");
+            try {
+                warmUp(warmUpOption);
+            } finally {
+                stopProfile(warmUpStopwatch);
+            }
+        }
+        markReadyToServe();
         info("Boot successful" + (development ? " as development" : "") + ": url -> " + uri);
-        if (development) {
+        showBootProfileIfNeeds();
+        showClassDataSharingIfNeeds();
+        if (development && !trainingRun && !uri.getScheme().endsWith("+unix")) { // browser cannot open socket file
             browseOnDesktop(uri);
         }
     }
@@ -412,9 +711,16 @@ public class TomcatBoot {
         if (baseDir != null) {
             server.setBaseDir(baseDir);
         }
+        setupConnectorProtocolIfNeeds(); // after base directory (fixed by connector), before default connector is created
         adjustServer();
-        setupWebappContext();
+        final ProfileStopwatch stopwatch = startProfile("setupWebappContext");
+        try {
+            setupWebappContext();
+        } finally {
+            stopProfile(stopwatch);
+        }
         setupServerConfigIfNeeds();
+        setupAdminConnectorIfNeeds(); // after main connector
     }
 
     protected void adjustServer() {
@@ -453,38 +759,70 @@ public class TomcatBoot {
 
     protected Tomcat createTomcat() {
         final AnnotationHandling annotationHandling = prepareAnnotationHandling();
+        final Predicate<String> annotationPackageSelector = prepareAnnotationPackageSelector(); // null allowed
         final MetaInfoResourceHandling metaInfoResourceHandling = prepareMetaInfoResourceHandling();
         final TldHandling tldHandling = prepareTldHandling();
         final Predicate<String> tldFilesSelector = prepareTldFilesSelector();
         final WebFragmentsHandling webFragmentsHandling = prepareuseWebFragmentsHandling();
         final Predicate<String> webFragmentsSelector = prepareWebFragmentsSelector(); // null allowed
+        final int jarParsingParallelism = prepareJarParsingParallelism(); // zero allowed
+        final Predicate<String> initializerSelector = prepareInitializerSelector(); // null allowed
+        final BootProfiler bootProfiler = prepareBootProfiler(); // null allowed
+        final int loadOnStartupParallelism = prepareLoadOnStartupParallelism(); // zero allowed
         final AccessLogOption accessLogOption = prepareAccessLogOption(); // null allowed
+        final DefaultServletOption defaultServletOption = prepareDefaultServletOption(); // null allowed
         final YourValveOption yourValveOption = prepareYourValveOption(); // null allowed
         final LikeItCatalinaSetupper likeitCatalinaSetupper = prepareLikeItCatalinaSetupper(); // null allowed
         return newRhythmicalTomcat(bootLogger // has many arguments
-                , annotationHandling, metaInfoResourceHandling // meta
+                , annotationHandling, annotationPackageSelector // annotation
+                , metaInfoResourceHandling // meta
                 , tldHandling, tldFilesSelector // taglib files
                 , webFragmentsHandling, webFragmentsSelector // web fragments
-                , accessLogOption, yourValveOption, likeitCatalinaSetupper // options
+                , jarParsingParallelism // jar parsing
+                , initializerSelector // initializers
+                , bootProfiler // profiler
+                , loadOnStartupParallelism // servlets
+                , accessLogOption, defaultServletOption, yourValveOption, likeitCatalinaSetupper // options
         );
     }
 
     protected RhythmicalTomcat newRhythmicalTomcat(BootLogger bootLogger // logging
-            , AnnotationHandling annotationHandling, MetaInfoResourceHandling metaInfoResourceHandling // meta
+            , AnnotationHandling annotationHandling, Predicate<String> annotationPackageSelector // annotation
+            , MetaInfoResourceHandling metaInfoResourceHandling // meta
             , TldHandling tldHandling, Predicate<String> tldFilesSelector // tld files
             , WebFragmentsHandling webFragmentsHandling, Predicate<String> webFragmentsSelector // web fragments
-            , AccessLogOption accessLogOption, YourValveOption yourValveOption, LikeItCatalinaSetupper likeitCatalinaSetupper // options
+            , int jarParsingParallelism // jar parsing
+            , Predicate<String> initializerSelector // initializers
+            , BootProfiler bootProfiler // profiler
+            , int loadOnStartupParallelism // servlets
+            , AccessLogOption accessLogOption, DefaultServletOption defaultServletOption, YourValveOption yourValveOption // options
+            , LikeItCatalinaSetupper likeitCatalinaSetupper // options
     ) {
         return new RhythmicalTomcat(bootLogger // has many arguments
-                , annotationHandling, metaInfoResourceHandling // meta
+                , annotationHandling, annotationPackageSelector // annotation
+                , metaInfoResourceHandling // meta
                 , tldHandling, tldFilesSelector // taglib files
                 , webFragmentsHandling, webFragmentsSelector // web fragments
-                , accessLogOption, yourValveOption, likeitCatalinaSetupper // options
+                , jarParsingParallelism // jar parsing
+                , initializerSelector // initializers
+                , bootProfiler // profiler
+                , loadOnStartupParallelism // servlets
+                , accessLogOption, defaultServletOption, yourValveOption, likeitCatalinaSetupper // options
         );
     }
 
     protected AnnotationHandling prepareAnnotationHandling() {
-        return useAnnotationDetect ? AnnotationHandling.DETECT : AnnotationHandling.NONE;
+        if (useAnnotationIndex) { // prior to detect
+            return AnnotationHandling.INDEXED;
+        }
+        if (useAnnotationDetect) {
+            return useAnnotationScanCache ? AnnotationHandling.CACHED : AnnotationHandling.DETECT;
+        }
+        return AnnotationHandling.NONE;
+    }
+
+    protected Predicate<String> prepareAnnotationPackageSelector() {
+        return annotationPackageSelector; // null allowed
     }
 
     protected MetaInfoResourceHandling prepareMetaInfoResourceHandling() {
@@ -492,7 +830,10 @@ public class TomcatBoot {
     }
 
     protected TldHandling prepareTldHandling() {
-        return useTldDetect ? TldHandling.DETECT : TldHandling.NONE;
+        if (useTldDetect) {
+            return useTldParseCache ? TldHandling.CACHED : TldHandling.DETECT;
+        }
+        return TldHandling.NONE;
     }
 
     protected Predicate<String> prepareTldFilesSelector() {
@@ -507,10 +848,30 @@ public class TomcatBoot {
         return webFragmentsSelector; // null allowed
     }
 
+    protected int prepareJarParsingParallelism() {
+        return jarParsingParallelism; // zero allowed
+    }
+
+    protected Predicate<String> prepareInitializerSelector() {
+        return initializerSelector; // null allowed
+    }
+
+    protected BootProfiler prepareBootProfiler() {
+        return bootProfiler; // null allowed
+    }
+
+    protected int prepareLoadOnStartupParallelism() {
+        return loadOnStartupParallelism; // zero allowed
+    }
+
     protected AccessLogOption prepareAccessLogOption() {
         return propsTranslator.prepareAccessLogOption(bootLogger, configProps, readConfigList); // null allowed
     }
 
+    protected DefaultServletOption prepareDefaultServletOption() {
+        return propsTranslator.prepareDefaultServletOption(bootLogger, configProps, readConfigList); // null allowed
+    }
+
     protected YourValveOption prepareYourValveOption() {
         return yourValveOption; // null allowed
     }
@@ -701,10 +1062,23 @@ public class TomcatBoot {
     // ===================================================================================
     //                                                                Set up Configuration
     //                                                                ====================
+    protected void setupConnectorProtocolIfNeeds() { // e.g. tomcat.protocol=nio2
+        final String protocolClassName = propsTranslator.prepareConnectorProtocol(bootLogger, configProps); // null allowed
+        if (protocolClassName != null) {
+            final Connector connector = new Connector(protocolClassName);
+            connector.setPort(port);
+            server.setConnector(connector); // used as main connector by getConnector()
+        }
+    }
+
     protected void setupServerConfigIfNeeds() {
         propsTranslator.setupServerConfigIfNeeds(bootLogger, server, server.getConnector(), configProps, readConfigList);
     }
 
+    protected void setupAdminConnectorIfNeeds() { // e.g. tomcat.admin.port
+        propsTranslator.setupAdminConnectorIfNeeds(bootLogger, server, configProps, readConfigList);
+    }
+
     // ===================================================================================
     //                                                                        Start Server
     //                                                                        ============
@@ -715,7 +1089,13 @@ public class TomcatBoot {
             throw new IllegalStateException("server start failed.", e);
         }
         final String scheme = server.getConnector().getScheme();
-        final String uri = scheme + "://" + server.getHost().getName() + ":" + port + contextPath;
+        final String socketPath = findUnixDomainSocketPath(); // null allowed
+        final String uri;
+        if (socketPath != null) {
+            uri = buildUnixDomainSocketUri(scheme, socketPath);
+        } else {
+            uri = scheme + "://" + server.getHost().getName() + ":" + port + contextPath;
+        }
         try {
             return new URI(uri);
         } catch (URISyntaxException e) {
@@ -723,6 +1103,118 @@ public class TomcatBoot {
         }
     }
 
+    protected String findUnixDomainSocketPath() { // null allowed, e.g. tomcat.unixDomainSocketPath
+        final Object socketPath = IntrospectionUtils.getProperty(server.getConnector().getProtocolHandler(), "unixDomainSocketPath");
+        return socketPath != null ? socketPath.toString() : null;
+    }
+
+    protected String buildUnixDomainSocketUri(String scheme, String socketPath) {
+        // e.g. http+unix://%2Fvar%2Frun%2Fapp.sock/fortress (same as curl-like clients)
+        return scheme + "+unix://" + encodeUnixDomainSocketPath(socketPath) + contextPath;
+    }
+
+    protected String encodeUnixDomainSocketPath(String socketPath) {
+        try {
+            // space is '+' by form encoding but it is not decoded by URI so percent-encoded
+            return URLEncoder.encode(socketPath, "UTF-8").replace("+", "%20");
+        } catch (UnsupportedEncodingException e) { // no way
+            throw new IllegalStateException("Unknown encoding: UTF-8", e);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Boot Profile
+    //                                                                        ============
+    protected ProfileStopwatch startProfile(String phase) { // null allowed
+        return bootProfiler != null ? bootProfiler.start(BootProfiler.CATEGORY_PHASE, phase) : null;
+    }
+
+    protected void stopProfile(ProfileStopwatch stopwatch) {
+        if (stopwatch != null) {
+            stopwatch.stop();
+        }
+    }
+
+    protected void showBootProfileIfNeeds() {
+        if (bootProfiler != null) {
+            info(bootProfiler.buildReport());
+        }
+    }
+
+    // ===================================================================================
+    //                                                                             Warm-up
+    //                                                                             =======
+    protected void warmUp(WarmUpOption option) {
+        if (findUnixDomainSocketPath() != null) { // HTTP client of JDK cannot connect it
+            info("*Cannot warm up the application via unix domain socket so skip it");
+            return;
+        }
+        info("...Warming up the application: times=" + option.getTimes());
+        info(createWarmUpDriver().drive(option));
+    }
+
+    protected WarmUpDriver createWarmUpDriver() {
+        return new WarmUpDriver(buildWarmUpBaseUrl(server.getConnector()), msg -> info(msg));
+    }
+
+    protected String buildWarmUpBaseUrl(Connector connector) { // e.g. https://192.168.0.10:8152/fortress
+        final Object address = IntrospectionUtils.getProperty(connector.getProtocolHandler(), "address"); // null allowed
+        final int localPort = connector.getLocalPort(); // actually bound, minus if not started
+        return connector.getScheme() + "://" + deriveWarmUpHost(address) + ":" + (localPort > 0 ? localPort : port) + contextPath;
+    }
+
+    protected String deriveWarmUpHost(Object address) { // null allowed if all interfaces
+        if (address instanceof InetAddress && !((InetAddress) address).isAnyLocalAddress()) { // bound to specific interface
+            final String hostAddress = ((InetAddress) address).getHostAddress().replace("%", "%25"); // escape scope of IPv6
+            return address instanceof Inet6Address ? "[" + hostAddress + "]" : hostAddress;
+        }
+        return "localhost"; // loopback is bound when all interfaces
+    }
+
+    protected void markReadyToServe() {
+        final Container context = server.getHost().findChild(contextPath); // null allowed e.g. customized
+        if (context instanceof Context) {
+            ((Context) context).getServletContext().setAttribute(READY_TO_SERVE_ATTR, Boolean.TRUE);
+        }
+        readyToServe = true;
+    }
+
+    // ===================================================================================
+    //                                                                  Class Data Sharing
+    //                                                                  ==================
+    protected void showClassDataSharingIfNeeds() {
+        final ClassDataSharingSupport support = createClassDataSharingSupport();
+        if (trainingRun || support.isSharedArchiveSpecified()) {
+            info(support.buildSharingStatus());
+        }
+    }
+
+    protected void finishTrainingRun() {
+        fireTrainingRequests();
+        info(createClassDataSharingSupport().dumpTrainingArchive(prepareTrainingArchiveFile()));
+        info("...Closing the Tomcat after training run (the JVM should exit to dump at exit)");
+        close();
+    }
+
+    protected void fireTrainingRequests() {
+        if (trainingWarmUpPaths.length == 0) {
+            return;
+        }
+        final WarmUpOption option = new WarmUpOption();
+        for (String warmUpPath : trainingWarmUpPaths) {
+            option.get(warmUpPath);
+        }
+        warmUp(option);
+    }
+
+    protected File prepareTrainingArchiveFile() {
+        return new File(DEFAULT_TRAINING_ARCHIVE_FILE);
+    }
+
+    protected ClassDataSharingSupport createClassDataSharingSupport() {
+        return new ClassDataSharingSupport();
+    }
+
     // ===================================================================================
     //                                                                         Development
     //                                                                         ===========
@@ -848,4 +1340,12 @@ public class TomcatBoot {
     public Tomcat getServer() {
         return server;
     }
+
+    /**
+     * Is the server ready to serve? (e.g. for health check)
+     * @return The determination, true after boot successful (after warm-up if it exists).
+     */
+    public boolean isReadyToServe() {
+        return readyToServe;
+    }
 }
\ No newline at end of file
@@ -22,7 +22,8 @@ public class RhythmicalHandlingDef {
 
     // be enum because of other elements for future
     public static enum AnnotationHandling {
-        DETECT, NONE
+        DETECT, CACHED, INDEXED, NONE // cached means detect with skipping unchanged jars that have nothing
+        // indexed means only classes in index made at compile time
     }
 
     public static enum MetaInfoResourceHandling {
@@ -30,7 +31,7 @@ public class RhythmicalHandlingDef {
     }
 
     public static enum TldHandling {
-        DETECT, NONE
+        DETECT, CACHED, NONE // cached means detect with reusing parsed tld of unchanged jars
     }
 
     public static enum WebFragmentsHandling {
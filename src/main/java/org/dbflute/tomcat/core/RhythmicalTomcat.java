@@ -18,6 +18,7 @@ package org.dbflute.tomcat.core;
 import java.lang.reflect.InvocationTargetException;
 import java.util.function.Predicate;
 
+import org.apache.catalina.Container;
 import org.apache.catalina.Context;
 import org.apache.catalina.Host;
 import org.apache.catalina.Lifecycle;
@@ -30,14 +31,19 @@ import org.apache.catalina.core.StandardHost;
 import org.apache.catalina.startup.ContextConfig;
 import org.apache.catalina.startup.RhythmicalContextConfig;
 import org.apache.catalina.startup.Tomcat;
+import org.apache.catalina.valves.AbstractAccessLogValve;
 import org.apache.catalina.valves.AccessLogValve;
 import org.dbflute.tomcat.core.RhythmicalHandlingDef.AnnotationHandling;
 import org.dbflute.tomcat.core.RhythmicalHandlingDef.MetaInfoResourceHandling;
 import org.dbflute.tomcat.core.RhythmicalHandlingDef.TldHandling;
 import org.dbflute.tomcat.core.RhythmicalHandlingDef.WebFragmentsHandling;
 import org.dbflute.tomcat.core.accesslog.AccessLogOption;
+import org.dbflute.tomcat.core.accesslog.RhythmicalAccessLogValve;
+import org.dbflute.tomcat.core.context.ParallelStartupContext;
 import org.dbflute.tomcat.core.likeit.LikeItCatalinaResource;
 import org.dbflute.tomcat.core.likeit.LikeItCatalinaSetupper;
+import org.dbflute.tomcat.core.profile.BootProfiler;
+import org.dbflute.tomcat.core.servlet.DefaultServletOption;
 import org.dbflute.tomcat.core.valve.YourValveOption;
 import org.dbflute.tomcat.logging.BootLogger;
 
@@ -51,12 +57,18 @@ public class RhythmicalTomcat extends Tomcat { // e.g. to remove org.eclipse.jet
     //                                                                           =========
     protected final BootLogger bootLogger;
     protected final AnnotationHandling annotationHandling;
+    protected final Predicate<String> annotationPackageSelector; // null allowed, selector is not required
     protected final MetaInfoResourceHandling metaInfoResourceHandling;
     protected final TldHandling tldHandling;
     protected final Predicate<String> tldFilesSelector; // null allowed, selector is not required
     protected final WebFragmentsHandling webFragmentsHandling;
     protected final Predicate<String> webFragmentsSelector; // null allowed, selector is not required
+    protected final int jarParsingParallelism; // zero means sequential parsing
+    protected final Predicate<String> initializerSelector; // null allowed, all initializers if null
+    protected final BootProfiler bootProfiler; // null allowed, no profiling if null
+    protected final int loadOnStartupParallelism; // zero means sequential initialization
     protected final AccessLogOption accessLogOption; // null allowed, use access log if exists
+    protected final DefaultServletOption defaultServletOption; // null allowed, as default if null
     protected final YourValveOption yourValveOption; // null allowed, for user options
     protected final LikeItCatalinaSetupper likeitCatalinaSetupper; // null allowed, for user options
 
@@ -64,19 +76,31 @@ public class RhythmicalTomcat extends Tomcat { // e.g. to remove org.eclipse.jet
     //                                                                         Constructor
     //                                                                         ===========
     public RhythmicalTomcat(BootLogger bootLogger // has many arguments
-            , AnnotationHandling annotationHandling, MetaInfoResourceHandling metaInfoResourceHandling // meta
+            , AnnotationHandling annotationHandling, Predicate<String> annotationPackageSelector // annotation
+            , MetaInfoResourceHandling metaInfoResourceHandling // meta
             , TldHandling tldHandling, Predicate<String> tldFilesSelector // taglib files
             , WebFragmentsHandling webFragmentsHandling, Predicate<String> webFragmentsSelector // web fragments
-            , AccessLogOption accessLogOption, YourValveOption yourValveOption, LikeItCatalinaSetupper likeitCatalinaSetupper // options
+            , int jarParsingParallelism // jar parsing
+            , Predicate<String> initializerSelector // initializers
+            , BootProfiler bootProfiler // profiler
+            , int loadOnStartupParallelism // servlets
+            , AccessLogOption accessLogOption, DefaultServletOption defaultServletOption, YourValveOption yourValveOption // options
+            , LikeItCatalinaSetupper likeitCatalinaSetupper // options
     ) {
         this.bootLogger = bootLogger;
         this.annotationHandling = annotationHandling;
+        this.annotationPackageSelector = annotationPackageSelector;
         this.metaInfoResourceHandling = metaInfoResourceHandling;
         this.tldHandling = tldHandling;
         this.tldFilesSelector = tldFilesSelector;
         this.webFragmentsHandling = webFragmentsHandling;
         this.webFragmentsSelector = webFragmentsSelector;
+        this.jarParsingParallelism = jarParsingParallelism;
+        this.initializerSelector = initializerSelector;
+        this.bootProfiler = bootProfiler;
+        this.loadOnStartupParallelism = loadOnStartupParallelism;
         this.accessLogOption = accessLogOption;
+        this.defaultServletOption = defaultServletOption;
         this.yourValveOption = yourValveOption;
         this.likeitCatalinaSetupper = likeitCatalinaSetupper;
     }
@@ -92,20 +116,32 @@ public class RhythmicalTomcat extends Tomcat { // e.g. to remove org.eclipse.jet
     }
 
     protected ContextConfig createContextConfig() {
-        return newRhythmicalContextConfig(annotationHandling, metaInfoResourceHandling // meta
+        return newRhythmicalContextConfig(annotationHandling, annotationPackageSelector // annotation
+                , metaInfoResourceHandling // meta
                 , tldHandling, tldFilesSelector // taglib files
                 , webFragmentsHandling, webFragmentsSelector // web fragments
+                , jarParsingParallelism // jar parsing
+                , initializerSelector // initializers
+                , bootProfiler // profiler
         );
     }
 
     protected RhythmicalContextConfig newRhythmicalContextConfig( // has many arguments
-            AnnotationHandling annotationHandling, MetaInfoResourceHandling metaInfoResourceHandling // meta
+            AnnotationHandling annotationHandling, Predicate<String> annotationPackageSelector // annotation
+            , MetaInfoResourceHandling metaInfoResourceHandling // meta
             , TldHandling tldHandling, Predicate<String> tldFilesSelector // taglib files
             , WebFragmentsHandling webFragmentsHandling, Predicate<String> webFragmentsSelector // web fragments
+            , int jarParsingParallelism // jar parsing
+            , Predicate<String> initializerSelector // initializers
+            , BootProfiler bootProfiler // profiler
     ) {
-        return new RhythmicalContextConfig(annotationHandling, metaInfoResourceHandling // meta
+        return new RhythmicalContextConfig(annotationHandling, annotationPackageSelector // annotation
+                , metaInfoResourceHandling // meta
                 , tldHandling, tldFilesSelector // taglib files
                 , webFragmentsHandling, webFragmentsSelector // web fragments
+                , jarParsingParallelism // jar parsing
+                , initializerSelector // initializers
+                , bootProfiler // profiler
         );
     }
 
@@ -149,7 +185,11 @@ public class RhythmicalTomcat extends Tomcat { // e.g. to remove org.eclipse.jet
         }
         final Context ctx;
         try {
-            ctx = (Context) Class.forName(contextClass).getConstructor().newInstance();
+            if (isParallelLoadOnStartupEnabled(contextClass)) {
+                ctx = newParallelStartupContext(loadOnStartupParallelism);
+            } else {
+                ctx = (Context) Class.forName(contextClass).getConstructor().newInstance();
+            }
         } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
                 | NoSuchMethodException | SecurityException | ClassNotFoundException e) {
             String msg = "Can't instantiate context-class " + contextClass + " for host " + host + " and url " + url;
@@ -163,15 +203,30 @@ public class RhythmicalTomcat extends Tomcat { // e.g. to remove org.eclipse.jet
         return ctx;
     }
 
+    protected boolean isParallelLoadOnStartupEnabled(String contextClass) {
+        if (loadOnStartupParallelism <= 0) {
+            return false;
+        }
+        if (!StandardContext.class.getName().equals(contextClass)) { // e.g. customized by host
+            bootLogger.info("Cannot use parallel load-on-startup because of non-standard context: " + contextClass);
+            return false;
+        }
+        return true;
+    }
+
+    protected ParallelStartupContext newParallelStartupContext(int parallelism) {
+        return new ParallelStartupContext(parallelism);
+    }
+
     protected void setupAccessLogIfNeeds(Context ctx) {
         if (accessLogOption != null && ctx instanceof StandardContext) { // also check context type just in case
             final StandardContext stdctx = (StandardContext) ctx;
-            final AccessLogValve valve = new AccessLogValve();
-            accessLogOption.getLogDir().ifPresent(dir -> valve.setDirectory(dir));
-            accessLogOption.getFilePrefix().ifPresent(prefix -> valve.setPrefix(prefix));
-            accessLogOption.getFileSuffix().ifPresent(suffix -> valve.setSuffix(suffix));
-            accessLogOption.getFileDateFormat().ifPresent(format -> valve.setFileDateFormat(format));
-            valve.setEncoding(accessLogOption.getFileEncoding().orElse("UTF-8"));
+            final AbstractAccessLogValve valve;
+            if (isRhythmicalAccessLogValveRequired(accessLogOption)) { // e.g. json, sampling, async, buffered writer, archiving
+                valve = createRhythmicalAccessLogValve(accessLogOption);
+            } else { // as standard
+                valve = createStandardAccessLogValve(accessLogOption);
+            }
             valve.setPattern(accessLogOption.getFormatPattern().orElse("common"));
             accessLogOption.getConditionIf().ifPresent(cond -> valve.setConditionIf(cond));
             accessLogOption.getConditionUnless().ifPresent(cond -> valve.setConditionUnless(cond));
@@ -179,6 +234,47 @@ public class RhythmicalTomcat extends Tomcat { // e.g. to remove org.eclipse.jet
         }
     }
 
+    protected boolean isRhythmicalAccessLogValveRequired(AccessLogOption option) {
+        return option.getFormat().isPresent() || option.getSlowThresholdMillis().isPresent() || option.getSampleRate().isPresent()
+                || option.isAsync() || option.getBufferSize().isPresent() || option.getFlushIntervalMillis().isPresent()
+                || option.getFsyncPolicy().isPresent() || option.isCompressRotated() || option.getMaxHistory().isPresent()
+                || option.getMaxTotalSize().isPresent();
+    }
+
+    protected RhythmicalAccessLogValve createRhythmicalAccessLogValve(AccessLogOption option) {
+        final RhythmicalAccessLogValve valve = new RhythmicalAccessLogValve();
+        option.getLogDir().ifPresent(dir -> valve.setDirectory(dir));
+        option.getFilePrefix().ifPresent(prefix -> valve.setPrefix(prefix));
+        option.getFileSuffix().ifPresent(suffix -> valve.setSuffix(suffix));
+        option.getFileDateFormat().ifPresent(format -> valve.setFileDateFormat(format));
+        valve.setEncoding(option.getFileEncoding().orElse("UTF-8"));
+        valve.setCompressRotated(option.isCompressRotated());
+        option.getMaxHistory().ifPresent(history -> valve.setMaxHistory(history));
+        option.getMaxTotalSize().ifPresent(size -> valve.setMaxTotalSize(size));
+        option.getFormat().ifPresent(format -> valve.setFormat(format));
+        option.getJsonFields().ifPresent(fields -> valve.setJsonFields(fields));
+        option.getSlowThresholdMillis().ifPresent(millis -> valve.setSlowThresholdMillis(millis));
+        option.getSampleRate().ifPresent(rate -> valve.setSampleRate(rate));
+        option.getSampleIdHeader().ifPresent(header -> valve.setSampleIdHeader(header));
+        valve.setAsync(option.isAsync());
+        option.getQueueSize().ifPresent(size -> valve.setQueueSize(size));
+        option.getOverflowPolicy().ifPresent(policy -> valve.setOverflowPolicy(policy));
+        option.getBufferSize().ifPresent(size -> valve.setBufferSize(size));
+        option.getFlushIntervalMillis().ifPresent(millis -> valve.setFlushIntervalMillis(millis));
+        option.getFsyncPolicy().ifPresent(policy -> valve.setFsyncPolicy(policy));
+        return valve;
+    }
+
+    protected AccessLogValve createStandardAccessLogValve(AccessLogOption option) {
+        final AccessLogValve valve = new AccessLogValve();
+        option.getLogDir().ifPresent(dir -> valve.setDirectory(dir));
+        option.getFilePrefix().ifPresent(prefix -> valve.setPrefix(prefix));
+        option.getFileSuffix().ifPresent(suffix -> valve.setSuffix(suffix));
+        option.getFileDateFormat().ifPresent(format -> valve.setFileDateFormat(format));
+        valve.setEncoding(option.getFileEncoding().orElse("UTF-8"));
+        return valve;
+    }
+
     protected void setupYourValveIfNeeds(Context ctx) {
         if (yourValveOption != null && ctx instanceof StandardContext) { // also check context type just in case
             final StandardContext stdctx = (StandardContext) ctx;
@@ -211,6 +307,7 @@ public class RhythmicalTomcat extends Tomcat { // e.g. to remove org.eclipse.jet
                 bootLogger.info(msgBase + "without JSP");
                 initWebappDefaultsWithoutJsp(ctx);
             }
+            setupDefaultServletIfNeeds(ctx); // for both
         }
     }
 
@@ -226,6 +323,21 @@ public class RhythmicalTomcat extends Tomcat { // e.g. to remove org.eclipse.jet
         }
     }
 
+    protected void setupDefaultServletIfNeeds(Context ctx) {
+        if (defaultServletOption == null) {
+            return;
+        }
+        final Container child = ctx.findChild("default"); // overridable so may be replaced by web.xml later
+        if (!(child instanceof Wrapper)) { // basically no way
+            bootLogger.info("*Not found the default servlet so cannot set up it: " + child);
+            return;
+        }
+        final Wrapper servlet = (Wrapper) child;
+        defaultServletOption.getPrecompressed().ifPresent(value -> servlet.addInitParameter("precompressed", value));
+        defaultServletOption.getSendfileSize().ifPresent(size -> servlet.addInitParameter("sendfileSize", String.valueOf(size)));
+        defaultServletOption.getOutputBufferSize().ifPresent(size -> servlet.addInitParameter("output", String.valueOf(size)));
+    }
+
     protected void initWebappDefaultsWithoutJsp(Context ctx) {
         // _/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/
         // copied frmo Tomcat@initWebappDefaults() and removing JSP process
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.accesslog;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.juli.logging.Log;
+import org.apache.juli.logging.LogFactory;
+
+/**
+ * The archiver of rotated access log files, which compresses them by gzip and prunes old ones by count and size. <br>
+ * All file operations run on the single low-priority daemon thread, so rotation on request threads is not blocked.
+ * Only files whose names are the prefix, date stamp and suffix (and .gz) are handled, others in the directory are ignored.
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class AccessLogArchiver {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Log log = LogFactory.getLog(AccessLogArchiver.class); // same logging as the valve
+
+    public static final String GZIP_EXTENSION = ".gz";
+    protected static final String TEMPORARY_EXTENSION = ".tmp"; // renamed after compressed
+    protected static final int COPY_BUFFER_SIZE = 64 * 1024;
+    protected static final long STOP_TIMEOUT_MILLIS = 10000L;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final File directory; // not null
+    protected final String prefix; // not null
+    protected final String suffix; // not null
+    protected final SimpleDateFormat dateStampFormat; // not null, only by archiver thread
+    protected final boolean compressRotated;
+    protected final int maxHistory; // minus means unlimited
+    protected final long maxTotalSize; // minus means unlimited
+    protected ExecutorService executor; // null before start
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param directory The directory of access log files. (NotNull)
+     * @param prefix The prefix of file name. (NotNull)
+     * @param suffix The suffix of file name, before .gz if compressed. (NotNull)
+     * @param fileDateFormat The format of date stamp in file name, e.g. .yyyy-MM-dd (NotNull)
+     * @param compressRotated Does it compress rotated files by gzip?
+     * @param maxHistory The max count of rotated files to keep, minus means unlimited.
+     * @param maxTotalSize The max bytes of all files including the current one, minus means unlimited.
+     */
+    public AccessLogArchiver(File directory, String prefix, String suffix, String fileDateFormat, boolean compressRotated,
+            int maxHistory, long maxTotalSize) {
+        if (directory == null) {
+            throw new IllegalArgumentException("The argument 'directory' should not be null.");
+        }
+        if (prefix == null) {
+            throw new IllegalArgumentException("The argument 'prefix' should not be null.");
+        }
+        if (suffix == null) {
+            throw new IllegalArgumentException("The argument 'suffix' should not be null.");
+        }
+        if (fileDateFormat == null) {
+            throw new IllegalArgumentException("The argument 'fileDateFormat' should not be null.");
+        }
+        this.directory = directory;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.dateStampFormat = new SimpleDateFormat(fileDateFormat);
+        this.dateStampFormat.setLenient(false); // to ignore other files
+        this.compressRotated = compressRotated;
+        this.maxHistory = maxHistory;
+        this.maxTotalSize = maxTotalSize;
+    }
+
+    // ===================================================================================
+    //                                                                           Lifecycle
+    //                                                                           =========
+    /**
+     * @param threadName The name of archiver thread. (NotNull)
+     */
+    public synchronized void start(String threadName) {
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true); // not to block JVM exit
+            thread.setPriority(Thread.MIN_PRIORITY); // not to compete with request threads
+            return thread;
+        });
+        pool.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy()); // after stop
+        executor = pool;
+    }
+
+    public synchronized void stop() { // waits for the current task, remaining files are handled at next start
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                log.warn("The access log archiver did not finish in time, continues in background: " + directory);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+    }
+
+    // ===================================================================================
+    //                                                                             Archive
+    //                                                                             =======
+    /**
+     * Request archiving rotated files (asynchronously), called at start and after rotation.
+     * @param currentFile The current log file that is not handled. (NullAllowed: if failed to open)
+     */
+    public synchronized void requestArchive(File currentFile) {
+        if (executor == null) {
+            return;
+        }
+        try {
+            executor.execute(() -> archive(currentFile));
+        } catch (RejectedExecutionException e) { // no way, discarded after shutdown
+            log.debug("The archiving request was rejected: " + currentFile, e);
+        }
+    }
+
+    protected void archive(File currentFile) { // on archiver thread
+        try {
+            if (compressRotated) {
+                for (File rotated : findRotatedFiles(currentFile)) {
+                    if (!rotated.getName().endsWith(GZIP_EXTENSION)) {
+                        compress(rotated);
+                    }
+                }
+            }
+            prune(currentFile);
+        } catch (RuntimeException e) { // archiver thread should not die
+            log.warn("Failed to archive the rotated access logs: " + directory, e);
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                              Compress
+    //                                              --------
+    protected void compress(File rotated) {
+        final File compressed = new File(rotated.getParentFile(), rotated.getName() + GZIP_EXTENSION);
+        final File temporary = new File(rotated.getParentFile(), compressed.getName() + TEMPORARY_EXTENSION);
+        try {
+            try (InputStream ins = new FileInputStream(rotated);
+                    OutputStream ous = new GZIPOutputStream(new FileOutputStream(temporary), COPY_BUFFER_SIZE)) {
+                final byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                int length;
+                while ((length = ins.read(buffer)) >= 0) {
+                    ous.write(buffer, 0, length);
+                }
+            }
+            temporary.setLastModified(rotated.lastModified()); // for pruning order
+            if (compressed.exists() && !compressed.delete() || !temporary.renameTo(compressed)) {
+                throw new IOException("Failed to rename the compressed file: " + temporary + " to " + compressed);
+            }
+            if (!rotated.delete()) {
+                log.warn("Failed to delete the compressed access log: " + rotated);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to compress the access log: " + rotated, e);
+            temporary.delete(); // original remains, retried at next archiving
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                                 Prune
+    //                                                 -----
+    protected void prune(File currentFile) {
+        if (maxHistory < 0 && maxTotalSize < 0) {
+            return;
+        }
+        final List<File> rotatedList = findRotatedFiles(currentFile);
+        rotatedList.sort(Comparator.comparingLong(File::lastModified).reversed()); // newest first
+        long totalSize = currentFile != null ? currentFile.length() : 0L;
+        final List<File> deletedList = new ArrayList<>();
+        for (int i = 0; i < rotatedList.size(); i++) {
+            final File rotated = rotatedList.get(i);
+            totalSize += rotated.length();
+            if ((maxHistory >= 0 && i >= maxHistory) || (maxTotalSize >= 0 && totalSize > maxTotalSize)) {
+                deletedList.add(rotated); // older ones are also deleted by size
+            }
+        }
+        for (File deleted : deletedList) {
+            if (deleted.delete()) {
+                log.info("Deleted the old access log: " + deleted);
+            } else {
+                log.warn("Failed to delete the old access log: " + deleted);
+            }
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                          Rotated File
+    //                                          ------------
+    protected List<File> findRotatedFiles(File currentFile) {
+        final List<File> rotatedList = new ArrayList<>();
+        final File[] files = directory.listFiles();
+        if (files == null) { // e.g. deleted
+            return rotatedList;
+        }
+        for (File file : files) {
+            if (file.isFile() && !file.equals(currentFile) && isRotatedFileName(file.getName())) {
+                rotatedList.add(file);
+            }
+        }
+        return rotatedList;
+    }
+
+    protected boolean isRotatedFileName(String name) {
+        final String plainName = name.endsWith(GZIP_EXTENSION) ? name.substring(0, name.length() - GZIP_EXTENSION.length()) : name;
+        if (!plainName.startsWith(prefix) || !plainName.endsWith(suffix) || plainName.length() < prefix.length() + suffix.length()) {
+            return false;
+        }
+        final String dateStamp = plainName.substring(prefix.length(), plainName.length() - suffix.length());
+        final ParsePosition position = new ParsePosition(0);
+        return dateStampFormat.parse(dateStamp, position) != null && position.getIndex() == dateStamp.length();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.accesslog;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The writer of access log file that encodes characters into the direct buffer and writes them by file channel in batches. <br>
+ * Characters are written to the file only when the buffer is full or flushed, so the count of system calls is small.
+ * Not thread-safe, the caller should guard it.
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class AccessLogFileWriter extends Writer {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final int MIN_BUFFER_SIZE = 16; // larger than bytes of any character (e.g. surrogate pair)
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final File file; // not null
+    protected final FileChannel channel; // not null, append mode
+    protected final ByteBuffer buffer; // not null, direct, for zero-copy to channel
+    protected final CharsetEncoder encoder; // not null, replacing broken characters
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param file The access log file to append. (NotNull)
+     * @param charset The charset of the file. (NotNull)
+     * @param bufferSize The bytes of the buffer, too small size is extended to the minimum. (Positive)
+     * @throws IOException When it fails to open the file.
+     */
+    public AccessLogFileWriter(File file, Charset charset, int bufferSize) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("The argument 'file' should not be null.");
+        }
+        if (charset == null) {
+            throw new IllegalArgumentException("The argument 'charset' should not be null.");
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("The argument 'bufferSize' should be positive: " + bufferSize);
+        }
+        this.file = file;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, MIN_BUFFER_SIZE)); // one char should be encoded at least
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    // ===================================================================================
+    //                                                                               Write
+    //                                                                               =====
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        encode(CharBuffer.wrap(cbuf, off, len));
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        encode(CharBuffer.wrap(str, off, off + len));
+    }
+
+    protected void encode(CharBuffer chars) throws IOException {
+        while (true) {
+            final CoderResult result = encoder.encode(chars, buffer, true); // each write is complete text
+            if (result.isOverflow()) { // buffer is full
+                writeBuffer();
+            } else { // underflow means all consumed (errors are replaced)
+                break;
+            }
+        }
+        encoder.reset();
+    }
+
+    protected void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // ===================================================================================
+    //                                                                               Flush
+    //                                                                               =====
+    /**
+     * Write the buffered bytes to the file, which are in OS page cache after this.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (buffer.position() > 0) {
+            writeBuffer();
+        }
+    }
+
+    /**
+     * Force the written bytes to the storage device (fsync), call this after flush.
+     * @throws IOException When it fails to force.
+     */
+    public void force() throws IOException {
+        channel.force(false); // metadata is unneeded for logs
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public File getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.accesslog;
+
+import java.io.CharArrayWriter;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+
+/**
+ * The encoder of access log record as JSON line, whose field list is compiled once. <br>
+ * Keys are pre-escaped and values are written into the message buffer directly,
+ * and strings are escaped only when they contain special characters.
+ * <pre>
+ * e.g. time,remoteAddr,method,uri,status,elapsedMillis,header:X-Request-Id
+ * {"time":"2026-10-16T12:34:56.789+09:00","remoteAddr":"127.0.0.1","method":"GET","uri":"/sea",...}
+ * </pre>
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class AccessLogJsonEncoder {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final String DEFAULT_FIELDS = "time,remoteAddr,method,uri,query,protocol,status,bytes,elapsedMillis,referer,userAgent";
+    public static final String HEADER_FIELD_PREFIX = "header:"; // e.g. header:X-Request-Id
+
+    protected static final char[] NULL_CHARS = "null".toCharArray();
+    protected static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+    protected static final ThreadLocal<TimestampCache> timestampCacheLocal = ThreadLocal.withInitial(() -> new TimestampCache());
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final JsonField[] fields; // not null, compiled
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param fieldList The comma-separated list of fields, e.g. time,uri,status. (NotNull)
+     * @throws IllegalStateException When the field is unknown.
+     */
+    public AccessLogJsonEncoder(String fieldList) {
+        if (fieldList == null) {
+            throw new IllegalArgumentException("The argument 'fieldList' should not be null.");
+        }
+        this.fields = compileFields(fieldList);
+    }
+
+    // ===================================================================================
+    //                                                                             Compile
+    //                                                                             =======
+    protected JsonField[] compileFields(String fieldList) {
+        final List<JsonField> compiledList = new ArrayList<>();
+        for (String element : fieldList.split(",")) {
+            final String field = element.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            final String key;
+            final FieldWriter writer;
+            if (field.startsWith(HEADER_FIELD_PREFIX)) {
+                final String headerName = field.substring(HEADER_FIELD_PREFIX.length());
+                if (headerName.isEmpty()) {
+                    throw new IllegalStateException("The header name of access log JSON field should not be empty: field=" + field);
+                }
+                key = headerName;
+                writer = (buf, date, request, response, time) -> writeString(buf, request.getHeader(headerName));
+            } else {
+                key = field;
+                writer = findFieldWriter(field);
+            }
+            final CharArrayWriter prefixBuf = new CharArrayWriter();
+            prefixBuf.write(compiledList.isEmpty() ? '{' : ',');
+            writeString(prefixBuf, key);
+            prefixBuf.write(':');
+            compiledList.add(new JsonField(prefixBuf.toCharArray(), writer));
+        }
+        if (compiledList.isEmpty()) {
+            throw new IllegalStateException("The access log JSON fields should not be empty: fields=" + fieldList);
+        }
+        return compiledList.toArray(new JsonField[compiledList.size()]);
+    }
+
+    protected FieldWriter findFieldWriter(String field) {
+        switch (field) {
+        case "time":
+            return (buf, date, request, response, time) -> writeTimestamp(buf, date);
+        case "remoteAddr":
+            return (buf, date, request, response, time) -> writeString(buf, request.getRemoteAddr());
+        case "method":
+            return (buf, date, request, response, time) -> writeString(buf, request.getMethod());
+        case "uri":
+            return (buf, date, request, response, time) -> writeString(buf, request.getRequestURI());
+        case "query":
+            return (buf, date, request, response, time) -> writeString(buf, request.getQueryString());
+        case "protocol":
+            return (buf, date, request, response, time) -> writeString(buf, request.getProtocol());
+        case "status":
+            return (buf, date, request, response, time) -> writeNumber(buf, response.getStatus());
+        case "bytes":
+            return (buf, date, request, response, time) -> writeNumber(buf, response.getBytesWritten(false));
+        case "elapsedMillis":
+            return (buf, date, request, response, time) -> writeNumber(buf, time); // milliseconds in Tomcat 9
+        case "referer":
+            return (buf, date, request, response, time) -> writeString(buf, request.getHeader("Referer"));
+        case "userAgent":
+            return (buf, date, request, response, time) -> writeString(buf, request.getHeader("User-Agent"));
+        case "thread":
+            return (buf, date, request, response, time) -> writeString(buf, Thread.currentThread().getName());
+        default:
+            throw new IllegalStateException("Unknown access log JSON field: field=" + field + ", supported=" + DEFAULT_FIELDS
+                    + ",thread," + HEADER_FIELD_PREFIX + "(name)");
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Encode
+    //                                                                              ======
+    /**
+     * Encode the request as JSON object into the message buffer (without line separator).
+     * @param buf The message buffer of the access log valve, reused for each record. (NotNull)
+     * @param date The date of the request start. (NotNull)
+     * @param request The request of Tomcat. (NotNull)
+     * @param response The response of Tomcat. (NotNull)
+     * @param time The elapsed time of the request in milliseconds.
+     */
+    public void encode(CharArrayWriter buf, Date date, Request request, Response response, long time) {
+        for (JsonField field : fields) {
+            buf.write(field.keyPrefix, 0, field.keyPrefix.length);
+            field.writer.write(buf, date, request, response, time);
+        }
+        buf.write('}');
+    }
+
+    // -----------------------------------------------------
+    //                                                 Value
+    //                                                 -----
+    protected static void writeString(CharArrayWriter buf, String value) {
+        if (value == null) {
+            buf.write(NULL_CHARS, 0, NULL_CHARS.length);
+            return;
+        }
+        buf.write('"');
+        final int length = value.length();
+        int start = 0; // start of chars not written yet
+        for (int i = 0; i < length; i++) {
+            final char ch = value.charAt(i);
+            if (ch < 0x20 || ch == '"' || ch == '\\') { // only these need escaping in JSON
+                buf.write(value, start, i - start);
+                writeEscaped(buf, ch);
+                start = i + 1;
+            }
+        }
+        buf.write(value, start, length - start); // whole value if no escape (commonly)
+        buf.write('"');
+    }
+
+    protected static void writeEscaped(CharArrayWriter buf, char ch) {
+        buf.write('\\');
+        switch (ch) {
+        case '"':
+        case '\\':
+            buf.write(ch);
+            break;
+        case '\n':
+            buf.write('n');
+            break;
+        case '\r':
+            buf.write('r');
+            break;
+        case '\t':
+            buf.write('t');
+            break;
+        default: // other control characters
+            buf.write('u');
+            buf.write('0');
+            buf.write('0');
+            buf.write(HEX_CHARS[(ch >> 4) & 0xF]);
+            buf.write(HEX_CHARS[ch & 0xF]);
+        }
+    }
+
+    protected static void writeNumber(CharArrayWriter buf, long value) { // without string allocation
+        if (value < 0) {
+            if (value == Long.MIN_VALUE) { // cannot be negated, no way in access log
+                buf.write(String.valueOf(value), 0, 20);
+                return;
+            }
+            buf.write('-');
+            value = -value;
+        }
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        while (divisor > 0) {
+            buf.write((char) ('0' + (value / divisor) % 10));
+            divisor /= 10;
+        }
+    }
+
+    protected static void writeTimestamp(CharArrayWriter buf, Date date) { // ISO-8601 with milliseconds and offset
+        final long millis = date.getTime();
+        final TimestampCache cache = timestampCacheLocal.get();
+        final long second = Math.floorDiv(millis, 1000L);
+        if (second != cache.cachedSecond) { // formatting only once per second per thread
+            cache.cachedSecond = second;
+            cache.secondText = cache.secondFormat.format(date);
+            cache.offsetText = cache.offsetFormat.format(date);
+        }
+        final int milliOfSecond = (int) Math.floorMod(millis, 1000L);
+        buf.write('"');
+        buf.write(cache.secondText, 0, cache.secondText.length());
+        buf.write('.');
+        buf.write((char) ('0' + milliOfSecond / 100));
+        buf.write((char) ('0' + (milliOfSecond / 10) % 10));
+        buf.write((char) ('0' + milliOfSecond % 10));
+        buf.write(cache.offsetText, 0, cache.offsetText.length());
+        buf.write('"');
+    }
+
+    // ===================================================================================
+    //                                                                        Helper Class
+    //                                                                        ============
+    protected static class JsonField {
+
+        protected final char[] keyPrefix; // e.g. ,"status":
+        protected final FieldWriter writer;
+
+        public JsonField(char[] keyPrefix, FieldWriter writer) {
+            this.keyPrefix = keyPrefix;
+            this.writer = writer;
+        }
+    }
+
+    @FunctionalInterface
+    protected static interface FieldWriter {
+
+        void write(CharArrayWriter buf, Date date, Request request, Response response, long time);
+    }
+
+    protected static class TimestampCache { // per thread because date format is not thread-safe
+
+        protected final SimpleDateFormat secondFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+        protected final SimpleDateFormat offsetFormat = new SimpleDateFormat("XXX"); // e.g. +09:00, Z
+        protected long cachedSecond = Long.MIN_VALUE;
+        protected String secondText;
+        protected String offsetText;
+    }
+}
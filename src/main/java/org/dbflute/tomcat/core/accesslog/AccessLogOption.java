@@ -32,9 +32,23 @@ public class AccessLogOption {
     protected String fileSuffix; // null allowed
     protected String fileDateFormat; // null allowed
     protected String fileEncoding; // null allowed
+    protected boolean compressRotated; // false means rotated files are left as they are
+    protected Integer maxHistory; // null allowed, null means unlimited
+    protected Long maxTotalSize; // null allowed, null means unlimited
     protected String formatPattern; // null allowed
     protected String conditionIf; // null allowed
     protected String conditionUnless; // null allowed
+    protected AccessLogFormat format; // null allowed, text (pattern) as default
+    protected String jsonFields; // null allowed, only for json
+    protected Long slowThresholdMillis; // null allowed, null means all requests
+    protected Integer sampleRate; // null allowed, null means all requests
+    protected String sampleIdHeader; // null allowed, X-Request-Id as default
+    protected boolean async; // false means writing on request thread like AccessLogValve
+    protected Integer queueSize; // null allowed, only for async
+    protected AccessLogOverflowPolicy overflowPolicy; // null allowed, only for async
+    protected Integer bufferSize; // null allowed, bytes of file writer buffer
+    protected Long flushIntervalMillis; // null allowed
+    protected AccessLogFsyncPolicy fsyncPolicy; // null allowed
 
     // ===================================================================================
     //                                                                         Easy-to-Use
@@ -64,6 +78,39 @@ public class AccessLogOption {
         return this;
     }
 
+    /**
+     * Compress rotated files by gzip on the background thread.
+     * @return this. (NotNull)
+     */
+    public AccessLogOption compressRotated() {
+        this.compressRotated = true;
+        return this;
+    }
+
+    /**
+     * @param maxHistory The max count of rotated files to keep, older ones are deleted. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public AccessLogOption maxHistory(int maxHistory) {
+        if (maxHistory < 0) {
+            throw new IllegalArgumentException("The argument 'maxHistory' should not be minus: " + maxHistory);
+        }
+        this.maxHistory = maxHistory;
+        return this;
+    }
+
+    /**
+     * @param maxTotalSize The max bytes of all access log files, older rotated ones are deleted. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public AccessLogOption maxTotalSize(long maxTotalSize) {
+        if (maxTotalSize < 0) {
+            throw new IllegalArgumentException("The argument 'maxTotalSize' should not be minus: " + maxTotalSize);
+        }
+        this.maxTotalSize = maxTotalSize;
+        return this;
+    }
+
     public AccessLogOption formatPattern(String formatPattern) {
         this.formatPattern = formatPattern;
         return this;
@@ -79,6 +126,137 @@ public class AccessLogOption {
         return this;
     }
 
+    /**
+     * @param format The format of access log record, JSON means JSON lines. (NotNull)
+     * @return this. (NotNull)
+     */
+    public AccessLogOption format(AccessLogFormat format) {
+        if (format == null) {
+            throw new IllegalArgumentException("The argument 'format' should not be null.");
+        }
+        this.format = format;
+        return this;
+    }
+
+    /**
+     * @param jsonFields The comma-separated field list of JSON format, e.g. time,uri,status,header:X-Request-Id (NotNull)
+     * @return this. (NotNull)
+     */
+    public AccessLogOption jsonFields(String jsonFields) {
+        if (jsonFields == null) {
+            throw new IllegalArgumentException("The argument 'jsonFields' should not be null.");
+        }
+        this.jsonFields = jsonFields;
+        return this;
+    }
+
+    /**
+     * Log only requests slower than the threshold, error requests (status 400 or more) are always logged.
+     * @param slowThresholdMillis The threshold of elapsed time in milliseconds. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public AccessLogOption slowThresholdMillis(long slowThresholdMillis) {
+        if (slowThresholdMillis < 0) {
+            throw new IllegalArgumentException("The argument 'slowThresholdMillis' should not be minus: " + slowThresholdMillis);
+        }
+        this.slowThresholdMillis = slowThresholdMillis;
+        return this;
+    }
+
+    /**
+     * Log 1 in N successful (and fast if threshold) requests, deterministic by request ID header.
+     * @param sampleRate The N of sampling, one means all requests. (Positive)
+     * @return this. (NotNull)
+     */
+    public AccessLogOption sampleRate(int sampleRate) {
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("The argument 'sampleRate' should be positive: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+        return this;
+    }
+
+    /**
+     * @param sampleIdHeader The header name of request ID for sampling, sequence is used if no header. (NotNull)
+     * @return this. (NotNull)
+     */
+    public AccessLogOption sampleIdHeader(String sampleIdHeader) {
+        if (sampleIdHeader == null) {
+            throw new IllegalArgumentException("The argument 'sampleIdHeader' should not be null.");
+        }
+        this.sampleIdHeader = sampleIdHeader;
+        return this;
+    }
+
+    /**
+     * Write access logs on the single writer thread, request threads only publish records to the queue.
+     * @return this. (NotNull)
+     */
+    public AccessLogOption async() {
+        this.async = true;
+        return this;
+    }
+
+    /**
+     * @param queueSize The size of queue for asynchronous access log, rounded up to power of two. (Positive)
+     * @return this. (NotNull)
+     */
+    public AccessLogOption queueSize(int queueSize) {
+        if (queueSize <= 0) {
+            throw new IllegalArgumentException("The argument 'queueSize' should be positive: " + queueSize);
+        }
+        this.queueSize = queueSize;
+        return this;
+    }
+
+    /**
+     * @param overflowPolicy The policy when the queue of asynchronous access log is full. (NotNull)
+     * @return this. (NotNull)
+     */
+    public AccessLogOption overflowPolicy(AccessLogOverflowPolicy overflowPolicy) {
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("The argument 'overflowPolicy' should not be null.");
+        }
+        this.overflowPolicy = overflowPolicy;
+        return this;
+    }
+
+    /**
+     * @param bufferSize The bytes of direct buffer to accumulate records before writing to the file. (Positive)
+     * @return this. (NotNull)
+     */
+    public AccessLogOption bufferSize(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("The argument 'bufferSize' should be positive: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    /**
+     * @param flushIntervalMillis The max milliseconds that records stay in the buffer, zero means every record. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public AccessLogOption flushIntervalMillis(long flushIntervalMillis) {
+        if (flushIntervalMillis < 0) {
+            throw new IllegalArgumentException("The argument 'flushIntervalMillis' should not be minus: " + flushIntervalMillis);
+        }
+        this.flushIntervalMillis = flushIntervalMillis;
+        return this;
+    }
+
+    /**
+     * @param fsyncPolicy The policy of forcing records to the storage device. (NotNull)
+     * @return this. (NotNull)
+     */
+    public AccessLogOption fsyncPolicy(AccessLogFsyncPolicy fsyncPolicy) {
+        if (fsyncPolicy == null) {
+            throw new IllegalArgumentException("The argument 'fsyncPolicy' should not be null.");
+        }
+        this.fsyncPolicy = fsyncPolicy;
+        return this;
+    }
+
     // ===================================================================================
     //                                                                            Accessor
     //                                                                            ========
@@ -102,6 +280,18 @@ public class AccessLogOption {
         return Optional.ofNullable(fileEncoding);
     }
 
+    public boolean isCompressRotated() {
+        return compressRotated;
+    }
+
+    public Optional<Integer> getMaxHistory() {
+        return Optional.ofNullable(maxHistory);
+    }
+
+    public Optional<Long> getMaxTotalSize() {
+        return Optional.ofNullable(maxTotalSize);
+    }
+
     public Optional<String> getFormatPattern() {
         return Optional.ofNullable(formatPattern);
     }
@@ -113,4 +303,48 @@ public class AccessLogOption {
     public Optional<String> getConditionUnless() {
         return Optional.ofNullable(conditionUnless);
     }
+
+    public Optional<AccessLogFormat> getFormat() {
+        return Optional.ofNullable(format);
+    }
+
+    public Optional<String> getJsonFields() {
+        return Optional.ofNullable(jsonFields);
+    }
+
+    public Optional<Long> getSlowThresholdMillis() {
+        return Optional.ofNullable(slowThresholdMillis);
+    }
+
+    public Optional<Integer> getSampleRate() {
+        return Optional.ofNullable(sampleRate);
+    }
+
+    public Optional<String> getSampleIdHeader() {
+        return Optional.ofNullable(sampleIdHeader);
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public Optional<Integer> getQueueSize() {
+        return Optional.ofNullable(queueSize);
+    }
+
+    public Optional<AccessLogOverflowPolicy> getOverflowPolicy() {
+        return Optional.ofNullable(overflowPolicy);
+    }
+
+    public Optional<Integer> getBufferSize() {
+        return Optional.ofNullable(bufferSize);
+    }
+
+    public Optional<Long> getFlushIntervalMillis() {
+        return Optional.ofNullable(flushIntervalMillis);
+    }
+
+    public Optional<AccessLogFsyncPolicy> getFsyncPolicy() {
+        return Optional.ofNullable(fsyncPolicy);
+    }
 }
@@ -0,0 +1,26 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.accesslog;
+
+/**
+ * The policy when the queue of asynchronous access log is full.
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public enum AccessLogOverflowPolicy {
+    BLOCK, DROP, COUNT // block means request thread waits for free space (no loss but latency)
+    // drop means discarding silently, count means discarding and reporting the count to server log periodically
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.accesslog;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The bounded ring buffer of access log records for multiple producers (request threads) and single consumer (writer thread). <br>
+ * Slots and their char buffers are pre-allocated and reused, so publishing a record does not allocate basically.
+ * Producers claim a slot by CAS of the tail sequence, and each slot has its own sequence to tell published or released.
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class AccessLogRingBuffer {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final int INITIAL_SLOT_CHARS = 256; // enough for common format
+    protected static final int MAX_KEPT_SLOT_CHARS = 16 * 1024; // shrink huge slots not to keep memory
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int capacity; // power of two
+    protected final int mask; // capacity - 1
+    protected final RecordSlot[] slots; // pre-allocated
+    protected final AtomicLongArray sequences; // published if head + 1, free if equals to claiming position
+    protected final AtomicLong tail = new AtomicLong(); // next position to claim by producers
+    protected long head; // next position to consume, only by consumer thread
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param queueSize The minimum count of records in the buffer, rounded up to power of two. (Positive)
+     */
+    public AccessLogRingBuffer(int queueSize) {
+        if (queueSize <= 0) {
+            throw new IllegalArgumentException("The argument 'queueSize' should be positive: " + queueSize);
+        }
+        this.capacity = roundUpToPowerOfTwo(queueSize);
+        this.mask = capacity - 1;
+        this.slots = new RecordSlot[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new RecordSlot();
+            sequences.set(i, i);
+        }
+    }
+
+    protected static int roundUpToPowerOfTwo(int size) {
+        if (size > (1 << 30)) {
+            throw new IllegalArgumentException("Too large queue size: " + size);
+        }
+        int capacity = 1;
+        while (capacity < size) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    // ===================================================================================
+    //                                                                            Producer
+    //                                                                            ========
+    /**
+     * Offer the record to the buffer, copying the characters into the slot. (for request threads)
+     * @param message The formatted record of access log. (NotNull)
+     * @return true if published, false if the buffer is full.
+     */
+    public boolean offer(CharArrayWriter message) {
+        long position = tail.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            final long diff = sequences.get(index) - position;
+            if (diff == 0) { // free slot for the position
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (diff < 0) { // not released yet by consumer
+                return false;
+            }
+            position = tail.get(); // claimed by other producer
+        }
+        final RecordSlot slot = slots[index];
+        slot.length = 0;
+        try {
+            message.writeTo(slot); // one array copy
+        } catch (IOException e) { // no way, slot does not throw it
+            throw new IllegalStateException("Failed to copy the access log record.", e);
+        }
+        sequences.set(index, position + 1); // publish (volatile write)
+        return true;
+    }
+
+    // ===================================================================================
+    //                                                                            Consumer
+    //                                                                            ========
+    /**
+     * Peek the next published record without releasing it. (for writer thread only)
+     * @return The slot of the record, use its chars before release. (NullAllowed: if no published record)
+     */
+    public RecordSlot peek() {
+        final int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        return slots[index];
+    }
+
+    /**
+     * Release the peeked slot for producers. (for writer thread only)
+     */
+    public void release() {
+        final int index = (int) (head & mask);
+        final RecordSlot slot = slots[index];
+        if (slot.chars.length > MAX_KEPT_SLOT_CHARS) {
+            slot.chars = new char[INITIAL_SLOT_CHARS];
+        }
+        sequences.set(index, head + capacity); // free for the next round
+        ++head;
+    }
+
+    public boolean isEmpty() { // for writer thread only
+        return peek() == null;
+    }
+
+    // ===================================================================================
+    //                                                                         Record Slot
+    //                                                                         ===========
+    /**
+     * The reusable slot of record, which is also the writer for copying from the message.
+     */
+    public static class RecordSlot extends Writer {
+
+        protected char[] chars = new char[INITIAL_SLOT_CHARS];
+        protected int length;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            final int required = length + len;
+            if (required > chars.length) {
+                final char[] expanded = new char[Math.max(required, chars.length * 2)];
+                System.arraycopy(chars, 0, expanded, 0, length);
+                chars = expanded;
+            }
+            System.arraycopy(cbuf, off, chars, length, len);
+            length = required;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        public char[] getChars() { // valid until length
+            return chars;
+        }
+
+        public int getLength() {
+            return length;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getCapacity() {
+        return capacity;
+    }
+}
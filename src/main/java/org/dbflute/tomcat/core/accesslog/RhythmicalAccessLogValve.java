@@ -0,0 +1,670 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.accesslog;
+
+import java.io.CharArrayWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.AbstractAccessLogValve;
+import org.apache.juli.logging.Log;
+import org.apache.juli.logging.LogFactory;
+import org.dbflute.tomcat.core.accesslog.AccessLogRingBuffer.RecordSlot;
+
+/**
+ * The access log valve of the boot, which has its own daily rotating file like AccessLogValve. <br>
+ * In asynchronous mode, request threads only publish formatted records into the pre-allocated ring buffer,
+ * and the single writer thread writes them to the file, so request threads do not contend for the file lock. <br>
+ * Records are accumulated in the direct buffer and written by file channel when the buffer is full
+ * or the flush interval elapses, and they are forced to the storage device by the fsync policy. <br>
+ * In JSON format, the field list is compiled once into the single log element instead of the pattern. <br>
+ * Fast successful requests can be skipped by the slow threshold and the sampling rate, errors are always logged. <br>
+ * Rotated files can be compressed and pruned by the archiver on the background thread.
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class RhythmicalAccessLogValve extends AbstractAccessLogValve {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Log log = LogFactory.getLog(RhythmicalAccessLogValve.class); // same logging as Tomcat valves
+
+    protected static final String LINE_SEPARATOR = System.lineSeparator();
+    protected static final long ROTATION_CHECK_INTERVAL_MILLIS = 1000L; // same as AccessLogValve
+    protected static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100); // woken up by producers
+    protected static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50); // waiting for free space
+    protected static final long DROPPED_REPORT_INTERVAL_MILLIS = 10000L;
+    protected static final long WRITER_STOP_TIMEOUT_MILLIS = 5000L;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    // -----------------------------------------------------
+    //                                                  File
+    //                                                  ----
+    protected String directory = "logs"; // relative to catalina base if not absolute
+    protected String prefix = "access_log";
+    protected String suffix = "";
+    protected String fileDateFormat = ".yyyy-MM-dd"; // daily rotation as default
+    protected String encoding = "UTF-8";
+    protected boolean compressRotated; // by gzip on archiver thread
+    protected int maxHistory = -1; // count of rotated files, minus means unlimited
+    protected long maxTotalSize = -1L; // bytes of all files, minus means unlimited
+
+    // -----------------------------------------------------
+    //                                                Format
+    //                                                ------
+    protected AccessLogFormat format = AccessLogFormat.TEXT; // text uses pattern
+    protected String jsonFields = AccessLogJsonEncoder.DEFAULT_FIELDS; // only for json
+
+    // -----------------------------------------------------
+    //                                              Sampling
+    //                                              --------
+    protected long slowThresholdMillis = -1L; // minus means no threshold
+    protected int sampleRate = 1; // one means all requests
+    protected String sampleIdHeader = "X-Request-Id"; // null allowed, sequence is used if no header
+
+    // -----------------------------------------------------
+    //                                                 Async
+    //                                                 -----
+    protected boolean async;
+    protected int queueSize = 8192; // rounded up to power of two
+    protected AccessLogOverflowPolicy overflowPolicy = AccessLogOverflowPolicy.BLOCK;
+
+    // -----------------------------------------------------
+    //                                                Writer
+    //                                                ------
+    protected int bufferSize = 64 * 1024; // bytes of direct buffer
+    protected long flushIntervalMillis = 1000L; // zero means flushing every record (or batch)
+    protected AccessLogFsyncPolicy fsyncPolicy = AccessLogFsyncPolicy.NEVER; // OS page cache as default
+
+    // -----------------------------------------------------
+    //                                               Runtime
+    //                                               -------
+    // file resources are guarded by the file lock, which is uncontended in asynchronous mode
+    // (not by this valve's lock because lifecycle methods hold it while waiting for writer thread)
+    protected final Object fileLock = new Object();
+    protected SimpleDateFormat fileDateFormatter; // null before start
+    protected String dateStamp; // null before start
+    protected long rotationLastChecked;
+    protected File currentLogFile; // null allowed
+    protected AccessLogFileWriter writer; // null allowed, null if failed to open
+    protected boolean dirty; // written but not flushed
+    protected long fileLastFlushed;
+    protected AccessLogArchiver archiver; // null if no archiving
+
+    protected AccessLogRingBuffer ringBuffer; // null if synchronous
+    protected Thread writerThread; // null if synchronous
+    protected volatile boolean writerRunning;
+    protected volatile boolean writerParked;
+    protected final AtomicLong droppedCount = new AtomicLong();
+    protected final AtomicLong sampleSequence = new AtomicLong(); // for requests without id
+    protected long reportedDroppedCount; // only by writer thread
+    protected long droppedLastReported; // only by writer thread
+
+    // ===================================================================================
+    //                                                                           Lifecycle
+    //                                                                           =========
+    @Override
+    protected void startInternal() throws LifecycleException {
+        synchronized (fileLock) {
+            fileDateFormatter = new SimpleDateFormat(fileDateFormat);
+            rotationLastChecked = System.currentTimeMillis();
+            dateStamp = fileDateFormatter.format(new Date(rotationLastChecked));
+            openFile();
+        }
+        if (isArchivingEnabled()) {
+            startArchiver(); // also handles files rotated before start
+        }
+        if (async) {
+            startWriterThread();
+        }
+        super.startInternal();
+    }
+
+    @Override
+    protected void stopInternal() throws LifecycleException {
+        super.stopInternal(); // no more records after this
+        if (writerThread != null) {
+            stopWriterThread();
+        }
+        synchronized (fileLock) {
+            closeFile();
+        }
+        if (archiver != null) {
+            archiver.stop();
+            archiver = null;
+        }
+    }
+
+    @Override
+    public void backgroundProcess() { // called periodically by container
+        super.backgroundProcess();
+        if (!async && getState().isAvailable()) { // writer thread flushes in asynchronous mode
+            synchronized (fileLock) {
+                flushFile();
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Log Element
+    //                                                                         ===========
+    @Override
+    protected AccessLogElement[] createLogElements() { // called when pattern is set
+        if (format == AccessLogFormat.JSON) {
+            final AccessLogJsonEncoder encoder = new AccessLogJsonEncoder(jsonFields); // compiled once here
+            return new AccessLogElement[] { (buf, date, request, response, time) -> {
+                encoder.encode(buf, date, request, response, time);
+            } };
+        }
+        return super.createLogElements();
+    }
+
+    protected void refreshLogElements() { // for format change after pattern
+        if (pattern != null) {
+            setPattern(pattern); // also re-creates cached elements
+        }
+    }
+
+    // ===================================================================================
+    //                                                                                 Log
+    //                                                                                 ===
+    @Override
+    public void log(Request request, Response response, long time) { // time is milliseconds in Tomcat 9
+        if (isSkippedRequest(request, response, time)) { // before formatting
+            return;
+        }
+        super.log(request, response, time);
+    }
+
+    protected boolean isSkippedRequest(Request request, Response response, long time) {
+        final boolean thresholdEnabled = slowThresholdMillis >= 0;
+        final boolean samplingEnabled = sampleRate > 1;
+        if (!thresholdEnabled && !samplingEnabled) { // mostly here
+            return false;
+        }
+        if (response.getStatus() >= 400) { // errors are always logged
+            return false;
+        }
+        if (thresholdEnabled && time >= slowThresholdMillis) { // slow request
+            return false;
+        }
+        if (samplingEnabled) { // fast successful request
+            return !isSampledRequest(request);
+        }
+        return true; // fast successful request without sampling
+    }
+
+    protected boolean isSampledRequest(Request request) { // deterministic by request ID
+        final String requestId = sampleIdHeader != null ? request.getHeader(sampleIdHeader) : null;
+        final long key = requestId != null ? spreadHash(requestId.hashCode()) : sampleSequence.getAndIncrement();
+        return Math.floorMod(key, (long) sampleRate) == 0;
+    }
+
+    protected long spreadHash(int hash) { // for sequential IDs that have similar hash codes
+        long spread = hash;
+        spread ^= (spread >>> 33);
+        spread *= 0xff51afd7ed558ccdL; // from MurmurHash3 finalizer
+        spread ^= (spread >>> 33);
+        return spread;
+    }
+
+    @Override
+    protected void log(CharArrayWriter message) { // message is reused after this
+        final AccessLogRingBuffer buffer = ringBuffer;
+        if (buffer != null) {
+            publish(buffer, message);
+        } else {
+            synchronized (fileLock) {
+                try {
+                    rotateIfNeeds();
+                    if (writer != null) {
+                        message.writeTo(writer);
+                        writer.write(LINE_SEPARATOR);
+                        dirty = true;
+                        flushFileIfDue(/*batchEnd*/true); // every record is batch in synchronous mode
+                    }
+                } catch (IOException e) {
+                    log.warn("Failed to write the access log: " + currentLogFile, e);
+                }
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Async Writer
+    //                                                                        ============
+    // -----------------------------------------------------
+    //                                              Producer
+    //                                              --------
+    protected void publish(AccessLogRingBuffer buffer, CharArrayWriter message) {
+        if (buffer.offer(message)) {
+            wakeUpWriterIfParked();
+            return;
+        }
+        if (overflowPolicy == AccessLogOverflowPolicy.BLOCK) {
+            do {
+                if (!writerRunning) { // stopping, no more consuming
+                    droppedCount.incrementAndGet();
+                    return;
+                }
+                wakeUpWriterIfParked();
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            } while (!buffer.offer(message));
+            wakeUpWriterIfParked();
+        } else { // drop or count
+            droppedCount.incrementAndGet();
+        }
+    }
+
+    protected void wakeUpWriterIfParked() {
+        if (writerParked) { // to avoid unpark() cost for every record
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                              Consumer
+    //                                              --------
+    protected void startWriterThread() {
+        ringBuffer = new AccessLogRingBuffer(queueSize);
+        writerRunning = true;
+        final String containerName = getContainer() != null ? getContainer().getName() : "";
+        writerThread = new Thread(() -> runWriter(ringBuffer), "accesslog-writer" + (containerName.isEmpty() ? "" : "-" + containerName));
+        writerThread.setDaemon(true); // not to block JVM exit
+        writerThread.start();
+    }
+
+    protected void runWriter(AccessLogRingBuffer buffer) {
+        while (true) {
+            final RecordSlot slot = buffer.peek();
+            if (slot != null) {
+                writeRecord(slot.getChars(), slot.getLength());
+                buffer.release();
+                continue;
+            }
+            if (!writerRunning) { // already drained
+                break;
+            }
+            final long parkNanos;
+            synchronized (fileLock) {
+                flushFileIfDue(/*batchEnd*/true); // when queue becomes empty
+                parkNanos = calculateIdleParkNanos();
+            }
+            reportDroppedIfNeeds(buffer);
+            writerParked = true;
+            if (buffer.isEmpty() && writerRunning) { // re-check after parked flag for lost wake-up
+                LockSupport.parkNanos(this, parkNanos);
+            }
+            writerParked = false;
+        }
+        synchronized (fileLock) {
+            flushFile();
+        }
+        reportDroppedIfNeeds(buffer);
+    }
+
+    protected void writeRecord(char[] chars, int length) {
+        synchronized (fileLock) {
+            try {
+                rotateIfNeeds();
+                if (writer != null) {
+                    writer.write(chars, 0, length);
+                    writer.write(LINE_SEPARATOR);
+                    dirty = true;
+                    flushFileIfDue(/*batchEnd*/false); // for interval under continuous load
+                }
+            } catch (IOException | RuntimeException e) { // writer thread should not die
+                log.warn("Failed to write the access log: " + currentLogFile, e);
+            }
+        }
+    }
+
+    protected long calculateIdleParkNanos() { // under file lock
+        if (!dirty) {
+            return IDLE_PARK_NANOS;
+        }
+        final long remainingMillis = flushIntervalMillis - (System.currentTimeMillis() - fileLastFlushed);
+        return Math.min(IDLE_PARK_NANOS, TimeUnit.MILLISECONDS.toNanos(Math.max(1L, remainingMillis))); // to flush in time
+    }
+
+    protected void reportDroppedIfNeeds(AccessLogRingBuffer buffer) {
+        if (overflowPolicy != AccessLogOverflowPolicy.COUNT) {
+            return;
+        }
+        final long currentMillis = System.currentTimeMillis();
+        final long dropped = droppedCount.get();
+        if (dropped > reportedDroppedCount && (!writerRunning || currentMillis - droppedLastReported >= DROPPED_REPORT_INTERVAL_MILLIS)) {
+            log.warn("Dropped " + (dropped - reportedDroppedCount) + " access log records because the queue is full: queueSize="
+                    + buffer.getCapacity() + ", total=" + dropped);
+            reportedDroppedCount = dropped;
+            droppedLastReported = currentMillis;
+        }
+    }
+
+    protected void stopWriterThread() {
+        writerRunning = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(WRITER_STOP_TIMEOUT_MILLIS); // drain remaining records
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            log.warn("The access log writer did not finish in time so remaining records may be lost: " + writerThread.getName());
+        }
+        writerThread = null;
+        ringBuffer = null;
+    }
+
+    // ===================================================================================
+    //                                                                        Rotated File
+    //                                                                        ============
+    protected void rotateIfNeeds() { // under file lock
+        final long currentMillis = System.currentTimeMillis();
+        if (currentMillis - rotationLastChecked < ROTATION_CHECK_INTERVAL_MILLIS) {
+            return;
+        }
+        rotationLastChecked = currentMillis;
+        final String currentStamp = fileDateFormatter.format(new Date(currentMillis));
+        if (!currentStamp.equals(dateStamp)) {
+            closeFile();
+            dateStamp = currentStamp;
+            openFile();
+            if (archiver != null) {
+                archiver.requestArchive(currentLogFile); // asynchronously
+            }
+        }
+    }
+
+    protected void openFile() { // under file lock
+        final File dir = resolveDirectory();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            log.error("Failed to create the directory of access log: " + dir);
+        }
+        currentLogFile = new File(dir, prefix + dateStamp + suffix);
+        try {
+            final Charset charset = Charset.forName(encoding);
+            writer = new AccessLogFileWriter(currentLogFile, charset, bufferSize);
+            fileLastFlushed = System.currentTimeMillis();
+        } catch (IOException | RuntimeException e) { // e.g. permission, unknown encoding
+            log.error("Failed to open the access log file: " + currentLogFile, e);
+            writer = null; // records are discarded
+        }
+    }
+
+    protected File resolveDirectory() {
+        final File dir = new File(directory);
+        if (dir.isAbsolute() || getContainer() == null) {
+            return dir;
+        }
+        return new File(getContainer().getCatalinaBase(), directory);
+    }
+
+    // ===================================================================================
+    //                                                                            Archiver
+    //                                                                            ========
+    protected boolean isArchivingEnabled() {
+        return compressRotated || maxHistory >= 0 || maxTotalSize >= 0;
+    }
+
+    protected void startArchiver() {
+        archiver = new AccessLogArchiver(resolveDirectory(), prefix, suffix, fileDateFormat, compressRotated, maxHistory, maxTotalSize);
+        final String containerName = getContainer() != null ? getContainer().getName() : "";
+        archiver.start("accesslog-archiver" + (containerName.isEmpty() ? "" : "-" + containerName));
+        archiver.requestArchive(currentLogFile);
+    }
+
+    // ===================================================================================
+    //                                                                        Current File
+    //                                                                        ============
+    protected void flushFileIfDue(boolean batchEnd) { // under file lock
+        if (!dirty) {
+            return;
+        }
+        final long currentMillis = System.currentTimeMillis();
+        if ((batchEnd && fsyncPolicy == AccessLogFsyncPolicy.ALWAYS) || currentMillis - fileLastFlushed >= flushIntervalMillis) {
+            flushFile();
+        }
+    }
+
+    protected void flushFile() { // under file lock
+        if (writer != null && dirty) {
+            try {
+                writer.flush();
+                if (fsyncPolicy != AccessLogFsyncPolicy.NEVER) {
+                    writer.force();
+                }
+            } catch (IOException e) {
+                log.warn("Failed to flush the access log: " + currentLogFile, e);
+            }
+            dirty = false;
+            fileLastFlushed = System.currentTimeMillis();
+        }
+    }
+
+    protected void closeFile() { // under file lock
+        if (writer != null) {
+            flushFile();
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Failed to close the access log: " + currentLogFile, e);
+            }
+            writer = null;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    public void setSuffix(String suffix) {
+        this.suffix = suffix;
+    }
+
+    public String getFileDateFormat() {
+        return fileDateFormat;
+    }
+
+    public void setFileDateFormat(String fileDateFormat) {
+        this.fileDateFormat = fileDateFormat;
+    }
+
+    public String getEncoding() {
+        return encoding;
+    }
+
+    public void setEncoding(String encoding) {
+        this.encoding = encoding;
+    }
+
+    public boolean isCompressRotated() {
+        return compressRotated;
+    }
+
+    public void setCompressRotated(boolean compressRotated) {
+        this.compressRotated = compressRotated;
+    }
+
+    public int getMaxHistory() {
+        return maxHistory;
+    }
+
+    public void setMaxHistory(int maxHistory) { // minus means unlimited
+        this.maxHistory = maxHistory;
+    }
+
+    public long getMaxTotalSize() {
+        return maxTotalSize;
+    }
+
+    public void setMaxTotalSize(long maxTotalSize) { // minus means unlimited
+        this.maxTotalSize = maxTotalSize;
+    }
+
+    public AccessLogFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(AccessLogFormat format) {
+        if (format == null) {
+            throw new IllegalArgumentException("The argument 'format' should not be null.");
+        }
+        this.format = format;
+        refreshLogElements();
+    }
+
+    public String getJsonFields() {
+        return jsonFields;
+    }
+
+    public void setJsonFields(String jsonFields) {
+        if (jsonFields == null) {
+            throw new IllegalArgumentException("The argument 'jsonFields' should not be null.");
+        }
+        this.jsonFields = jsonFields;
+        refreshLogElements();
+    }
+
+    public long getSlowThresholdMillis() {
+        return slowThresholdMillis;
+    }
+
+    public void setSlowThresholdMillis(long slowThresholdMillis) { // minus means no threshold
+        this.slowThresholdMillis = slowThresholdMillis;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("The argument 'sampleRate' should be positive: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    public String getSampleIdHeader() {
+        return sampleIdHeader;
+    }
+
+    public void setSampleIdHeader(String sampleIdHeader) { // null allowed
+        this.sampleIdHeader = sampleIdHeader;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        if (queueSize <= 0) {
+            throw new IllegalArgumentException("The argument 'queueSize' should be positive: " + queueSize);
+        }
+        this.queueSize = queueSize;
+    }
+
+    public AccessLogOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(AccessLogOverflowPolicy overflowPolicy) {
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("The argument 'overflowPolicy' should not be null.");
+        }
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("The argument 'bufferSize' should be positive: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+    }
+
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    public void setFlushIntervalMillis(long flushIntervalMillis) {
+        if (flushIntervalMillis < 0) {
+            throw new IllegalArgumentException("The argument 'flushIntervalMillis' should not be minus: " + flushIntervalMillis);
+        }
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public AccessLogFsyncPolicy getFsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    public void setFsyncPolicy(AccessLogFsyncPolicy fsyncPolicy) {
+        if (fsyncPolicy == null) {
+            throw new IllegalArgumentException("The argument 'fsyncPolicy' should not be null.");
+        }
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    public File getCurrentLogFile() { // null allowed
+        return currentLogFile;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.cds;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The support of class data sharing (CDS) of HotSpot JVM for training run and its report. <br>
+ * The archive can be dumped only when the JVM is started with the options for it,
+ * so this class determines the way by the JVM arguments:
+ * <pre>
+ * o -XX:ArchiveClassesAtExit=app.jsa  : (JDK13+) dumped at JVM exit after training run
+ * o -XX:+RecordDynamicDumpInfo        : (JDK19+) dumped by VM.cds diagnostic command at the end of training run
+ * o -XX:DumpLoadedClassList=app.lst   : (JDK8+) class list dumped at JVM exit, make archive by -Xshare:dump later
+ *
+ * and boot with the archive: -XX:SharedArchiveFile=app.jsa
+ * </pre>
+ * All operations are non-fatal because CDS is only for performance.
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class ClassDataSharingSupport {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final String ARCHIVE_CLASSES_AT_EXIT = "ArchiveClassesAtExit";
+    public static final String RECORD_DYNAMIC_DUMP_INFO = "RecordDynamicDumpInfo";
+    public static final String DUMP_LOADED_CLASS_LIST = "DumpLoadedClassList";
+    public static final String SHARED_ARCHIVE_FILE = "SharedArchiveFile";
+    protected static final String DIAGNOSTIC_COMMAND_NAME = "com.sun.management:type=DiagnosticCommand";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final List<String> jvmArgList; // not null
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public ClassDataSharingSupport() {
+        this(ManagementFactory.getRuntimeMXBean().getInputArguments());
+    }
+
+    public ClassDataSharingSupport(List<String> jvmArgList) {
+        if (jvmArgList == null) {
+            throw new IllegalArgumentException("The argument 'jvmArgList' should not be null.");
+        }
+        this.jvmArgList = jvmArgList;
+    }
+
+    // ===================================================================================
+    //                                                                        Training Run
+    //                                                                        ============
+    /**
+     * Dump the archive (or class list) of the training run if the JVM can. <br>
+     * Call this after warm-up, and after that, the JVM should exit for the archive dumped at exit.
+     * @param defaultArchiveFile The archive file used when the JVM arguments do not have it. (NotNull)
+     * @return The message of the result for logging. (NotNull)
+     */
+    public String dumpTrainingArchive(File defaultArchiveFile) {
+        final String atExitFile = findXXValue(ARCHIVE_CLASSES_AT_EXIT);
+        if (atExitFile != null) {
+            return "CDS archive will be dumped at JVM exit: " + atExitFile;
+        }
+        final String classListFile = findXXValue(DUMP_LOADED_CLASS_LIST);
+        if (classListFile != null) {
+            return "CDS class list will be dumped at JVM exit: " + classListFile + " (make archive by -Xshare:dump"
+                    + " -XX:SharedClassListFile=" + classListFile + " -XX:SharedArchiveFile=...)";
+        }
+        if (hasXXFlag(RECORD_DYNAMIC_DUMP_INFO)) {
+            final String archivePath = defaultArchiveFile.getAbsolutePath();
+            final String failure = invokeDiagnosticCommand("vmCds", "dynamic_dump", archivePath); // means 'VM.cds'
+            if (failure == null) {
+                return "CDS archive was dumped by diagnostic command: " + archivePath;
+            }
+            return "Failed to dump CDS archive by diagnostic command: " + failure;
+        }
+        return "Cannot dump CDS archive because of no JVM option for it, add e.g. -XX:" + ARCHIVE_CLASSES_AT_EXIT + "="
+                + defaultArchiveFile.getPath() + " (JDK13+) or -XX:" + DUMP_LOADED_CLASS_LIST + "=... (JDK8+)";
+    }
+
+    protected String invokeDiagnosticCommand(String operation, String... arguments) { // null if success
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(DIAGNOSTIC_COMMAND_NAME);
+            final Object[] params = new Object[] { arguments };
+            final String[] signature = new String[] { String[].class.getName() };
+            server.invoke(objectName, operation, params, signature);
+            return null;
+        } catch (Exception e) { // e.g. not HotSpot, old JDK, not enabled
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Status
+    //                                                                              ======
+    /**
+     * Is the sharing archive specified by JVM argument?
+     * @return The determination, true if -XX:SharedArchiveFile exists.
+     */
+    public boolean isSharedArchiveSpecified() {
+        return findXXValue(SHARED_ARCHIVE_FILE) != null;
+    }
+
+    /**
+     * Build the status of class data sharing for logging, e.g. whether the archive is active.
+     * @return The expression of status. (NotNull)
+     */
+    public String buildSharingStatus() {
+        final String archiveFile = findXXValue(SHARED_ARCHIVE_FILE); // null allowed
+        final String sharing = findVMOptionValue("UseSharedSpaces"); // null allowed
+        final StringBuilder sb = new StringBuilder();
+        sb.append("CDS: active=").append(sharing != null ? sharing : "(unknown)");
+        sb.append(", archive=").append(archiveFile != null ? archiveFile : "(default)");
+        if (archiveFile != null && !new File(archiveFile).exists()) {
+            sb.append(" (not found)");
+        }
+        return sb.toString();
+    }
+
+    protected String findVMOptionValue(String optionName) { // null allowed
+        try {
+            final com.sun.management.HotSpotDiagnosticMXBean diagnosticBean = ManagementFactory.getPlatformMXBean(
+                    com.sun.management.HotSpotDiagnosticMXBean.class);
+            return diagnosticBean != null ? diagnosticBean.getVMOption(optionName).getValue() : null;
+        } catch (RuntimeException | LinkageError ignored) { // e.g. not HotSpot, unknown option
+            return null;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        JVM Argument
+    //                                                                        ============
+    protected String findXXValue(String optionName) { // null allowed, the last wins
+        final String prefix = "-XX:" + optionName + "=";
+        String found = null;
+        for (String jvmArg : jvmArgList) {
+            if (jvmArg.startsWith(prefix)) {
+                found = jvmArg.substring(prefix.length());
+            }
+        }
+        return found;
+    }
+
+    protected boolean hasXXFlag(String optionName) { // the last wins
+        boolean enabled = false;
+        for (String jvmArg : jvmArgList) {
+            if (jvmArg.equals("-XX:+" + optionName)) {
+                enabled = true;
+            } else if (jvmArg.equals("-XX:-" + optionName)) {
+                enabled = false;
+            }
+        }
+        return enabled;
+    }
+}
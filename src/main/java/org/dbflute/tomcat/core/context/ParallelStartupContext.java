@@ -0,0 +1,154 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.context;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.ServletException;
+
+import org.apache.catalina.Container;
+import org.apache.catalina.Wrapper;
+import org.apache.catalina.core.StandardContext;
+import org.apache.catalina.core.StandardWrapper;
+import org.apache.tomcat.util.res.StringManager;
+
+/**
+ * The context that initializes load-on-startup servlets of the same order concurrently. <br>
+ * Servlets are grouped by their load-on-startup order (same as standard),
+ * and each group is executed on bounded threads, waiting for the group before moving to the next.
+ * The webapp class loader is bound to the threads, so servlets can use it as context class loader.
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class ParallelStartupContext extends StandardContext {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final StringManager catalinaSm = StringManager.getManager(StandardContext.class); // for same message
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int loadOnStartupParallelism; // positive
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param loadOnStartupParallelism The max count of threads to initialize servlets. (Positive)
+     */
+    public ParallelStartupContext(int loadOnStartupParallelism) {
+        if (loadOnStartupParallelism <= 0) {
+            throw new IllegalArgumentException("The argument 'loadOnStartupParallelism' should be positive: " + loadOnStartupParallelism);
+        }
+        this.loadOnStartupParallelism = loadOnStartupParallelism;
+    }
+
+    // ===================================================================================
+    //                                                                     Load on Startup
+    //                                                                     ===============
+    @Override
+    public boolean loadOnStartup(Container[] children) {
+        // same grouping as super class
+        final TreeMap<Integer, List<Wrapper>> map = new TreeMap<Integer, List<Wrapper>>();
+        for (Container child : children) {
+            final Wrapper wrapper = (Wrapper) child;
+            final int loadOnStartup = wrapper.getLoadOnStartup();
+            if (loadOnStartup < 0) {
+                continue;
+            }
+            map.computeIfAbsent(loadOnStartup, key -> new ArrayList<Wrapper>()).add(wrapper);
+        }
+        if (map.values().stream().allMatch(group -> group.size() <= 1)) { // no benefit
+            return super.loadOnStartup(children);
+        }
+        final ExecutorService executor = createLoadOnStartupExecutor();
+        try {
+            for (List<Wrapper> group : map.values()) {
+                if (!loadGroup(group, executor) && getComputedFailCtxIfServletStartFails()) {
+                    return false; // after the group finished
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return true;
+    }
+
+    protected ExecutorService createLoadOnStartupExecutor() {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(loadOnStartupParallelism, runnable -> {
+            final Thread thread = new Thread(runnable, "loadOnStartup-" + getName() + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true); // not to block JVM exit
+            return thread;
+        });
+    }
+
+    protected boolean loadGroup(List<Wrapper> group, ExecutorService executor) { // true if all loaded
+        if (group.size() == 1) { // on current thread that is already bound
+            return loadWrapper(group.get(0));
+        }
+        final List<Future<Boolean>> futureList = new ArrayList<Future<Boolean>>(group.size());
+        for (Wrapper wrapper : group) {
+            futureList.add(executor.submit(() -> {
+                final ClassLoader originalLoader = bind(false, null); // webapp class loader as context class loader
+                try {
+                    return loadWrapper(wrapper);
+                } finally {
+                    unbind(false, originalLoader);
+                }
+            }));
+        }
+        boolean allLoaded = true;
+        for (Future<Boolean> future : futureList) { // wait for all in the group
+            try {
+                allLoaded &= future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while loading servlets on startup: context=" + getName(), e);
+            } catch (ExecutionException e) { // basically no way because of catch in load
+                throw new IllegalStateException("Failed to load servlets on startup: context=" + getName(), e.getCause());
+            }
+        }
+        return allLoaded;
+    }
+
+    protected boolean loadWrapper(Wrapper wrapper) { // true if loaded
+        try {
+            wrapper.load();
+            return true;
+        } catch (ServletException e) { // same logging as super class
+            final String msg = catalinaSm.getString("standardContext.loadOnStartup.loadException", getName(), wrapper.getName());
+            getLogger().error(msg, StandardWrapper.getRootCause(e));
+            return false;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getLoadOnStartupParallelism() {
+        return loadOnStartupParallelism;
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.profile;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * The profiler of boot process, which records wall and CPU time per phase, lifecycle event and scanned jar. <br>
+ * Records are thread-safe so you can measure them in other threads (e.g. parallel jar parsing),
+ * but CPU time is only for the measuring thread.
+ * <pre>
+ * final ProfileStopwatch stopwatch = profiler.start("phase", "prepareServer");
+ * try {
+ *     ...
+ * } finally {
+ *     stopwatch.stop();
+ * }
+ * </pre>
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class BootProfiler {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final String CATEGORY_PHASE = "phase";
+    public static final String CATEGORY_LIFECYCLE = "lifecycle";
+    public static final String CATEGORY_JAR_SCAN_TYPE = "jar scan type"; // nested in phase or lifecycle, whole scan per type
+    public static final String CATEGORY_JAR_SCAN = "jar scan";
+    public static final String CATEGORY_ANNOTATION_JAR = "annotation jar";
+
+    public static enum ReportFormat {
+        TEXT, JSON
+    }
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final ReportFormat reportFormat; // not null
+    protected final int textTopCount; // count of records per category in text report
+    protected final long beginNanos = System.nanoTime();
+    protected final Map<String, List<ProfileRecord>> categoryRecordMap = new LinkedHashMap<String, List<ProfileRecord>>(); // synchronized
+    protected final Map<String, AtomicLong> counterMap = new LinkedHashMap<String, AtomicLong>(); // synchronized
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param reportFormat The format of report. (NotNull)
+     * @param textTopCount The count of records (slower first) per category in text report. (Positive)
+     */
+    public BootProfiler(ReportFormat reportFormat, int textTopCount) {
+        if (reportFormat == null) {
+            throw new IllegalArgumentException("The argument 'reportFormat' should not be null.");
+        }
+        if (textTopCount <= 0) {
+            throw new IllegalArgumentException("The argument 'textTopCount' should be positive: " + textTopCount);
+        }
+        this.reportFormat = reportFormat;
+        this.textTopCount = textTopCount;
+    }
+
+    // ===================================================================================
+    //                                                                             Measure
+    //                                                                             =======
+    /**
+     * Start measuring, call stop() of the returned stopwatch in the same thread.
+     * @param category The category of record e.g. phase, lifecycle. (NotNull)
+     * @param name The name of record in the category e.g. prepareServer. (NotNull)
+     * @return The new-created stopwatch that records at stop. (NotNull)
+     */
+    public ProfileStopwatch start(String category, String name) {
+        return new ProfileStopwatch(category, name);
+    }
+
+    /**
+     * Count up the counter, e.g. selected jars by filter.
+     * @param counterName The name of counter. (NotNull)
+     */
+    public void count(String counterName) {
+        final AtomicLong counter;
+        synchronized (counterMap) {
+            counter = counterMap.computeIfAbsent(counterName, key -> new AtomicLong());
+        }
+        counter.incrementAndGet();
+    }
+
+    protected void record(ProfileRecord record) {
+        synchronized (categoryRecordMap) {
+            categoryRecordMap.computeIfAbsent(record.getCategory(), key -> new ArrayList<ProfileRecord>()).add(record);
+        }
+    }
+
+    protected static long currentThreadCpuNanos() { // minus if not supported
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (!threadBean.isCurrentThreadCpuTimeSupported() || !threadBean.isThreadCpuTimeEnabled()) {
+            return -1L;
+        }
+        return threadBean.getCurrentThreadCpuTime();
+    }
+
+    public class ProfileStopwatch {
+
+        protected final String category; // not null
+        protected final String name; // not null
+        protected final long startWallNanos;
+        protected final long startCpuNanos; // minus if not supported
+        protected boolean stopped;
+
+        public ProfileStopwatch(String category, String name) {
+            this.category = category;
+            this.name = name;
+            this.startWallNanos = System.nanoTime();
+            this.startCpuNanos = currentThreadCpuNanos();
+        }
+
+        /**
+         * Stop measuring and record it to the profiler, only first call is recorded.
+         */
+        public void stop() {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+            final long wallNanos = System.nanoTime() - startWallNanos;
+            final long endCpuNanos = currentThreadCpuNanos();
+            final long cpuNanos = startCpuNanos >= 0 && endCpuNanos >= 0 ? endCpuNanos - startCpuNanos : -1L;
+            record(new ProfileRecord(category, name, wallNanos, cpuNanos, Thread.currentThread().getName()));
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Report
+    //                                                                              ======
+    /**
+     * Build the report of recorded profiles by the specified format.
+     * @return The string of report, multiple lines if text. (NotNull)
+     */
+    public String buildReport() {
+        return ReportFormat.JSON.equals(reportFormat) ? buildJsonReport() : buildTextReport();
+    }
+
+    public String buildTextReport() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("[Boot Profile] elapsed=").append(toMillisExp(System.nanoTime() - beginNanos));
+        for (Map.Entry<String, List<ProfileRecord>> entry : copyCategoryRecordMap().entrySet()) {
+            final List<ProfileRecord> recordList = entry.getValue();
+            final long totalWall = recordList.stream().mapToLong(record -> record.getWallNanos()).sum();
+            sb.append("\n ").append(entry.getKey()).append(": count=").append(recordList.size());
+            sb.append(", totalWall=").append(toMillisExp(totalWall));
+            final List<ProfileRecord> displayList;
+            if (isOrderedCategory(entry.getKey())) { // in order
+                displayList = recordList;
+            } else { // slower first
+                displayList = recordList.stream().sorted(Comparator.comparingLong((ProfileRecord record) -> {
+                    return record.getWallNanos();
+                }).reversed()).limit(textTopCount).collect(Collectors.toList());
+            }
+            for (ProfileRecord record : displayList) {
+                sb.append("\n  ").append(record.getName());
+                sb.append(" wall=").append(toMillisExp(record.getWallNanos()));
+                sb.append(" cpu=").append(record.getCpuNanos() >= 0 ? toMillisExp(record.getCpuNanos()) : "(unsupported)");
+            }
+            if (displayList.size() < recordList.size()) {
+                sb.append("\n  ...(").append(recordList.size() - displayList.size()).append(" more)");
+            }
+        }
+        final Map<String, Long> counterSnapshot = copyCounterMap();
+        if (!counterSnapshot.isEmpty()) {
+            sb.append("\n counter: ").append(counterSnapshot);
+        }
+        return sb.toString();
+    }
+
+    protected boolean isOrderedCategory(String category) {
+        return CATEGORY_PHASE.equals(category) || CATEGORY_LIFECYCLE.equals(category) || CATEGORY_JAR_SCAN_TYPE.equals(category);
+    }
+
+    public String buildJsonReport() { // one line
+        final StringBuilder sb = new StringBuilder();
+        sb.append("{\"elapsedMillis\":").append(toMillis(System.nanoTime() - beginNanos));
+        sb.append(",\"records\":[");
+        boolean firstRecord = true;
+        for (List<ProfileRecord> recordList : copyCategoryRecordMap().values()) {
+            for (ProfileRecord record : recordList) {
+                if (!firstRecord) {
+                    sb.append(",");
+                }
+                firstRecord = false;
+                sb.append("{\"category\":").append(quoteJson(record.getCategory()));
+                sb.append(",\"name\":").append(quoteJson(record.getName()));
+                sb.append(",\"wallMillis\":").append(toMillis(record.getWallNanos()));
+                sb.append(",\"cpuMillis\":").append(record.getCpuNanos() >= 0 ? String.valueOf(toMillis(record.getCpuNanos())) : "null");
+                sb.append(",\"thread\":").append(quoteJson(record.getThreadName()));
+                sb.append("}");
+            }
+        }
+        sb.append("],\"counters\":{");
+        boolean firstCounter = true;
+        for (Map.Entry<String, Long> entry : copyCounterMap().entrySet()) {
+            if (!firstCounter) {
+                sb.append(",");
+            }
+            firstCounter = false;
+            sb.append(quoteJson(entry.getKey())).append(":").append(entry.getValue());
+        }
+        sb.append("}}");
+        return sb.toString();
+    }
+
+    protected Map<String, List<ProfileRecord>> copyCategoryRecordMap() {
+        final Map<String, List<ProfileRecord>> copiedMap = new LinkedHashMap<String, List<ProfileRecord>>();
+        synchronized (categoryRecordMap) {
+            categoryRecordMap.forEach((category, recordList) -> copiedMap.put(category, new ArrayList<ProfileRecord>(recordList)));
+        }
+        return copiedMap;
+    }
+
+    protected Map<String, Long> copyCounterMap() {
+        final Map<String, Long> copiedMap = new LinkedHashMap<String, Long>();
+        synchronized (counterMap) {
+            counterMap.forEach((counterName, counter) -> copiedMap.put(counterName, counter.get()));
+        }
+        return copiedMap;
+    }
+
+    protected String toMillisExp(long nanos) {
+        return toMillis(nanos) + "ms";
+    }
+
+    protected double toMillis(long nanos) {
+        return Math.round(nanos / 10_000d) / 100d; // e.g. 12.34
+    }
+
+    protected String quoteJson(String value) {
+        final StringBuilder sb = new StringBuilder("\"");
+        for (char ch : value.toCharArray()) {
+            if (ch == '"' || ch == '\\') {
+                sb.append('\\').append(ch);
+            } else if (ch < 0x20) {
+                sb.append(String.format("\\u%04x", (int) ch));
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.append("\"").toString();
+    }
+
+    // ===================================================================================
+    //                                                                      Profile Record
+    //                                                                      ==============
+    public static class ProfileRecord {
+
+        protected final String category; // not null
+        protected final String name; // not null
+        protected final long wallNanos;
+        protected final long cpuNanos; // minus if not supported
+        protected final String threadName; // not null
+
+        public ProfileRecord(String category, String name, long wallNanos, long cpuNanos, String threadName) {
+            this.category = category;
+            this.name = name;
+            this.wallNanos = wallNanos;
+            this.cpuNanos = cpuNanos;
+            this.threadName = threadName;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        public long getCpuNanos() {
+            return cpuNanos;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.profile;
+
+import java.io.File;
+import java.io.IOException;
+
+import javax.servlet.ServletContext;
+
+import org.apache.tomcat.Jar;
+import org.apache.tomcat.JarScanFilter;
+import org.apache.tomcat.JarScanType;
+import org.apache.tomcat.JarScanner;
+import org.apache.tomcat.JarScannerCallback;
+import org.dbflute.tomcat.core.profile.BootProfiler.ProfileStopwatch;
+
+/**
+ * The jar scanner decorator to record time per scan type and per scanned jar to the boot profiler. <br>
+ * The time of a jar is the callback processing (e.g. parsing TLD, web-fragment.xml) on the scanning thread,
+ * so it does not include parsing on other threads in parallel jar parsing (only reading the entries).
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class ProfilingJarScanner implements JarScanner {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final JarScanner delegate; // not null
+    protected final BootProfiler profiler; // not null
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public ProfilingJarScanner(JarScanner delegate, BootProfiler profiler) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("The argument 'delegate' should not be null.");
+        }
+        if (profiler == null) {
+            throw new IllegalArgumentException("The argument 'profiler' should not be null.");
+        }
+        this.delegate = delegate;
+        this.profiler = profiler;
+    }
+
+    // ===================================================================================
+    //                                                                                Scan
+    //                                                                                ====
+    @Override
+    public void scan(JarScanType scanType, ServletContext context, JarScannerCallback callback) {
+        // not phase because it runs inside a phase (or lifecycle event), phase total should be boot time
+        final ProfileStopwatch stopwatch = profiler.start(BootProfiler.CATEGORY_JAR_SCAN_TYPE, scanType.name());
+        try {
+            delegate.scan(scanType, context, new ProfilingJarScannerCallback(scanType, callback));
+        } finally {
+            stopwatch.stop();
+        }
+    }
+
+    protected class ProfilingJarScannerCallback implements JarScannerCallback {
+
+        protected final JarScanType scanType; // not null
+        protected final JarScannerCallback callback; // not null
+
+        public ProfilingJarScannerCallback(JarScanType scanType, JarScannerCallback callback) {
+            this.scanType = scanType;
+            this.callback = callback;
+        }
+
+        @Override
+        public void scan(Jar jar, String webappPath, boolean isWebapp) throws IOException {
+            final String jarUrl = jar.getJarFileURL().toString(); // e.g. file:/.../lib/foo.jar
+            final ProfileStopwatch stopwatch = startJar(jarUrl.substring(jarUrl.lastIndexOf('/') + 1));
+            try {
+                callback.scan(jar, webappPath, isWebapp);
+            } finally {
+                stopwatch.stop();
+            }
+        }
+
+        @Override
+        public void scan(File file, String webappPath, boolean isWebapp) throws IOException {
+            final ProfileStopwatch stopwatch = startJar(file.getPath()); // directory as jar
+            try {
+                callback.scan(file, webappPath, isWebapp);
+            } finally {
+                stopwatch.stop();
+            }
+        }
+
+        @Override
+        public void scanWebInfClasses() throws IOException {
+            final ProfileStopwatch stopwatch = startJar("/WEB-INF/classes");
+            try {
+                callback.scanWebInfClasses();
+            } finally {
+                stopwatch.stop();
+            }
+        }
+
+        protected ProfileStopwatch startJar(String jarName) {
+            profiler.count(scanType + " scanned");
+            return profiler.start(BootProfiler.CATEGORY_JAR_SCAN, scanType + " " + jarName);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    @Override
+    public JarScanFilter getJarScanFilter() {
+        return delegate.getJarScanFilter();
+    }
+
+    @Override
+    public void setJarScanFilter(JarScanFilter jarScanFilter) {
+        delegate.setJarScanFilter(jarScanFilter);
+    }
+
+    public JarScanner getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.scan;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The annotation index made at compile time by {@link AnnotationIndexProcessor}. <br>
+ * It has class names with their related types (annotations on the class and its members, and all super types),
+ * so classes to be parsed at boot can be selected without bytecode scanning.
+ * <pre>
+ * e.g. META-INF/tomcatboot/annotation.index
+ *  org.docksidestage.app.web.SeaServlet:javax.servlet.annotation.WebServlet,javax.servlet.http.HttpServlet,...
+ * </pre>
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class AnnotationIndex {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final String INDEX_PATH = "META-INF/tomcatboot/annotation.index"; // in jar or classes
+    public static final String CLASS_DELIMITER = ":";
+    public static final String TYPE_DELIMITER = ",";
+
+    /** The annotations of servlet components, which are processed unless handles-types only. */
+    protected static final Set<String> COMPONENT_ANNOTATION_SET = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList( //
+            "javax.servlet.annotation.WebServlet", "javax.servlet.annotation.WebFilter", "javax.servlet.annotation.WebListener")));
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Map<String, Set<String>> classTypesMap; // not null, class name = related types
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    protected AnnotationIndex(Map<String, Set<String>> classTypesMap) {
+        this.classTypesMap = classTypesMap;
+    }
+
+    /**
+     * Load the index from the stream, the stream is not closed here.
+     * @param ins The input stream of index resource. (NotNull)
+     * @return The loaded index. (NotNull)
+     * @throws IOException When it fails to read the stream.
+     */
+    public static AnnotationIndex load(InputStream ins) throws IOException {
+        final Map<String, Set<String>> classTypesMap = new LinkedHashMap<String, Set<String>>();
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(ins, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            final int delimiterIndex = line.indexOf(CLASS_DELIMITER);
+            if (line.startsWith("#") || delimiterIndex <= 0) { // comment or broken
+                continue;
+            }
+            final String className = line.substring(0, delimiterIndex).trim();
+            final String typesExp = line.substring(delimiterIndex + CLASS_DELIMITER.length()).trim();
+            final Set<String> typeSet = new HashSet<String>();
+            if (!typesExp.isEmpty()) {
+                typeSet.addAll(Arrays.asList(typesExp.split(TYPE_DELIMITER)));
+            }
+            classTypesMap.put(className, typeSet);
+        }
+        return new AnnotationIndex(classTypesMap);
+    }
+
+    // ===================================================================================
+    //                                                                    Select Candidate
+    //                                                                    ================
+    /**
+     * Select classes that should be parsed as annotation scanning.
+     * @param handlesTypeNames The names of handles-types requested by initializers. (NotNull, EmptyAllowed)
+     * @param handlesTypesOnly Does it need only classes for handles-types? (e.g. metadata-complete)
+     * @return The list of class resource paths, e.g. org/docksidestage/SeaServlet.class (NotNull, EmptyAllowed)
+     */
+    public List<String> selectCandidateClassPaths(Set<String> handlesTypeNames, boolean handlesTypesOnly) {
+        final List<String> pathList = new ArrayList<String>();
+        for (Map.Entry<String, Set<String>> entry : classTypesMap.entrySet()) {
+            final Set<String> typeSet = entry.getValue();
+            if ((!handlesTypesOnly && containsAny(typeSet, COMPONENT_ANNOTATION_SET)) || containsAny(typeSet, handlesTypeNames)) {
+                pathList.add(entry.getKey().replace('.', '/') + ".class"); // binary name so nested class is OK
+            }
+        }
+        return pathList;
+    }
+
+    protected boolean containsAny(Set<String> typeSet, Set<String> targetSet) {
+        for (String target : targetSet) {
+            if (typeSet.contains(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int size() {
+        return classTypesMap.size();
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.scan;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * The annotation processor to make {@link AnnotationIndex} for AnnotationHandling.INDEXED. <br>
+ * It is not registered as service (so that it does not run implicitly), specify it to your compiler like this:
+ * <pre>
+ * &lt;plugin&gt;
+ *     &lt;artifactId&gt;maven-compiler-plugin&lt;/artifactId&gt;
+ *     &lt;configuration&gt;
+ *         &lt;annotationProcessors&gt; &lt;!-- also needs other processors you use if specified --&gt;
+ *             &lt;annotationProcessor&gt;org.dbflute.tomcat.core.scan.AnnotationIndexProcessor&lt;/annotationProcessor&gt;
+ *         &lt;/annotationProcessors&gt;
+ *     &lt;/configuration&gt;
+ * &lt;/plugin&gt;
+ * </pre>
+ * The index contains only classes compiled together, so rebuild all when you use incremental compile.
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+@SupportedAnnotationTypes("*") // needs all classes for handles-types
+public class AnnotationIndexProcessor extends AbstractProcessor {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Map<String, Set<String>> classTypesMap = new TreeMap<String, Set<String>>(); // sorted for stable output
+
+    // ===================================================================================
+    //                                                                             Process
+    //                                                                             =======
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element rootElement : roundEnv.getRootElements()) {
+            collectType(rootElement);
+        }
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+        return false; // not to claim annotations
+    }
+
+    protected void collectType(Element element) {
+        if (!(element instanceof TypeElement)) {
+            return;
+        }
+        final TypeElement typeElement = (TypeElement) element;
+        if (typeElement.getKind() == ElementKind.ANNOTATION_TYPE) { // not concrete class
+            return;
+        }
+        final Set<String> typeSet = new TreeSet<String>();
+        collectAnnotations(typeElement, typeSet);
+        for (Element enclosed : typeElement.getEnclosedElements()) { // members, Tomcat matches all annotation entries
+            if (isAnnotatedMember(enclosed)) {
+                collectAnnotations(enclosed, typeSet);
+            }
+        }
+        collectSuperTypes(typeElement.asType(), typeSet);
+        classTypesMap.put(processingEnv.getElementUtils().getBinaryName(typeElement).toString(), typeSet);
+        for (Element enclosed : typeElement.getEnclosedElements()) { // nested classes
+            collectType(enclosed);
+        }
+    }
+
+    protected boolean isAnnotatedMember(Element enclosed) { // same scope as JavaClass.getAllAnnotationEntries() of Tomcat
+        final ElementKind kind = enclosed.getKind();
+        return kind == ElementKind.METHOD || kind == ElementKind.CONSTRUCTOR || kind.isField(); // field includes enum constant
+    }
+
+    protected void collectAnnotations(Element element, Set<String> typeSet) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            typeSet.add(toBinaryName(annotation.getAnnotationType()));
+        }
+    }
+
+    protected void collectSuperTypes(TypeMirror type, Set<String> typeSet) {
+        for (TypeMirror superType : processingEnv.getTypeUtils().directSupertypes(type)) {
+            if (superType.getKind() != TypeKind.DECLARED) {
+                continue;
+            }
+            final String superName = toBinaryName((DeclaredType) superType);
+            if (Object.class.getName().equals(superName)) {
+                continue;
+            }
+            if (typeSet.add(superName)) { // not to visit twice
+                collectSuperTypes(superType, typeSet);
+            }
+        }
+    }
+
+    protected String toBinaryName(DeclaredType type) { // same as Class.getName()
+        return processingEnv.getElementUtils().getBinaryName((TypeElement) type.asElement()).toString();
+    }
+
+    // ===================================================================================
+    //                                                                         Write Index
+    //                                                                         ===========
+    protected void writeIndex() {
+        if (classTypesMap.isEmpty()) {
+            return;
+        }
+        try {
+            final FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    AnnotationIndex.INDEX_PATH);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# annotation index for TomcatBoot: className:types\n");
+                for (Map.Entry<String, Set<String>> entry : classTypesMap.entrySet()) {
+                    writer.write(entry.getKey() + AnnotationIndex.CLASS_DELIMITER
+                            + String.join(AnnotationIndex.TYPE_DELIMITER, entry.getValue()) + "\n");
+                }
+            }
+        } catch (IOException e) {
+            final String msg = "Failed to write the annotation index: " + AnnotationIndex.INDEX_PATH + " :: " + e.getMessage();
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, msg);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.scan;
+
+import java.util.function.Predicate;
+
+/**
+ * The package selector of annotation scanning with ID given by application. <br>
+ * A lambda cannot be identified between boots, so the ID is used as the selector part of scan cache signature.
+ * Change the ID when you change the selecting logic.
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class IdentifiedPackageSelector implements Predicate<String> {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String selectorId; // not null
+    protected final Predicate<String> selector; // not null
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param selectorId The ID of the selecting logic, e.g. "web-only-v1". (NotNull, NotEmpty)
+     * @param selector The selector of packages, argument is package name. (NotNull)
+     */
+    public IdentifiedPackageSelector(String selectorId, Predicate<String> selector) {
+        if (selectorId == null || selectorId.trim().isEmpty()) {
+            throw new IllegalArgumentException("The argument 'selectorId' should not be null or empty: " + selectorId);
+        }
+        if (selector == null) {
+            throw new IllegalArgumentException("The argument 'selector' should not be null.");
+        }
+        this.selectorId = selectorId;
+        this.selector = selector;
+    }
+
+    // ===================================================================================
+    //                                                                              Select
+    //                                                                              ======
+    @Override
+    public boolean test(String packageName) {
+        return selector.test(packageName);
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getSelectorId() {
+        return selectorId;
+    }
+
+    @Override
+    public String toString() {
+        return "selector:" + selectorId;
+    }
+}
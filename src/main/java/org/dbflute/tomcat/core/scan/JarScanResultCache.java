@@ -0,0 +1,216 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.scan;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The persistent cache of jar scanning results, keyed by jar path with its fingerprint (size and last modified). <br>
+ * The cached result of a jar is reused on next boot only when the jar file is unchanged,
+ * and all results are discarded if the signature (e.g. scanning condition) is changed.
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class JarScanResultCache {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final String SIGNATURE_KEY = "@signature"; // jar path never starts with '@'
+    protected static final String VALUE_DELIMITER = "|";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final File cacheFile; // not null
+    protected final String signature; // not null
+    protected final Map<String, String> loadedMap = new ConcurrentHashMap<String, String>(); // jar path = fingerprint|result
+    protected final Map<String, String> currentMap = new ConcurrentHashMap<String, String>(); // may be called in parallel
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param cacheFile The file to persist the scanning results. (NotNull)
+     * @param signature The signature of scanning condition, cache is discarded if different. (NotNull)
+     */
+    public JarScanResultCache(File cacheFile, String signature) {
+        if (cacheFile == null) {
+            throw new IllegalArgumentException("The argument 'cacheFile' should not be null.");
+        }
+        if (signature == null) {
+            throw new IllegalArgumentException("The argument 'signature' should not be null.");
+        }
+        this.cacheFile = cacheFile;
+        this.signature = signature;
+    }
+
+    // ===================================================================================
+    //                                                                        Load / Store
+    //                                                                        ============
+    /**
+     * Load the previous results from the cache file if it exists.
+     * @return The count of loaded results, zero if no file or signature changed.
+     */
+    public int load() {
+        if (!cacheFile.exists()) {
+            return 0;
+        }
+        final Properties props = new Properties();
+        try (InputStream ins = new FileInputStream(cacheFile)) {
+            props.load(ins);
+        } catch (IOException continued) { // cache is only for performance
+            return 0;
+        }
+        if (!signature.equals(props.getProperty(SIGNATURE_KEY))) { // e.g. condition changed
+            return 0;
+        }
+        for (String jarPath : props.stringPropertyNames()) {
+            if (!SIGNATURE_KEY.equals(jarPath)) {
+                loadedMap.put(jarPath, props.getProperty(jarPath));
+            }
+        }
+        return loadedMap.size();
+    }
+
+    /**
+     * Store the current results to the cache file, old results of disappeared jars are removed.
+     * @return The count of stored results.
+     */
+    public int store() {
+        final Properties props = new Properties();
+        props.setProperty(SIGNATURE_KEY, signature);
+        props.putAll(currentMap);
+        final File parentDir = cacheFile.getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+        try (OutputStream ous = new FileOutputStream(cacheFile)) {
+            props.store(ous, "jar scan results by TomcatBoot: jarPath=size,lastModified|result");
+        } catch (IOException continued) { // cache is only for performance
+            return 0;
+        }
+        return currentMap.size();
+    }
+
+    // ===================================================================================
+    //                                                                       Result Access
+    //                                                                       =============
+    /**
+     * Find the cached result of the jar if the jar is unchanged since the cached boot.
+     * @param jarUrl The URL of the jar, e.g. file:/.../foo.jar, jar:file:/.../foo.jar!/ (NotNull)
+     * @return The cached result. (NullAllowed: when not cached, changed or not file jar)
+     */
+    public String findResult(URL jarUrl) {
+        final File jarFile = toJarFile(jarUrl);
+        if (jarFile == null) {
+            return null;
+        }
+        return findResult(jarFile);
+    }
+
+    /**
+     * Find the cached result of the jar if the jar is unchanged since the cached boot.
+     * @param jarFile The existing file of the jar. (NotNull)
+     * @return The cached result. (NullAllowed: when not cached or changed)
+     */
+    public String findResult(File jarFile) {
+        final String jarPath = jarFile.getAbsolutePath();
+        final String cached = loadedMap.get(jarPath);
+        if (cached == null) {
+            return null;
+        }
+        final int delimiterIndex = cached.indexOf(VALUE_DELIMITER); // fingerprint has no delimiter
+        if (delimiterIndex < 0) { // broken
+            return null;
+        }
+        if (!buildFingerprint(jarFile).equals(cached.substring(0, delimiterIndex))) { // changed
+            return null;
+        }
+        currentMap.put(jarPath, cached); // keep it for next boot
+        return cached.substring(delimiterIndex + VALUE_DELIMITER.length());
+    }
+
+    /**
+     * Save the scanned result of the jar as current result, which is stored at the end.
+     * @param jarUrl The URL of the jar, e.g. file:/.../foo.jar, jar:file:/.../foo.jar!/ (NotNull)
+     * @param result The scanned result of the jar, should not contain line separator. (NotNull)
+     */
+    public void saveResult(URL jarUrl, String result) {
+        final File jarFile = toJarFile(jarUrl);
+        if (jarFile == null) { // e.g. jar in war
+            return;
+        }
+        saveResult(jarFile, result);
+    }
+
+    /**
+     * Save the scanned result of the jar as current result, which is stored at the end.
+     * @param jarFile The existing file of the jar. (NotNull)
+     * @param result The scanned result of the jar, should not contain line separator. (NotNull)
+     */
+    public void saveResult(File jarFile, String result) {
+        currentMap.put(jarFile.getAbsolutePath(), buildFingerprint(jarFile) + VALUE_DELIMITER + result);
+    }
+
+    protected String buildFingerprint(File jarFile) {
+        return jarFile.length() + "," + jarFile.lastModified();
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected File toJarFile(URL jarUrl) { // null allowed
+        URL fileUrl = jarUrl;
+        if ("jar".equals(jarUrl.getProtocol())) { // e.g. jar:file:/.../foo.jar!/
+            final String path = jarUrl.getPath(); // e.g. file:/.../foo.jar!/
+            final int separatorIndex = path.indexOf("!/");
+            try {
+                fileUrl = new URL(separatorIndex >= 0 ? path.substring(0, separatorIndex) : path);
+            } catch (MalformedURLException ignored) {
+                return null;
+            }
+        }
+        if (!"file".equals(fileUrl.getProtocol())) { // e.g. jar:war:...
+            return null;
+        }
+        final File jarFile;
+        try {
+            jarFile = new File(fileUrl.toURI());
+        } catch (URISyntaxException | IllegalArgumentException ignored) {
+            return null;
+        }
+        return jarFile.isFile() ? jarFile : null;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public File getCacheFile() {
+        return cacheFile;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.scan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The parser executing parsing tasks (e.g. TLD, web-fragment.xml in jar files) on a fixed thread pool,
+ * and the results are taken in the submitted order on the calling thread (so merging them needs not be thread-safe). <br>
+ * Tasks should return their failure as a part of the result, an exception from a task fails the whole taking. <br>
+ * The context class loader of the creating thread is also used in the parsing threads.
+ * @param <RESULT> The type of parsed result.
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class OrderedParallelParser<RESULT> {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final ExecutorService executor; // not null
+    protected final ClassLoader contextClassLoader; // null allowed
+    protected final List<Future<RESULT>> futureList = new ArrayList<Future<RESULT>>(); // only on calling thread
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param parallelism The count of parsing threads. (Positive)
+     * @param threadNamePrefix The prefix of parsing thread name, e.g. "tldparse-". (NotNull)
+     */
+    public OrderedParallelParser(int parallelism, String threadNamePrefix) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The argument 'parallelism' should be positive: " + parallelism);
+        }
+        if (threadNamePrefix == null) {
+            throw new IllegalArgumentException("The argument 'threadNamePrefix' should not be null.");
+        }
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            final Thread thread = new Thread(runnable, threadNamePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true); // not to block JVM exit
+            return thread;
+        });
+        this.contextClassLoader = Thread.currentThread().getContextClassLoader();
+    }
+
+    // ===================================================================================
+    //                                                                              Submit
+    //                                                                              ======
+    /**
+     * Submit the parsing task executed on a parsing thread.
+     * @param parsing The callback to parse something, should not throw exceptions for each failure. (NotNull)
+     */
+    public void submit(Callable<RESULT> parsing) {
+        futureList.add(executor.submit(() -> {
+            final Thread currentThread = Thread.currentThread();
+            final ClassLoader originalLoader = currentThread.getContextClassLoader();
+            currentThread.setContextClassLoader(contextClassLoader);
+            try {
+                return parsing.call();
+            } finally {
+                currentThread.setContextClassLoader(originalLoader);
+            }
+        }));
+    }
+
+    /**
+     * Add the result already prepared without parsing (e.g. cached) to keep its order.
+     * @param result The prepared result. (NotNull)
+     */
+    public void add(RESULT result) {
+        futureList.add(CompletableFuture.completedFuture(result));
+    }
+
+    // ===================================================================================
+    //                                                                                Take
+    //                                                                                ====
+    /**
+     * Take all results in the submitted order with waiting for the parsing, and the parsing threads are shut down.
+     * @return The list of results in the submitted order. (NotNull)
+     */
+    public List<RESULT> takeAll() {
+        try {
+            final List<RESULT> resultList = new ArrayList<RESULT>(futureList.size());
+            for (Future<RESULT> future : futureList) {
+                resultList.add(future.get());
+            }
+            return resultList;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the parsing.", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Failed to parse in parallel.", cause);
+        } finally {
+            shutdown();
+        }
+    }
+
+    /**
+     * Shut down the parsing threads, remaining tasks are cancelled. (no exception if already shut down)
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        futureList.clear();
+    }
+}
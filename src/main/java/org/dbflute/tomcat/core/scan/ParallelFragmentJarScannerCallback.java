@@ -0,0 +1,226 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.scan;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.tomcat.Jar;
+import org.apache.tomcat.JarScannerCallback;
+import org.apache.tomcat.util.descriptor.web.WebXml;
+import org.apache.tomcat.util.descriptor.web.WebXmlParser;
+import org.xml.sax.InputSource;
+
+/**
+ * The jar scanner callback for web fragments parsing web-fragment.xml in parallel. <br>
+ * Jars are scanned and web-fragment.xml is read on the calling thread (so jars are not opened twice),
+ * the bytes are parsed on parsing threads, and the fragments are merged in the scanned order on the calling thread
+ * as the same way as the standard FragmentJarScannerCallback (e.g. duplicate names).
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class ParallelFragmentJarScannerCallback implements JarScannerCallback {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final String FRAGMENT_LOCATION = "META-INF/web-fragment.xml"; // same as standard callback
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final boolean delegate;
+    protected final boolean parseRequired;
+    protected final ThreadLocal<WebXmlParser> threadWebXmlParser; // because parser is not thread-safe
+    protected final OrderedParallelParser<ParsedFragment> fragmentParser; // not null
+
+    protected boolean ok = true; // stateful, determined when fragments are taken
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param webXmlParserCreator The creator of web.xml parser for each parsing thread. (NotNull)
+     * @param delegate Does the class loader delegate to parent first?
+     * @param parseRequired Is parsing web-fragment.xml required? (false if e.g. empty absolute ordering)
+     * @param parallelism The count of threads to parse web-fragment.xml. (Positive)
+     */
+    public ParallelFragmentJarScannerCallback(Supplier<WebXmlParser> webXmlParserCreator, boolean delegate, boolean parseRequired,
+            int parallelism) {
+        this.delegate = delegate;
+        this.parseRequired = parseRequired;
+        this.threadWebXmlParser = ThreadLocal.withInitial(webXmlParserCreator);
+        this.fragmentParser = new OrderedParallelParser<ParsedFragment>(parallelism, "fragmentparse-");
+    }
+
+    // ===================================================================================
+    //                                                                                Scan
+    //                                                                                ====
+    @Override
+    public void scan(Jar jar, String webappPath, boolean isWebapp) throws IOException {
+        final WebXml fragment = newFragment(isWebapp);
+        final URL jarFileUrl = jar.getJarFileURL();
+        if (!isWebapp || !parseRequired) {
+            fragmentParser.add(new ParsedFragment(fragment, jarFileUrl, true));
+            return;
+        }
+        final byte[] fragmentBytes;
+        try (InputStream ins = jar.getInputStream(FRAGMENT_LOCATION)) { // null allowed
+            if (ins == null) { // if there is no web-fragment.xml, it is distributable
+                fragment.setDistributable(true);
+                fragmentParser.add(new ParsedFragment(fragment, jarFileUrl, true));
+                return;
+            }
+            fragmentBytes = readBytes(ins);
+        } catch (IOException e) { // same as standard callback, the fragment is added before the exception
+            fragmentParser.add(new ParsedFragment(fragment, jarFileUrl, true));
+            throw e;
+        }
+        final String systemId = jar.getURL(FRAGMENT_LOCATION);
+        fragmentParser.submit(() -> parseFragment(fragment, systemId, fragmentBytes, jarFileUrl));
+    }
+
+    @Override
+    public void scan(File file, String webappPath, boolean isWebapp) throws IOException {
+        final WebXml fragment = newFragment(isWebapp);
+        final URL fileUrl = file.toURI().toURL();
+        final File fragmentFile = new File(file, FRAGMENT_LOCATION);
+        if (!fragmentFile.isFile()) { // normal folder has no impact on distributable
+            fragment.setDistributable(true);
+            fragmentParser.add(new ParsedFragment(fragment, fileUrl, true));
+            return;
+        }
+        final byte[] fragmentBytes;
+        try {
+            fragmentBytes = Files.readAllBytes(fragmentFile.toPath());
+        } catch (IOException e) {
+            fragmentParser.add(new ParsedFragment(fragment, fileUrl, true));
+            throw e;
+        }
+        final String systemId = fragmentFile.toURI().toURL().toString();
+        fragmentParser.submit(() -> parseFragment(fragment, systemId, fragmentBytes, fileUrl));
+    }
+
+    @Override
+    public void scanWebInfClasses() {
+        // no web-fragment.xml in WEB-INF/classes, same as standard callback
+    }
+
+    protected WebXml newFragment(boolean isWebapp) {
+        final WebXml fragment = new WebXml();
+        fragment.setWebappJar(isWebapp);
+        fragment.setDelegate(delegate);
+        return fragment;
+    }
+
+    protected byte[] readBytes(InputStream ins) throws IOException {
+        final ByteArrayOutputStream ous = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = ins.read(buffer)) != -1) {
+            ous.write(buffer, 0, read);
+        }
+        return ous.toByteArray();
+    }
+
+    // ===================================================================================
+    //                                                                               Parse
+    //                                                                               =====
+    protected ParsedFragment parseFragment(WebXml fragment, String systemId, byte[] fragmentBytes, URL url) { // on parsing thread
+        final InputSource source = new InputSource(systemId);
+        source.setByteStream(new ByteArrayInputStream(fragmentBytes));
+        final boolean parsed = threadWebXmlParser.get().parseWebXml(source, fragment, true); // errors are logged by parser
+        return new ParsedFragment(fragment, url, parsed);
+    }
+
+    // ===================================================================================
+    //                                                                               Merge
+    //                                                                               =====
+    /**
+     * Take the fragments merged in the scanned order after scanning, and the parsing threads are shut down.
+     * @return The map of fragments keyed by fragment name, same as standard callback. (NotNull)
+     */
+    public Map<String, WebXml> takeFragments() {
+        final Map<String, WebXml> fragments = new HashMap<String, WebXml>();
+        for (ParsedFragment parsed : fragmentParser.takeAll()) { // in scanned order
+            if (!parsed.ok) {
+                ok = false;
+            }
+            addFragment(fragments, parsed.fragment, parsed.url);
+        }
+        return fragments;
+    }
+
+    protected void addFragment(Map<String, WebXml> fragments, WebXml fragment, URL url) { // same as standard callback
+        fragment.setURL(url);
+        if (fragment.getName() == null) {
+            fragment.setName(url.toString());
+        }
+        fragment.setJarName(extractJarFileName(url));
+        if (fragments.containsKey(fragment.getName())) { // duplicate, the name is changed to the URL
+            final String duplicateName = fragment.getName();
+            fragments.get(duplicateName).addDuplicate(url.toString());
+            fragment.setName(url.toString());
+        }
+        fragments.put(fragment.getName(), fragment);
+    }
+
+    protected String extractJarFileName(URL url) {
+        String path = url.toString();
+        if (path.endsWith("!/")) {
+            path = path.substring(0, path.length() - 2);
+        }
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Shut down the parsing threads. (no exception if already shut down)
+     */
+    public void shutdown() {
+        fragmentParser.shutdown();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public boolean isOk() { // false if some web-fragment.xml is broken
+        return ok;
+    }
+
+    /**
+     * The fragment parsed on parsing thread (or prepared without parsing), merged on calling thread.
+     */
+    protected static class ParsedFragment {
+
+        protected final WebXml fragment; // not null
+        protected final URL url; // not null, jar file or directory
+        protected final boolean ok; // false if failed to parse
+
+        public ParsedFragment(WebXml fragment, URL url, boolean ok) {
+            this.fragment = fragment;
+            this.url = url;
+            this.ok = ok;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.servlet;
+
+import java.util.Optional;
+
+/**
+ * The option of init-parameters for the default servlet (static resources) registered by the boot.
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class DefaultServletOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    //  basically default value exists in tomcat
+    protected String precompressed; // null allowed, e.g. true, gzip=.gz,br=.br
+    protected Integer sendfileSize; // null allowed, KB, files of the size or more are sent by sendfile
+    protected Integer outputBufferSize; // null allowed, bytes, buffer for copying to response
+
+    // ===================================================================================
+    //                                                                         Easy-to-Use
+    //                                                                         ===========
+    /**
+     * @param precompressed The value of 'precompressed', true (.gz and .br) or list e.g. gzip=.gz,br=.br (NotNull)
+     * @return this. (NotNull)
+     */
+    public DefaultServletOption precompressed(String precompressed) {
+        this.precompressed = precompressed;
+        return this;
+    }
+
+    /**
+     * @param sendfileSize The threshold KB to send files by sendfile (zero-copy) if connector supports. (NotMinus: 0 means always)
+     * @return this. (NotNull)
+     */
+    public DefaultServletOption sendfileSize(int sendfileSize) {
+        if (sendfileSize < 0) {
+            throw new IllegalArgumentException("The argument 'sendfileSize' should not be minus: " + sendfileSize);
+        }
+        this.sendfileSize = sendfileSize;
+        return this;
+    }
+
+    /**
+     * @param outputBufferSize The buffer bytes for copying files to response (not by sendfile). (Positive)
+     * @return this. (NotNull)
+     */
+    public DefaultServletOption outputBufferSize(int outputBufferSize) {
+        if (outputBufferSize <= 0) {
+            throw new IllegalArgumentException("The argument 'outputBufferSize' should be positive: " + outputBufferSize);
+        }
+        this.outputBufferSize = outputBufferSize;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Optional<String> getPrecompressed() {
+        return Optional.ofNullable(precompressed);
+    }
+
+    public Optional<Integer> getSendfileSize() {
+        return Optional.ofNullable(sendfileSize);
+    }
+
+    public Optional<Integer> getOutputBufferSize() {
+        return Optional.ofNullable(outputBufferSize);
+    }
+}
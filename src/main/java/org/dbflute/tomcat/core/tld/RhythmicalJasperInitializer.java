@@ -0,0 +1,67 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.tld;
+
+import java.io.File;
+
+import javax.servlet.ServletContext;
+
+import org.apache.catalina.util.ServerInfo;
+import org.apache.jasper.servlet.JasperInitializer;
+import org.apache.jasper.servlet.TldScanner;
+
+/**
+ * The jasper initializer using rhythmical TLD scanner (parse cache, parallel parsing),
+ * replaces the jasper's one found by service loader.
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class RhythmicalJasperInitializer extends JasperInitializer {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final File parseCacheFile; // null allowed, no cache if null
+    protected final int parsingParallelism; // zero means sequential parsing
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param parseCacheFile The file of TLD parse cache. (NullAllowed: no cache)
+     * @param parsingParallelism The count of threads to parse TLD in jar files. (ZeroAllowed: sequential)
+     */
+    public RhythmicalJasperInitializer(File parseCacheFile, int parsingParallelism) {
+        this.parseCacheFile = parseCacheFile;
+        this.parsingParallelism = parsingParallelism;
+    }
+
+    // ===================================================================================
+    //                                                                         TLD Scanner
+    //                                                                         ===========
+    @Override
+    protected TldScanner newTldScanner(ServletContext context, boolean namespaceAware, boolean validate, boolean blockExternal) {
+        final TldParseCache parseCache = parseCacheFile != null ? newTldParseCache(namespaceAware, validate, blockExternal) : null;
+        return new RhythmicalTldScanner(context, namespaceAware, validate, blockExternal, parseCache, parsingParallelism);
+    }
+
+    protected TldParseCache newTldParseCache(boolean namespaceAware, boolean validate, boolean blockExternal) {
+        // parsed result depends on tomcat version and parser options
+        final String signature = ServerInfo.getServerNumber() + "|namespaceAware=" + namespaceAware + ", validate=" + validate
+                + ", blockExternal=" + blockExternal;
+        return new TldParseCache(parseCacheFile, signature);
+    }
+}
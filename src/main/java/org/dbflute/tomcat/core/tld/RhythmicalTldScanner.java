@@ -0,0 +1,219 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.tld;
+
+import java.io.IOException;
+
+import javax.servlet.ServletContext;
+
+import org.apache.jasper.servlet.TldScanner;
+import org.apache.juli.logging.Log;
+import org.apache.juli.logging.LogFactory;
+import org.apache.tomcat.util.descriptor.tld.TaglibXml;
+import org.apache.tomcat.util.descriptor.tld.TldParser;
+import org.apache.tomcat.util.descriptor.tld.TldResourcePath;
+import org.dbflute.tomcat.core.scan.OrderedParallelParser;
+import org.xml.sax.SAXException;
+
+/**
+ * The TLD scanner reusing parsed TLD in unchanged jar files by the parse cache,
+ * and parsing TLD in jar files in parallel. <br>
+ * Jars are still scanned to find TLD entries on the calling thread, but parsing them is skipped if cached. <br>
+ * In parallel parsing, TLD in jar files are parsed on parsing threads while scanning jars,
+ * and registered in the same order as the standard scanner after scanning jars.
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class RhythmicalTldScanner extends TldScanner {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Log logger = LogFactory.getLog(RhythmicalTldScanner.class); // super's log is private
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final boolean namespaceAware; // for parsers on parsing threads
+    protected final boolean validate;
+    protected final boolean blockExternal;
+    protected final TldParseCache parseCache; // null allowed, no cache if null
+    protected final int parsingParallelism; // zero means sequential parsing
+    protected final ThreadLocal<TldParser> threadTldParser; // because parser is not thread-safe
+
+    protected ClassLoader parserClassLoader; // null allowed, same as super's parser
+    protected OrderedParallelParser<ParsedTld> jarTldParser; // stateful, null allowed, exists only while scanning jars
+    protected int reusedCount; // stateful, count of TLD from cache
+    protected int parsedCount; // stateful, count of TLD parsed in jar files
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param context The servlet context of the web application. (NotNull)
+     * @param namespaceAware Is the parser namespace aware?
+     * @param validate Does the parser validate TLD?
+     * @param blockExternal Does the parser block external entities?
+     * @param parseCache The cache of parsed TLD. (NullAllowed: no cache)
+     * @param parsingParallelism The count of threads to parse TLD in jar files. (ZeroAllowed: sequential)
+     */
+    public RhythmicalTldScanner(ServletContext context, boolean namespaceAware, boolean validate, boolean blockExternal,
+            TldParseCache parseCache, int parsingParallelism) {
+        super(context, namespaceAware, validate, blockExternal);
+        this.namespaceAware = namespaceAware;
+        this.validate = validate;
+        this.blockExternal = blockExternal;
+        this.parseCache = parseCache;
+        this.parsingParallelism = parsingParallelism;
+        this.threadTldParser = ThreadLocal.withInitial(() -> newThreadTldParser());
+    }
+
+    protected TldParser newThreadTldParser() {
+        final TldParser parser = new TldParser(namespaceAware, validate, blockExternal);
+        if (parserClassLoader != null) {
+            parser.setClassLoader(parserClassLoader);
+        }
+        return parser;
+    }
+
+    @Override
+    public void setClassLoader(ClassLoader classLoader) {
+        super.setClassLoader(classLoader);
+        parserClassLoader = classLoader; // before scanning
+    }
+
+    // ===================================================================================
+    //                                                                                Scan
+    //                                                                                ====
+    @Override
+    public void scan() throws IOException, SAXException {
+        if (parseCache == null) {
+            super.scan();
+            return;
+        }
+        final int loadedCount = parseCache.load(); // also jsp-config may point TLD in jar so before all
+        logger.info("Loaded tld parse cache: tlds=" + loadedCount + ", file=" + parseCache.getCacheFile());
+        super.scan();
+        if (parseCache.isChanged()) {
+            final int storedCount = parseCache.store();
+            logger.info("Stored tld parse cache: tlds=" + storedCount + " (reused=" + reusedCount + ", parsed=" + parsedCount
+                    + "), file=" + parseCache.getCacheFile());
+        }
+    }
+
+    @Override
+    public void scanJars() {
+        if (parsingParallelism <= 0) {
+            super.scanJars();
+            return;
+        }
+        jarTldParser = new OrderedParallelParser<ParsedTld>(parsingParallelism, "tldparse-");
+        try {
+            super.scanJars(); // parsing TLD is submitted in parseTld()
+            for (ParsedTld parsed : jarTldParser.takeAll()) { // in scanned order
+                mergeParsedTld(parsed);
+            }
+        } finally {
+            jarTldParser.shutdown();
+            jarTldParser = null;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                           Parse TLD
+    //                                                                           =========
+    @Override
+    protected void parseTld(TldResourcePath path) throws IOException, SAXException {
+        if (path.getEntryName() == null) { // not in jar, e.g. /WEB-INF/*.tld
+            super.parseTld(path);
+            return;
+        }
+        final TaglibXml cached = parseCache != null ? parseCache.findTaglib(path) : null; // null allowed
+        if (cached != null) {
+            ++reusedCount;
+            if (jarTldParser != null) { // to keep the order
+                jarTldParser.add(new ParsedTld(path, cached, null, true));
+            } else {
+                registerTaglib(path, cached);
+            }
+            return;
+        }
+        if (jarTldParser != null) { // while scanning jars in parallel parsing
+            jarTldParser.submit(() -> parseTldOnParsingThread(path));
+            return;
+        }
+        super.parseTld(path);
+        saveParsedTaglib(path, getTldResourcePathTaglibXmlMap().get(path)); // not null here
+    }
+
+    protected ParsedTld parseTldOnParsingThread(TldResourcePath path) {
+        try {
+            return new ParsedTld(path, threadTldParser.get().parse(path), null, false);
+        } catch (IOException | SAXException | RuntimeException e) { // reported when merged
+            return new ParsedTld(path, null, e, false);
+        }
+    }
+
+    protected void mergeParsedTld(ParsedTld parsed) { // on calling thread
+        if (parsed.failure != null) { // same as standard scanner, the jar is skipped with warning
+            logger.warn("Failed to parse the tld in jar: " + parsed.path.toExternalForm(), parsed.failure);
+            return;
+        }
+        registerTaglib(parsed.path, parsed.taglib);
+        if (!parsed.cached) {
+            saveParsedTaglib(parsed.path, parsed.taglib);
+        }
+    }
+
+    protected void registerTaglib(TldResourcePath path, TaglibXml taglib) { // same as super's registration after parsing
+        final String uri = taglib.getUri();
+        if (uri != null && !getUriTldResourcePathMap().containsKey(uri)) { // first wins
+            getUriTldResourcePathMap().put(uri, path);
+        }
+        if (getTldResourcePathTaglibXmlMap().containsKey(path)) { // e.g. same jar in class path
+            return;
+        }
+        getTldResourcePathTaglibXmlMap().put(path, taglib);
+        if (taglib.getListeners() != null) {
+            getListeners().addAll(taglib.getListeners());
+        }
+    }
+
+    protected void saveParsedTaglib(TldResourcePath path, TaglibXml taglib) {
+        ++parsedCount;
+        if (parseCache != null && taglib != null) {
+            parseCache.saveTaglib(path, taglib);
+        }
+    }
+
+    /**
+     * The TLD parsed on parsing thread (or from cache), merged on calling thread.
+     */
+    protected static class ParsedTld {
+
+        protected final TldResourcePath path; // not null
+        protected final TaglibXml taglib; // null if failed
+        protected final Exception failure; // null if parsed
+        protected final boolean cached; // true if from cache
+
+        public ParsedTld(TldResourcePath path, TaglibXml taglib, Exception failure, boolean cached) {
+            this.path = path;
+            this.taglib = taglib;
+            this.failure = failure;
+            this.cached = cached;
+        }
+    }
+}
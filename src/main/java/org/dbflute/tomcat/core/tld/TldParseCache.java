@@ -0,0 +1,434 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.tld;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.servlet.jsp.tagext.FunctionInfo;
+import javax.servlet.jsp.tagext.TagAttributeInfo;
+import javax.servlet.jsp.tagext.TagVariableInfo;
+
+import org.apache.tomcat.util.descriptor.tld.TagFileXml;
+import org.apache.tomcat.util.descriptor.tld.TagXml;
+import org.apache.tomcat.util.descriptor.tld.TaglibXml;
+import org.apache.tomcat.util.descriptor.tld.TldResourcePath;
+import org.apache.tomcat.util.descriptor.tld.ValidatorXml;
+
+/**
+ * The persistent cache of parsed TLD in jar files, keyed by jar path and entry name with the jar fingerprint (size and last modified). <br>
+ * The parsed TLD is written by own binary format (jasper's descriptors are not serializable),
+ * and reused on next boot only when the jar file is unchanged.
+ * All entries are discarded if the signature (e.g. tomcat version, parser options) or the format is changed. <br>
+ * This is not thread-safe so use it in one thread.
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class TldParseCache {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final String FORMAT_HEADER = "TomcatBoot TLD Parse Cache 1"; // increment if format changed
+    protected static final String ENTRY_DELIMITER = "!/"; // jar path!/entry name
+    protected static final int STRING_MAX_BYTES = 16 * 1024 * 1024; // to avoid huge allocation by broken file
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final File cacheFile; // not null
+    protected final String signature; // not null
+    protected final Map<String, CachedTld> loadedMap = new HashMap<String, CachedTld>(); // jar path!/entry name = cached
+    protected final Map<String, CachedTld> currentMap = new LinkedHashMap<String, CachedTld>(); // to be stored
+    protected boolean changed; // true if different from loaded entries
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param cacheFile The file to persist the parsed TLD. (NotNull)
+     * @param signature The signature of parsing condition, cache is discarded if different. (NotNull)
+     */
+    public TldParseCache(File cacheFile, String signature) {
+        if (cacheFile == null) {
+            throw new IllegalArgumentException("The argument 'cacheFile' should not be null.");
+        }
+        if (signature == null) {
+            throw new IllegalArgumentException("The argument 'signature' should not be null.");
+        }
+        this.cacheFile = cacheFile;
+        this.signature = signature;
+    }
+
+    protected static class CachedTld {
+
+        protected final String fingerprint; // not null, of jar file
+        protected final TaglibXml taglib; // not null
+
+        public CachedTld(String fingerprint, TaglibXml taglib) {
+            this.fingerprint = fingerprint;
+            this.taglib = taglib;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Load / Store
+    //                                                                        ============
+    /**
+     * Load the previous parsed TLD from the cache file if it exists.
+     * @return The count of loaded TLD, zero if no file, signature changed or broken.
+     */
+    public int load() {
+        if (!cacheFile.exists()) {
+            return 0;
+        }
+        final Map<String, CachedTld> readMap = new HashMap<String, CachedTld>();
+        try (DataInputStream ins = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (!FORMAT_HEADER.equals(readString(ins)) || !signature.equals(readString(ins))) { // e.g. condition changed
+                return 0;
+            }
+            final int count = ins.readInt();
+            for (int i = 0; i < count; i++) {
+                final String key = readString(ins);
+                final String fingerprint = readString(ins);
+                readMap.put(key, new CachedTld(fingerprint, readTaglib(ins)));
+            }
+        } catch (IOException | RuntimeException continued) { // cache is only for performance
+            return 0;
+        }
+        loadedMap.putAll(readMap); // only when completely read
+        return loadedMap.size();
+    }
+
+    /**
+     * Store the current parsed TLD to the cache file, TLD of disappeared or changed jars are removed.
+     * @return The count of stored TLD.
+     */
+    public int store() {
+        final File parentDir = cacheFile.getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+        try (DataOutputStream ous = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(cacheFile)))) {
+            writeString(ous, FORMAT_HEADER);
+            writeString(ous, signature);
+            ous.writeInt(currentMap.size());
+            for (Entry<String, CachedTld> entry : currentMap.entrySet()) {
+                final CachedTld cached = entry.getValue();
+                writeString(ous, entry.getKey());
+                writeString(ous, cached.fingerprint);
+                writeTaglib(ous, cached.taglib);
+            }
+        } catch (IOException continued) { // cache is only for performance
+            cacheFile.delete(); // not to read the half-written file
+            return 0;
+        }
+        changed = false;
+        return currentMap.size();
+    }
+
+    /**
+     * @return true if there are differences from the loaded cache, e.g. newly parsed, disappeared jar.
+     */
+    public boolean isChanged() {
+        return changed || !currentMap.keySet().equals(loadedMap.keySet());
+    }
+
+    // ===================================================================================
+    //                                                                          TLD Access
+    //                                                                          ==========
+    /**
+     * Find the cached TLD if the jar is unchanged since the cached boot.
+     * @param path The resource path of TLD in jar file. (NotNull)
+     * @return The cached TLD read from the file. (NullAllowed: when not cached, changed or not in file jar)
+     */
+    public TaglibXml findTaglib(TldResourcePath path) {
+        final File jarFile = toJarFile(path);
+        if (jarFile == null) {
+            return null;
+        }
+        final String key = buildKey(jarFile, path);
+        final CachedTld cached = loadedMap.get(key);
+        if (cached == null || !buildFingerprint(jarFile).equals(cached.fingerprint)) { // not cached or changed
+            return null;
+        }
+        currentMap.put(key, cached); // keep it for next boot
+        return cached.taglib; // read from file so not shared with others
+    }
+
+    /**
+     * Save the parsed TLD as current TLD, which is stored at the end.
+     * @param path The resource path of TLD in jar file. (NotNull)
+     * @param taglib The TLD parsed by jasper. (NotNull)
+     */
+    public void saveTaglib(TldResourcePath path, TaglibXml taglib) {
+        final File jarFile = toJarFile(path);
+        if (jarFile == null) { // e.g. jar in war
+            return;
+        }
+        currentMap.put(buildKey(jarFile, path), new CachedTld(buildFingerprint(jarFile), taglib));
+        changed = true;
+    }
+
+    protected String buildKey(File jarFile, TldResourcePath path) {
+        return jarFile.getAbsolutePath() + ENTRY_DELIMITER + path.getEntryName();
+    }
+
+    protected String buildFingerprint(File jarFile) {
+        return jarFile.length() + "," + jarFile.lastModified();
+    }
+
+    // ===================================================================================
+    //                                                                           Write TLD
+    //                                                                           =========
+    protected void writeTaglib(DataOutputStream ous, TaglibXml taglib) throws IOException {
+        writeString(ous, taglib.getTlibVersion());
+        writeString(ous, taglib.getJspVersion());
+        writeString(ous, taglib.getShortName());
+        writeString(ous, taglib.getUri());
+        writeString(ous, taglib.getInfo());
+        final ValidatorXml validator = taglib.getValidator(); // null allowed
+        ous.writeBoolean(validator != null);
+        if (validator != null) {
+            writeString(ous, validator.getValidatorClass());
+            final Map<String, String> initParams = validator.getInitParams();
+            ous.writeInt(initParams.size());
+            for (Entry<String, String> entry : initParams.entrySet()) {
+                writeString(ous, entry.getKey());
+                writeString(ous, entry.getValue());
+            }
+        }
+        final List<TagXml> tags = taglib.getTags();
+        ous.writeInt(tags.size());
+        for (TagXml tag : tags) {
+            writeTag(ous, tag);
+        }
+        final List<TagFileXml> tagFiles = taglib.getTagFiles();
+        ous.writeInt(tagFiles.size());
+        for (TagFileXml tagFile : tagFiles) {
+            writeString(ous, tagFile.getName());
+            writeString(ous, tagFile.getPath());
+            writeString(ous, tagFile.getDisplayName());
+            writeString(ous, tagFile.getSmallIcon());
+            writeString(ous, tagFile.getLargeIcon());
+            writeString(ous, tagFile.getInfo());
+        }
+        final List<String> listeners = taglib.getListeners();
+        ous.writeInt(listeners.size());
+        for (String listener : listeners) {
+            writeString(ous, listener);
+        }
+        final List<FunctionInfo> functions = taglib.getFunctions();
+        ous.writeInt(functions.size());
+        for (FunctionInfo function : functions) {
+            writeString(ous, function.getName());
+            writeString(ous, function.getFunctionClass());
+            writeString(ous, function.getFunctionSignature());
+        }
+    }
+
+    protected void writeTag(DataOutputStream ous, TagXml tag) throws IOException {
+        writeString(ous, tag.getName());
+        writeString(ous, tag.getTagClass());
+        writeString(ous, tag.getTeiClass());
+        writeString(ous, tag.getBodyContent());
+        writeString(ous, tag.getDisplayName());
+        writeString(ous, tag.getSmallIcon());
+        writeString(ous, tag.getLargeIcon());
+        writeString(ous, tag.getInfo());
+        ous.writeBoolean(tag.hasDynamicAttributes());
+        final List<TagAttributeInfo> attributes = tag.getAttributes();
+        ous.writeInt(attributes.size());
+        for (TagAttributeInfo attribute : attributes) {
+            writeString(ous, attribute.getName());
+            ous.writeBoolean(attribute.isRequired());
+            writeString(ous, attribute.getTypeName());
+            ous.writeBoolean(attribute.canBeRequestTime());
+            ous.writeBoolean(attribute.isFragment());
+            writeString(ous, attribute.getDescription());
+            ous.writeBoolean(attribute.isDeferredValue());
+            ous.writeBoolean(attribute.isDeferredMethod());
+            writeString(ous, attribute.getExpectedTypeName());
+            writeString(ous, attribute.getMethodSignature());
+        }
+        final List<TagVariableInfo> variables = tag.getVariables();
+        ous.writeInt(variables.size());
+        for (TagVariableInfo variable : variables) {
+            writeString(ous, variable.getNameGiven());
+            writeString(ous, variable.getNameFromAttribute());
+            writeString(ous, variable.getClassName());
+            ous.writeBoolean(variable.getDeclare());
+            ous.writeInt(variable.getScope());
+        }
+    }
+
+    protected void writeString(DataOutputStream ous, String value) throws IOException { // null allowed
+        if (value == null) {
+            ous.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8); // writeUTF() cannot write 64KB over
+        ous.writeInt(bytes.length);
+        ous.write(bytes);
+    }
+
+    // ===================================================================================
+    //                                                                            Read TLD
+    //                                                                            ========
+    protected TaglibXml readTaglib(DataInputStream ins) throws IOException {
+        final TaglibXml taglib = new TaglibXml();
+        taglib.setTlibVersion(readString(ins));
+        taglib.setJspVersion(readString(ins));
+        taglib.setShortName(readString(ins));
+        taglib.setUri(readString(ins));
+        taglib.setInfo(readString(ins));
+        if (ins.readBoolean()) {
+            final ValidatorXml validator = new ValidatorXml();
+            validator.setValidatorClass(readString(ins));
+            final int paramCount = ins.readInt();
+            for (int i = 0; i < paramCount; i++) {
+                validator.addInitParam(readString(ins), readString(ins));
+            }
+            taglib.setValidator(validator);
+        }
+        final int tagCount = ins.readInt();
+        for (int i = 0; i < tagCount; i++) {
+            taglib.addTag(readTag(ins));
+        }
+        final int tagFileCount = ins.readInt();
+        for (int i = 0; i < tagFileCount; i++) {
+            final TagFileXml tagFile = new TagFileXml();
+            tagFile.setName(readString(ins));
+            tagFile.setPath(readString(ins));
+            tagFile.setDisplayName(readString(ins));
+            tagFile.setSmallIcon(readString(ins));
+            tagFile.setLargeIcon(readString(ins));
+            tagFile.setInfo(readString(ins));
+            taglib.addTagFile(tagFile);
+        }
+        final int listenerCount = ins.readInt();
+        for (int i = 0; i < listenerCount; i++) {
+            taglib.addListener(readString(ins));
+        }
+        final int functionCount = ins.readInt();
+        for (int i = 0; i < functionCount; i++) {
+            taglib.addFunction(readString(ins), readString(ins), readString(ins));
+        }
+        return taglib;
+    }
+
+    protected TagXml readTag(DataInputStream ins) throws IOException {
+        final TagXml tag = new TagXml();
+        tag.setName(readString(ins));
+        tag.setTagClass(readString(ins));
+        tag.setTeiClass(readString(ins));
+        tag.setBodyContent(readString(ins));
+        tag.setDisplayName(readString(ins));
+        tag.setSmallIcon(readString(ins));
+        tag.setLargeIcon(readString(ins));
+        tag.setInfo(readString(ins));
+        tag.setDynamicAttributes(ins.readBoolean());
+        final int attributeCount = ins.readInt();
+        for (int i = 0; i < attributeCount; i++) {
+            final String name = readString(ins);
+            final boolean required = ins.readBoolean();
+            final String type = readString(ins);
+            final boolean reqTime = ins.readBoolean();
+            final boolean fragment = ins.readBoolean();
+            final String description = readString(ins);
+            final boolean deferredValue = ins.readBoolean();
+            final boolean deferredMethod = ins.readBoolean();
+            final String expectedTypeName = readString(ins);
+            final String methodSignature = readString(ins);
+            tag.getAttributes().add(new TagAttributeInfo(name, required, type, reqTime, fragment, description, deferredValue,
+                    deferredMethod, expectedTypeName, methodSignature));
+        }
+        final int variableCount = ins.readInt();
+        for (int i = 0; i < variableCount; i++) {
+            final String nameGiven = readString(ins);
+            final String nameFromAttribute = readString(ins);
+            final String className = readString(ins);
+            final boolean declare = ins.readBoolean();
+            final int scope = ins.readInt();
+            tag.getVariables().add(new TagVariableInfo(nameGiven, nameFromAttribute, className, declare, scope));
+        }
+        return tag;
+    }
+
+    protected String readString(DataInputStream ins) throws IOException { // null allowed
+        final int length = ins.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > STRING_MAX_BYTES) { // no way in TLD
+            throw new IOException("Too long string in the cache file, maybe broken: length=" + length);
+        }
+        final byte[] bytes = new byte[length];
+        ins.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected File toJarFile(TldResourcePath path) { // null allowed
+        if (path.getEntryName() == null) { // not in jar, e.g. /WEB-INF/*.tld
+            return null;
+        }
+        URL fileUrl = path.getUrl();
+        if ("jar".equals(fileUrl.getProtocol())) { // e.g. jar:file:/.../foo.jar!/
+            final String urlPath = fileUrl.getPath(); // e.g. file:/.../foo.jar!/
+            final int separatorIndex = urlPath.indexOf("!/");
+            try {
+                fileUrl = new URL(separatorIndex >= 0 ? urlPath.substring(0, separatorIndex) : urlPath);
+            } catch (MalformedURLException ignored) {
+                return null;
+            }
+        }
+        if (!"file".equals(fileUrl.getProtocol())) { // e.g. jar:war:...
+            return null;
+        }
+        final File jarFile;
+        try {
+            jarFile = new File(fileUrl.toURI());
+        } catch (URISyntaxException | IllegalArgumentException ignored) {
+            return null;
+        }
+        return jarFile.isFile() ? jarFile : null;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public File getCacheFile() {
+        return cacheFile;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.valve;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+
+/**
+ * The valve (for engine) to restrict requests via the admin connector to the allowed paths. <br>
+ * Requests via other connectors are passed through, and not-allowed paths are returned as 404.
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class AdminPathRestrictionValve extends ValveBase {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Connector adminConnector; // not null
+    protected final List<String> allowedPathList; // not null, not empty, e.g. /fortress/health
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param adminConnector The connector for admin requests. (NotNull)
+     * @param allowedPathList The list of allowed path prefixes including context path, e.g. /fortress/health (NotNull, NotEmpty)
+     */
+    public AdminPathRestrictionValve(Connector adminConnector, List<String> allowedPathList) {
+        super(true); // async supported
+        if (adminConnector == null) {
+            throw new IllegalArgumentException("The argument 'adminConnector' should not be null.");
+        }
+        if (allowedPathList == null || allowedPathList.isEmpty()) {
+            throw new IllegalArgumentException("The argument 'allowedPathList' should not be null or empty: " + allowedPathList);
+        }
+        this.adminConnector = adminConnector;
+        this.allowedPathList = new ArrayList<String>(allowedPathList);
+    }
+
+    // ===================================================================================
+    //                                                                              Invoke
+    //                                                                              ======
+    @Override
+    public void invoke(Request request, Response response) throws IOException, ServletException {
+        if (request.getConnector() == adminConnector && !isAllowedPath(request.getDecodedRequestURI())) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND); // not to tell existence
+            return;
+        }
+        getNext().invoke(request, response);
+    }
+
+    protected boolean isAllowedPath(String requestPath) { // already normalized by connector
+        if (requestPath == null) {
+            return false;
+        }
+        for (String allowedPath : allowedPathList) {
+            if (requestPath.equals(allowedPath) || requestPath.startsWith(allowedPath.endsWith("/") ? allowedPath : allowedPath + "/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Connector getAdminConnector() {
+        return adminConnector;
+    }
+
+    public List<String> getAllowedPathList() { // read-only
+        return Collections.unmodifiableList(allowedPathList);
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.valve;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+
+/**
+ * The valve (for engine) to limit concurrent requests by adaptive limit (AIMD), rejecting over-limit requests as 503 fast. <br>
+ * The limit is increased by one when a request completes within the latency threshold while the limit is well used,
+ * and decreased by the backoff ratio when a request exceeds the threshold (means downstream slowdown).
+ * Counters are lock-free, so the valve does not become a bottleneck itself.
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class ConcurrencyLimitValve extends ValveBase {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Connector targetConnector; // null allowed, all connectors if null
+    protected int minLimit = 4; // positive
+    protected int maxLimit = 400; // positive, greater than or equal to min
+    protected long latencyThresholdMillis = 1000L; // positive, slower requests are treated as drop
+    protected double backoffRatio = 0.9; // between 0.5 and 1.0 (exclusive)
+
+    protected final AtomicInteger limit = new AtomicInteger(20); // current adaptive limit
+    protected final AtomicInteger inFlight = new AtomicInteger(); // current processing requests
+    protected final AtomicLong rejectedCount = new AtomicLong(); // for monitoring
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param targetConnector The connector whose requests are limited, e.g. not admin connector. (NullAllowed: all connectors)
+     */
+    public ConcurrencyLimitValve(Connector targetConnector) {
+        super(true); // async supported
+        this.targetConnector = targetConnector;
+    }
+
+    // ===================================================================================
+    //                                                                              Invoke
+    //                                                                              ======
+    @Override
+    public void invoke(Request request, Response response) throws IOException, ServletException {
+        if (targetConnector != null && request.getConnector() != targetConnector) {
+            getNext().invoke(request, response);
+            return;
+        }
+        if (request.getDispatcherType() == DispatcherType.ASYNC) { // re-entry by dispatch(), counted until async completion
+            getNext().invoke(request, response);
+            return;
+        }
+        if (inFlight.incrementAndGet() > limit.get()) { // over the limit
+            inFlight.decrementAndGet();
+            rejectedCount.incrementAndGet();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE); // fast instead of waiting in queue
+            return;
+        }
+        final long beginNanos = System.nanoTime();
+        boolean releaseLater = false;
+        try {
+            getNext().invoke(request, response);
+            if (request.isAsyncStarted()) { // released at async completion
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(beginNanos));
+                releaseLater = true;
+            }
+        } finally {
+            if (!releaseLater) {
+                release(beginNanos);
+            }
+        }
+    }
+
+    protected void release(long beginNanos) {
+        final long elapsedMillis = (System.nanoTime() - beginNanos) / 1000000L;
+        final int currentInFlight = inFlight.getAndDecrement(); // including this request
+        if (elapsedMillis > latencyThresholdMillis) { // drop, multiplicative decrease
+            limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+        } else if (currentInFlight * 2 >= limit.get()) { // well used and fast, additive increase
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+
+    protected class ReleasingAsyncListener implements AsyncListener {
+
+        protected final long beginNanos;
+        protected final AtomicBoolean released = new AtomicBoolean(); // complete may follow timeout, error
+
+        public ReleasingAsyncListener(long beginNanos) {
+            this.beginNanos = beginNanos;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) throws IOException {
+            releaseOnce();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) throws IOException {
+            releaseOnce();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) throws IOException {
+            releaseOnce();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) throws IOException { // re-dispatch, keep listening
+            event.getAsyncContext().addListener(this);
+        }
+
+        protected void releaseOnce() {
+            if (released.compareAndSet(false, true)) {
+                release(beginNanos);
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Connector getTargetConnector() {
+        return targetConnector;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        if (initialLimit <= 0) {
+            throw new IllegalArgumentException("The argument 'initialLimit' should be positive: " + initialLimit);
+        }
+        limit.set(initialLimit);
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        if (minLimit <= 0) {
+            throw new IllegalArgumentException("The argument 'minLimit' should be positive: " + minLimit);
+        }
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        if (maxLimit <= 0) {
+            throw new IllegalArgumentException("The argument 'maxLimit' should be positive: " + maxLimit);
+        }
+        this.maxLimit = maxLimit;
+    }
+
+    public long getLatencyThresholdMillis() {
+        return latencyThresholdMillis;
+    }
+
+    public void setLatencyThresholdMillis(long latencyThresholdMillis) {
+        if (latencyThresholdMillis <= 0) {
+            throw new IllegalArgumentException("The argument 'latencyThresholdMillis' should be positive: " + latencyThresholdMillis);
+        }
+        this.latencyThresholdMillis = latencyThresholdMillis;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+        if (backoffRatio < 0.5 || backoffRatio >= 1.0) {
+            throw new IllegalArgumentException("The argument 'backoffRatio' should be 0.5 to 1.0 (exclusive): " + backoffRatio);
+        }
+        this.backoffRatio = backoffRatio;
+    }
+
+    public int getLimit() { // current adaptive limit
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.warmup;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
+
+import org.dbflute.tomcat.core.warmup.WarmUpOption.WarmUpRequest;
+
+/**
+ * The driver of warm-up requests against the local connector, executed on the calling thread. <br>
+ * Failures of requests are logged and continued because warm-up is only for performance. <br>
+ * For HTTPS, the server certificate is accepted without verification because the requests go to the own connector,
+ * e.g. self-signed or issued for the public host name (not for the bound address).
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class WarmUpDriver {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String baseUrl; // not null, e.g. http://localhost:8152/fortress
+    protected final Consumer<String> logger; // not null
+    protected SSLSocketFactory localSslSocketFactory; // null allowed, lazy loaded, for own HTTPS connector
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param baseUrl The URL of local context without trailing slash, e.g. http://localhost:8152/fortress (NotNull)
+     * @param logger The callback for logging messages. (NotNull)
+     */
+    public WarmUpDriver(String baseUrl, Consumer<String> logger) {
+        if (baseUrl == null) {
+            throw new IllegalArgumentException("The argument 'baseUrl' should not be null.");
+        }
+        if (logger == null) {
+            throw new IllegalArgumentException("The argument 'logger' should not be null.");
+        }
+        this.baseUrl = baseUrl;
+        this.logger = logger;
+    }
+
+    // ===================================================================================
+    //                                                                               Drive
+    //                                                                               =====
+    /**
+     * Replay the requests of the option the specified times.
+     * @param option The option of warm-up. (NotNull)
+     * @return The summary of the warm-up for logging. (NotNull)
+     */
+    public String drive(WarmUpOption option) {
+        final List<WarmUpRequest> requestList = prepareRequestList(option);
+        final long beginMillis = System.currentTimeMillis();
+        int executedCount = 0;
+        int failureCount = 0;
+        for (int i = 0; i < option.getTimes(); i++) {
+            final boolean firstTime = i == 0; // to log failures only once
+            for (WarmUpRequest request : requestList) {
+                ++executedCount;
+                if (!execute(request, option.getTimeoutMillis(), firstTime)) {
+                    ++failureCount;
+                }
+            }
+        }
+        final long elapsedMillis = System.currentTimeMillis() - beginMillis;
+        if (executedCount > 0 && failureCount == executedCount) {
+            logger.accept("*Warm-up did nothing because all requests failed, confirm the failures above: baseUrl=" + baseUrl);
+        }
+        return "Warm-up finished: requests=" + requestList.size() + ", times=" + option.getTimes() + ", executed=" + executedCount
+                + ", failures=" + failureCount + ", elapsed=" + elapsedMillis + "ms";
+    }
+
+    protected List<WarmUpRequest> prepareRequestList(WarmUpOption option) {
+        final List<WarmUpRequest> requestList = new ArrayList<WarmUpRequest>(option.getRequestList());
+        option.getCaptureFile().ifPresent(captureFile -> requestList.addAll(readCaptureFile(captureFile)));
+        return requestList;
+    }
+
+    // -----------------------------------------------------
+    //                                               Execute
+    //                                               -------
+    protected boolean execute(WarmUpRequest request, int timeoutMillis, boolean logFailure) { // true if success
+        final String url = baseUrl + request.getPath();
+        HttpURLConnection conn = null;
+        try {
+            conn = (HttpURLConnection) new URL(url).openConnection();
+            if (conn instanceof HttpsURLConnection) {
+                prepareLocalHttps((HttpsURLConnection) conn);
+            }
+            conn.setConnectTimeout(timeoutMillis);
+            conn.setReadTimeout(timeoutMillis);
+            conn.setRequestMethod(request.getMethod());
+            if (request.getBody().isPresent()) {
+                conn.setDoOutput(true);
+                conn.setRequestProperty("Content-Type", request.getContentType().orElse("application/octet-stream"));
+                try (OutputStream ous = conn.getOutputStream()) {
+                    ous.write(request.getBody().get().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            final int status = conn.getResponseCode();
+            try (InputStream ins = status < 400 ? conn.getInputStream() : conn.getErrorStream()) {
+                drain(ins); // to execute also rendering
+            }
+            if (status >= 500 && logFailure) { // client errors may be expected e.g. 401
+                logger.accept("*Warm-up request failed: " + status + " " + request);
+            }
+            return status < 500;
+        } catch (IOException e) {
+            if (logFailure) {
+                logger.accept("*Warm-up request failed: " + request + " :: " + e.getMessage());
+            }
+            return false;
+        } finally {
+            if (conn != null) {
+                conn.disconnect();
+            }
+        }
+    }
+
+    protected void drain(InputStream ins) throws IOException {
+        if (ins == null) { // e.g. no body
+            return;
+        }
+        final byte[] buffer = new byte[8192];
+        while (ins.read(buffer) >= 0) {
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                            Local HTTPS
+    //                                            -----------
+    protected void prepareLocalHttps(HttpsURLConnection conn) throws IOException {
+        conn.setSSLSocketFactory(getLocalSslSocketFactory());
+        conn.setHostnameVerifier((hostname, session) -> true); // host is the own connector address
+    }
+
+    protected synchronized SSLSocketFactory getLocalSslSocketFactory() throws IOException {
+        if (localSslSocketFactory == null) {
+            try {
+                final SSLContext sslContext = SSLContext.getInstance("TLS");
+                sslContext.init(null, new TrustManager[] { new OwnServerTrustManager() }, null);
+                localSslSocketFactory = sslContext.getSocketFactory();
+            } catch (GeneralSecurityException e) {
+                throw new IOException("Failed to prepare SSL context for warm-up: " + baseUrl, e);
+            }
+        }
+        return localSslSocketFactory;
+    }
+
+    // extended type so that JDK does not add endpoint identification of default trust manager
+    protected static class OwnServerTrustManager extends X509ExtendedTrustManager {
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+            throw new UnsupportedOperationException("Not client side trust manager: " + authType);
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket) {
+            throw new UnsupportedOperationException("Not client side trust manager: " + authType);
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+            throw new UnsupportedOperationException("Not client side trust manager: " + authType);
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                          Capture File
+    //                                          ------------
+    protected List<WarmUpRequest> readCaptureFile(String captureFile) {
+        final List<WarmUpRequest> requestList = new ArrayList<WarmUpRequest>();
+        try (InputStream ins = openCaptureFile(captureFile)) {
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(ins, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                requestList.add(parseCaptureLine(captureFile, trimmed));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the warm-up capture file: " + captureFile, e);
+        }
+        return requestList;
+    }
+
+    protected InputStream openCaptureFile(String captureFile) throws IOException {
+        final File file = new File(captureFile);
+        if (file.isFile()) {
+            return new FileInputStream(file);
+        }
+        final InputStream ins = Thread.currentThread().getContextClassLoader().getResourceAsStream(captureFile);
+        if (ins == null) {
+            throw new IllegalStateException("Not found the warm-up capture file in file system and classpath: " + captureFile);
+        }
+        return ins;
+    }
+
+    protected WarmUpRequest parseCaptureLine(String captureFile, String line) { // e.g. POST /api/sea {"land":"piari"}
+        final String[] tokens = line.split("\\s+", 3);
+        if (tokens.length < 2) {
+            throw new IllegalStateException("Broken line in the warm-up capture file: " + captureFile + " :: " + line);
+        }
+        final String body = tokens.length >= 3 ? tokens[2] : null;
+        final String contentType;
+        if (body != null) {
+            contentType = body.startsWith("{") ? "application/json" : "application/x-www-form-urlencoded";
+        } else {
+            contentType = null;
+        }
+        return new WarmUpRequest(tokens[0].toUpperCase(), tokens[1], body, contentType);
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The option of warm-up requests replayed against the local connector before the boot is reported successful.
+ * <pre>
+ * boot.useWarmUp(op -&gt; {
+ *     op.get("/").get("/product/list/").post("/api/sea", "{\"land\":\"piari\"}", "application/json").times(20);
+ * });
+ * </pre>
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class WarmUpOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final List<WarmUpRequest> requestList = new ArrayList<WarmUpRequest>();
+    protected String captureFile; // null allowed
+    protected int times = 1; // positive
+    protected int timeoutMillis = 10000; // positive, for both connect and read
+
+    // ===================================================================================
+    //                                                                         Easy-to-Use
+    //                                                                         ===========
+    /**
+     * @param path The path under context path, e.g. /product/list/ (NotNull)
+     * @return this. (NotNull)
+     */
+    public WarmUpOption get(String path) {
+        return request(new WarmUpRequest("GET", path, null, null));
+    }
+
+    /**
+     * @param path The path under context path, e.g. /api/sea (NotNull)
+     * @param body The request body. (NotNull)
+     * @param contentType The content type of the body, e.g. application/json (NotNull)
+     * @return this. (NotNull)
+     */
+    public WarmUpOption post(String path, String body, String contentType) {
+        if (body == null) {
+            throw new IllegalArgumentException("The argument 'body' should not be null.");
+        }
+        if (contentType == null) {
+            throw new IllegalArgumentException("The argument 'contentType' should not be null.");
+        }
+        return request(new WarmUpRequest("POST", path, body, contentType));
+    }
+
+    public WarmUpOption request(WarmUpRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("The argument 'request' should not be null.");
+        }
+        requestList.add(request);
+        return this;
+    }
+
+    /**
+     * Replay the recorded capture file, which has a request per line (after requests added by methods).
+     * <pre>
+     * # method path [body] (body is JSON if it starts with '{', else form parameters)
+     * GET /product/list/
+     * POST /api/sea {"land":"piari"}
+     * </pre>
+     * @param captureFile The path of capture file, file system or classpath. (NotNull)
+     * @return this. (NotNull)
+     */
+    public WarmUpOption captureFile(String captureFile) {
+        if (captureFile == null || captureFile.trim().isEmpty()) {
+            throw new IllegalArgumentException("The argument 'captureFile' should not be null or empty: " + captureFile);
+        }
+        this.captureFile = captureFile;
+        return this;
+    }
+
+    /**
+     * @param times The count of replaying all requests. (Positive)
+     * @return this. (NotNull)
+     */
+    public WarmUpOption times(int times) {
+        if (times <= 0) {
+            throw new IllegalArgumentException("The argument 'times' should be positive: " + times);
+        }
+        this.times = times;
+        return this;
+    }
+
+    /**
+     * @param timeoutMillis The timeout milliseconds of connect and read per request. (Positive)
+     * @return this. (NotNull)
+     */
+    public WarmUpOption timeoutMillis(int timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("The argument 'timeoutMillis' should be positive: " + timeoutMillis);
+        }
+        this.timeoutMillis = timeoutMillis;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                     Warm-up Request
+    //                                                                     ===============
+    public static class WarmUpRequest {
+
+        protected final String method; // not null
+        protected final String path; // not null
+        protected final String body; // null allowed
+        protected final String contentType; // null allowed (but not null if body exists)
+
+        public WarmUpRequest(String method, String path, String body, String contentType) {
+            if (method == null) {
+                throw new IllegalArgumentException("The argument 'method' should not be null.");
+            }
+            if (path == null || !path.startsWith("/")) {
+                throw new IllegalArgumentException("The argument 'path' should start with slash: " + path);
+            }
+            this.method = method;
+            this.path = path;
+            this.body = body;
+            this.contentType = contentType;
+        }
+
+        @Override
+        public String toString() {
+            return method + " " + path;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public Optional<String> getBody() {
+            return Optional.ofNullable(body);
+        }
+
+        public Optional<String> getContentType() {
+            return Optional.ofNullable(contentType);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public List<WarmUpRequest> getRequestList() {
+        return Collections.unmodifiableList(requestList);
+    }
+
+    public Optional<String> getCaptureFile() {
+        return Optional.ofNullable(captureFile);
+    }
+
+    public int getTimes() {
+        return times;
+    }
+
+    public int getTimeoutMillis() {
+        return timeoutMillis;
+    }
+}
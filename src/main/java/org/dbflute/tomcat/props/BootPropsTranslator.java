@@ -17,15 +17,38 @@ package org.dbflute.tomcat.props;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.apache.catalina.Executor;
+import org.apache.catalina.Lifecycle;
 import org.apache.catalina.connector.Connector;
+import org.apache.catalina.core.StandardThreadExecutor;
+import org.apache.catalina.core.StandardVirtualThreadExecutor;
 import org.apache.catalina.startup.Tomcat;
 import org.apache.coyote.ProtocolHandler;
 import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.apache.coyote.http11.Http11Nio2Protocol;
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.apache.tomcat.util.IntrospectionUtils;
 import org.dbflute.tomcat.core.accesslog.AccessLogOption;
+import org.dbflute.tomcat.core.accesslog.AccessLogFormat;
+import org.dbflute.tomcat.core.accesslog.AccessLogFsyncPolicy;
+import org.dbflute.tomcat.core.accesslog.AccessLogOverflowPolicy;
+import org.dbflute.tomcat.core.servlet.DefaultServletOption;
+import org.dbflute.tomcat.core.valve.AdminPathRestrictionValve;
+import org.dbflute.tomcat.core.valve.ConcurrencyLimitValve;
 import org.dbflute.tomcat.logging.BootLogger;
 
 /**
@@ -34,6 +57,25 @@ import org.dbflute.tomcat.logging.BootLogger;
  */
 public class BootPropsTranslator {
 
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final String CONNECTOR_PREFIX = "tomcat.connector.";
+    protected static final String PROTOCOL_PREFIX = "tomcat.protocol.";
+    protected static final String HTTP2_PREFIX = "tomcat.http2.";
+    protected static final String ENABLED_NAME = "enabled"; // not property of target
+    protected static final String LARGE_DOWNLOAD_THRESHOLD_KEY = "tomcat.largeDownload.threshold"; // KB
+    protected static final int LARGE_DOWNLOAD_OUTPUT_BUFFER_SIZE = 64 * 1024; // bytes, for fewer flushes to socket
+    protected static final String LIMITER_PREFIX = "tomcat.limiter.";
+    protected static final String ADMIN_PREFIX = "tomcat.admin.";
+    protected static final String ADMIN_EXECUTOR_NAME = "tomcatAdminThreadPool";
+    protected static final int ADMIN_DEFAULT_MAX_THREADS = 4; // small, for health check, metrics
+    protected static final String EXECUTOR_PREFIX = "tomcat.executor.";
+    protected static final String THREAD_POOL_EXECUTOR_NAME = "tomcatThreadPool"; // same as server.xml example
+    protected static final String VIRTUAL_THREAD_EXECUTOR_NAME = "tomcatVirtualThreadExecutor";
+    protected static final int UNIX_FILE_TYPE_MASK = 0170000; // S_IFMT of unix:mode
+    protected static final int UNIX_FILE_TYPE_SOCKET = 0140000; // S_IFSOCK
+
     // ===================================================================================
     //                                                      Configuration Environment Path
     //                                                      ==============================
@@ -97,12 +139,68 @@ public class BootPropsTranslator {
         doPrepareAccessLogOption(logger, props, "fileSuffix", value -> option.fileSuffix(value));
         doPrepareAccessLogOption(logger, props, "fileDateFormat", value -> option.fileDateFormat(value));
         doPrepareAccessLogOption(logger, props, "fileEncoding", value -> option.fileEncoding(value));
+        doPrepareAccessLogOption(logger, props, "compressRotated", value -> {
+            if (isStringBooleanTrue(value)) {
+                option.compressRotated();
+            }
+        });
+        doPrepareAccessLogOption(logger, props, "maxHistory", value -> option.maxHistory(toInt("accesslog.maxHistory(config)", value)));
+        doPrepareAccessLogOption(logger, props, "maxTotalSize", value -> { // e.g. 1073741824, 512MB, 10GB
+            option.maxTotalSize(toByteSize("accesslog.maxTotalSize(config)", value));
+        });
         doPrepareAccessLogOption(logger, props, "formatPattern", value -> option.formatPattern(value));
         doPrepareAccessLogOption(logger, props, "conditionIf", value -> option.conditionIf(value));
         doPrepareAccessLogOption(logger, props, "conditionUnless", value -> option.conditionUnless(value));
+        doPrepareAccessLogOption(logger, props, "format", value -> option.format(toAccessLogFormat(value))); // text, json
+        doPrepareAccessLogOption(logger, props, "jsonFields", value -> option.jsonFields(value));
+        doPrepareAccessLogOption(logger, props, "slowThresholdMillis", value -> {
+            option.slowThresholdMillis(toInt("accesslog.slowThresholdMillis(config)", value));
+        });
+        doPrepareAccessLogOption(logger, props, "sampleRate", value -> option.sampleRate(toInt("accesslog.sampleRate(config)", value)));
+        doPrepareAccessLogOption(logger, props, "sampleIdHeader", value -> option.sampleIdHeader(value));
+        doPrepareAccessLogOption(logger, props, "async", value -> {
+            if (isStringBooleanTrue(value)) {
+                option.async();
+            }
+        });
+        doPrepareAccessLogOption(logger, props, "queueSize", value -> option.queueSize(toInt("accesslog.queueSize(config)", value)));
+        doPrepareAccessLogOption(logger, props, "overflowPolicy", value -> { // block, drop, count
+            option.overflowPolicy(toAccessLogOverflowPolicy(value));
+        });
+        doPrepareAccessLogOption(logger, props, "bufferSize", value -> option.bufferSize(toInt("accesslog.bufferSize(config)", value)));
+        doPrepareAccessLogOption(logger, props, "flushIntervalMillis", value -> {
+            option.flushIntervalMillis(toInt("accesslog.flushIntervalMillis(config)", value));
+        });
+        doPrepareAccessLogOption(logger, props, "fsync", value -> { // never, interval, always
+            option.fsyncPolicy(toAccessLogFsyncPolicy(value));
+        });
         return option;
     }
 
+    protected AccessLogFormat toAccessLogFormat(String value) {
+        try {
+            return AccessLogFormat.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Unknown access log format, should be text or json: accesslog.format=" + value, e);
+        }
+    }
+
+    protected AccessLogOverflowPolicy toAccessLogOverflowPolicy(String value) {
+        try {
+            return AccessLogOverflowPolicy.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Unknown overflow policy, should be block, drop or count: accesslog.overflowPolicy=" + value, e);
+        }
+    }
+
+    protected AccessLogFsyncPolicy toAccessLogFsyncPolicy(String value) {
+        try {
+            return AccessLogFsyncPolicy.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Unknown fsync policy, should be never, interval or always: accesslog.fsync=" + value, e);
+        }
+    }
+
     protected void doPrepareAccessLogOption(BootLogger logger, Properties props, String keyword, Consumer<String> reflector) {
         final String value = props.getProperty("tomcat.accesslog." + keyword);
         if (value != null && !value.isEmpty()) {
@@ -111,6 +209,86 @@ public class BootPropsTranslator {
         }
     }
 
+    // ===================================================================================
+    //                                                              Default Servlet Option
+    //                                                              ======================
+    public DefaultServletOption prepareDefaultServletOption(BootLogger logger, Properties props, List<String> readConfigList) { // null allowed
+        if (props == null) {
+            return null;
+        }
+        final boolean exists = props.stringPropertyNames().stream().anyMatch(key -> {
+            return key.startsWith("tomcat.defaultServlet.") || key.equals(LARGE_DOWNLOAD_THRESHOLD_KEY);
+        });
+        if (!exists) {
+            return null;
+        }
+        logger.info("...Preparing default servlet: config=" + readConfigList);
+        final DefaultServletOption option = new DefaultServletOption();
+        doPrepareDefaultServletOption(logger, props, "precompressed", value -> option.precompressed(value)); // e.g. true
+        doPrepareDefaultServletOption(logger, props, "sendfileSize", value -> { // KB
+            option.sendfileSize(toInt("tomcat.defaultServlet.sendfileSize(config)", value));
+        });
+        doPrepareDefaultServletOption(logger, props, "outputBufferSize", value -> { // bytes
+            option.outputBufferSize(toInt("tomcat.defaultServlet.outputBufferSize(config)", value));
+        });
+        final String largeDownloadThreshold = props.getProperty(LARGE_DOWNLOAD_THRESHOLD_KEY); // KB
+        if (largeDownloadThreshold != null && !largeDownloadThreshold.trim().isEmpty()) {
+            reflectLargeDownloadOption(logger, option, toInt(LARGE_DOWNLOAD_THRESHOLD_KEY + "(config)", largeDownloadThreshold.trim()));
+        }
+        return option;
+    }
+
+    protected void reflectLargeDownloadOption(BootLogger logger, DefaultServletOption option, int threshold) { // threshold is KB
+        // large files go through sendfile (zero-copy from page cache to socket), and useSendfile of connector is set later
+        if (!option.getSendfileSize().isPresent()) {
+            option.sendfileSize(threshold);
+        }
+        // responses copied via heap (e.g. compressed, sendfile unsupported, in jar) are written by large chunks
+        // (default 2KB output buffer of default servlet flushes to socket too often for large files)
+        if (!option.getOutputBufferSize().isPresent()) {
+            option.outputBufferSize(LARGE_DOWNLOAD_OUTPUT_BUFFER_SIZE);
+        }
+        logger.info("...Using large-download mode: sendfileSize=" + option.getSendfileSize().get() + "KB, outputBufferSize="
+                + option.getOutputBufferSize().get() + " bytes");
+    }
+
+    protected void doPrepareDefaultServletOption(BootLogger logger, Properties props, String keyword, Consumer<String> reflector) {
+        final String value = props.getProperty("tomcat.defaultServlet." + keyword);
+        if (value != null && !value.isEmpty()) {
+            logger.info(" tomcat.defaultServlet." + keyword + " = " + value);
+            reflector.accept(value);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                  Connector Protocol
+    //                                                                  ==================
+    /**
+     * @param logger The logger for boot. (NotNull)
+     * @param props The properties of configuration. (NullAllowed: if null, returns null)
+     * @return The class name of protocol handler for connector. (NullAllowed: if no configuration, default protocol)
+     */
+    public String prepareConnectorProtocol(BootLogger logger, Properties props) {
+        if (props == null) {
+            return null;
+        }
+        final String protocol = props.getProperty("tomcat.protocol"); // e.g. nio, nio2
+        if (protocol == null || protocol.trim().isEmpty()) {
+            return null;
+        }
+        final String trimmed = protocol.trim();
+        final String protocolClassName;
+        if ("nio".equalsIgnoreCase(trimmed)) {
+            protocolClassName = Http11NioProtocol.class.getName(); // same as default
+        } else if ("nio2".equalsIgnoreCase(trimmed)) {
+            protocolClassName = Http11Nio2Protocol.class.getName();
+        } else {
+            throw new IllegalStateException("Unknown protocol, should be nio or nio2: tomcat.protocol=" + protocol);
+        }
+        logger.info("...Using connector protocol: " + protocolClassName + " (tomcat.protocol=" + trimmed + ")");
+        return protocolClassName;
+    }
+
     // ===================================================================================
     //                                                                Server Configuration
     //                                                                ====================
@@ -128,6 +306,9 @@ public class BootPropsTranslator {
         doSetupServerConfig(logger, props, "scheme", value -> connector.setScheme(value));
         doSetupServerConfig(logger, props, "bindAddress", value -> connector.setProperty("address", value));
         doSetupServerConfig(logger, props, "proxyPort", value -> connector.setProxyPort(toInt("proxyPort(config)", value)));
+        doSetupServerConfig(logger, props, "unixDomainSocketPath", value -> { // instead of port
+            reflectPropertyUnixDomainSocket(logger, server, connector, value, props.getProperty("tomcat.unixDomainSocketPathPermissions"));
+        });
         doSetupServerConfig(logger, props, "maxHttpHeaderSize", value -> {
             reflectPropertyMaxHttpHeaderSize(logger, server, connector, value);
         });
@@ -137,7 +318,36 @@ public class BootPropsTranslator {
         doSetupServerConfig(logger, props, "maxThreads", value -> {
             reflectPropertyMaxThreads(logger, server, connector, value);
         });
-
+        doSetupServerConfig(logger, props, "useSendfile", value -> {
+            reflectPropertyHttp11(logger, server, connector, "useSendfile", protocol -> {
+                protocol.setUseSendfile(isStringBooleanTrue(value));
+            });
+        });
+        doSetupServerConfig(logger, props, LARGE_DOWNLOAD_THRESHOLD_KEY.substring("tomcat.".length()), value -> {
+            reflectPropertyLargeDownload(logger, server, connector, props);
+        });
+        doSetupServerConfig(logger, props, "compression", value -> { // on, off, force, or min size
+            reflectPropertyHttp11(logger, server, connector, "compression", protocol -> protocol.setCompression(value));
+        });
+        doSetupServerConfig(logger, props, "compressionMinSize", value -> {
+            reflectPropertyHttp11(logger, server, connector, "compressionMinSize", protocol -> {
+                protocol.setCompressionMinSize(toInt("compressionMinSize(config)", value));
+            });
+        });
+        doSetupServerConfig(logger, props, "compressibleMimeType", value -> { // e.g. application/json,text/html
+            reflectPropertyHttp11(logger, server, connector, "compressibleMimeType", protocol -> {
+                protocol.setCompressibleMimeType(value);
+            });
+        });
+        doSetupServerConfig(logger, props, "noCompressionUserAgents", value -> { // regular expression
+            reflectPropertyHttp11(logger, server, connector, "noCompressionUserAgents", protocol -> {
+                protocol.setNoCompressionUserAgents(value);
+            });
+        });
+        setupPassThroughConfig(logger, props, connector);
+        setupHttp2UpgradeIfNeeds(logger, props, connector);
+        setupRequestExecutorIfNeeds(logger, server, props); // after connector settings
+        setupConcurrencyLimiterIfNeeds(logger, server, connector, props);
     }
 
     protected void doSetupServerConfig(BootLogger logger, Properties props, String keyword, Consumer<String> reflector) {
@@ -148,6 +358,64 @@ public class BootPropsTranslator {
         }
     }
 
+    protected void reflectPropertyUnixDomainSocket(BootLogger logger, Tomcat server, Connector connector, String socketPath,
+            String permissions) { // permissions is null allowed
+        if (!isUnixDomainSocketSupported()) { // fail fast because proxy cannot connect to port instead
+            final String javaVersion = System.getProperty("java.version");
+            throw new IllegalStateException("Cannot use unix domain socket on this JVM (needs Java16 or later): java.version=" + javaVersion);
+        }
+        final ProtocolHandler protocolHandler = connector.getProtocolHandler();
+        if (!(protocolHandler instanceof Http11NioProtocol)) { // only NIO endpoint supports it
+            throw new IllegalStateException("Cannot use unix domain socket with the protocol, use NIO: " + protocolHandler);
+        }
+        deleteStaleUnixDomainSocketIfExists(logger, socketPath);
+        IntrospectionUtils.setProperty(protocolHandler, "unixDomainSocketPath", socketPath); // to endpoint
+        if (permissions != null && !permissions.trim().isEmpty()) { // e.g. rw-rw----
+            logger.info(" tomcat.unixDomainSocketPathPermissions = " + permissions);
+            IntrospectionUtils.setProperty(protocolHandler, "unixDomainSocketPathPermissions", permissions.trim());
+        }
+    }
+
+    protected boolean isUnixDomainSocketSupported() {
+        try {
+            Class.forName("java.net.UnixDomainSocketAddress"); // since Java16
+            return true;
+        } catch (ClassNotFoundException ignored) {
+            return false;
+        }
+    }
+
+    protected void deleteStaleUnixDomainSocketIfExists(BootLogger logger, String socketPath) {
+        // socket file remains if previous process was killed, and then bind fails
+        final Path path = Paths.get(socketPath);
+        if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        if (!isOwnUnixDomainSocket(path)) { // e.g. regular file, symbolic link, socket of other user
+            logger.info("*Not delete the existing file because it is not own unix domain socket: " + socketPath);
+            return; // bind fails and reports it
+        }
+        try {
+            Files.delete(path);
+            logger.info("...Deleting stale unix domain socket: " + socketPath);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to delete the stale unix domain socket: " + socketPath, e);
+        }
+    }
+
+    protected boolean isOwnUnixDomainSocket(Path path) { // false if it cannot be determined
+        try {
+            final Object mode = Files.getAttribute(path, "unix:mode", LinkOption.NOFOLLOW_LINKS); // e.g. Linux, macOS
+            if (!(mode instanceof Integer) || (((Integer) mode) & UNIX_FILE_TYPE_MASK) != UNIX_FILE_TYPE_SOCKET) {
+                return false;
+            }
+            final String owner = Files.getOwner(path, LinkOption.NOFOLLOW_LINKS).getName();
+            return owner.equals(System.getProperty("user.name"));
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException | SecurityException ignored) {
+            return false; // e.g. no unix attribute view
+        }
+    }
+
     protected void reflectPropertyMaxHttpHeaderSize(BootLogger logger, Tomcat server, Connector connector, String value) {
         final ProtocolHandler protocolHandler = connector.getProtocolHandler();
         if (protocolHandler instanceof AbstractHttp11Protocol<?>) {
@@ -178,6 +446,323 @@ public class BootPropsTranslator {
         }
     }
 
+    protected void reflectPropertyLargeDownload(BootLogger logger, Tomcat server, Connector connector, Properties props) {
+        if (props.getProperty("tomcat.useSendfile") != null) { // explicitly specified
+            return;
+        }
+        reflectPropertyHttp11(logger, server, connector, "useSendfile", protocol -> {
+            protocol.setUseSendfile(true); // already default of NIO, NIO2 but just in case
+        });
+        // confirm after start because endpoint determines the support at start
+        connector.addLifecycleListener(event -> {
+            if (Lifecycle.AFTER_START_EVENT.equals(event.getType())) {
+                final ProtocolHandler protocolHandler = connector.getProtocolHandler();
+                if (!protocolHandler.isSendfileSupported()) {
+                    logger.info("*Sendfile is unsupported by the connector so large files are copied via heap: " + protocolHandler);
+                } else if (!"off".equals(connector.getProperty("compression"))) {
+                    logger.info("*Sendfile is skipped for compressed responses, so exclude large file types from compressibleMimeType");
+                }
+            }
+        });
+    }
+
+    protected void reflectPropertyHttp11(BootLogger logger, Tomcat server, Connector connector, String keyword,
+            Consumer<AbstractHttp11Protocol<?>> reflector) {
+        final ProtocolHandler protocolHandler = connector.getProtocolHandler();
+        if (protocolHandler instanceof AbstractHttp11Protocol<?>) {
+            reflector.accept((AbstractHttp11Protocol<?>) protocolHandler);
+        } else {
+            logger.info("Cannot set the property '" + keyword + "' because of different protocol handler: " + protocolHandler);
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                          Pass-through
+    //                                          ------------
+    protected void setupPassThroughConfig(BootLogger logger, Properties props, Connector connector) {
+        final Map<String, Object> passedMap = new LinkedHashMap<String, Object>(); // key to target
+        // no switch name for them, so e.g. tomcat.connector.enabled is unknown property
+        doSetupPassThroughConfig(logger, props, CONNECTOR_PREFIX, null, connector, passedMap); // e.g. tomcat.connector.enableLookups
+        doSetupPassThroughConfig(logger, props, PROTOCOL_PREFIX, null, connector.getProtocolHandler(), passedMap); // e.g. acceptCount
+        logPassThroughEffectiveAfterStart(logger, connector, passedMap);
+    }
+
+    protected void logPassThroughEffectiveAfterStart(BootLogger logger, Connector connector, Map<String, Object> passedMap) {
+        if (passedMap.isEmpty()) {
+            return;
+        }
+        // some getters return the value only after bind, e.g. maxKeepAliveRequests
+        connector.addLifecycleListener(event -> {
+            if (Lifecycle.AFTER_START_EVENT.equals(event.getType())) {
+                logger.info(buildPassThroughEffectiveExp(passedMap));
+            }
+        });
+    }
+
+    protected void doSetupPassThroughConfig(BootLogger logger, Properties props, String prefix, String switchName, Object target,
+            Map<String, Object> passedMap) { // switchName is null allowed, property to switch the feature, not passed to target
+        final List<String> keyList = props.stringPropertyNames().stream().filter(key -> {
+            if (switchName != null && key.equals(prefix + switchName)) {
+                return false;
+            }
+            return key.startsWith(prefix) && !props.getProperty(key).trim().isEmpty();
+        }).sorted().collect(Collectors.toList());
+        for (String key : keyList) {
+            final String name = key.substring(prefix.length()); // e.g. keepAliveTimeout, socket.rxBufSize
+            final String value = props.getProperty(key).trim();
+            logger.info(" " + key + " = " + value);
+            // setter or generic setProperty(), the latter delegates to e.g. endpoint, socket properties
+            if (!IntrospectionUtils.setProperty(target, name, value)) {
+                throw new IllegalStateException("Unknown property for " + target.getClass().getSimpleName() + ": " + key + "=" + value);
+            }
+            passedMap.put(key, target);
+        }
+    }
+
+    protected String buildPassThroughEffectiveExp(Map<String, Object> passedMap) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("Effective connector properties:");
+        passedMap.forEach((key, target) -> {
+            final String name = extractPassThroughName(key);
+            final Object effective = IntrospectionUtils.getProperty(target, name); // null if no getter
+            sb.append("\n ").append(key).append(" = ").append(effective != null ? effective : "(unknown)");
+        });
+        return sb.toString();
+    }
+
+    protected String extractPassThroughName(String key) { // e.g. tomcat.protocol.socket.rxBufSize to socket.rxBufSize
+        return key.substring(key.indexOf('.', "tomcat.".length()) + 1);
+    }
+
+    // -----------------------------------------------------
+    //                                                HTTP/2
+    //                                                ------
+    protected void setupHttp2UpgradeIfNeeds(BootLogger logger, Properties props, Connector connector) {
+        final String enabled = props.getProperty(HTTP2_PREFIX + ENABLED_NAME);
+        if (enabled == null || !isStringBooleanTrue(enabled)) {
+            return;
+        }
+        logger.info(" " + HTTP2_PREFIX + ENABLED_NAME + " = " + enabled);
+        // h2c (upgrade from HTTP/1.1, or prior knowledge) on plain connector, ALPN if the connector has TLS
+        final Http2Protocol http2Protocol = new Http2Protocol();
+        final Map<String, Object> passedMap = new LinkedHashMap<String, Object>(); // key to target
+        doSetupPassThroughConfig(logger, props, HTTP2_PREFIX, ENABLED_NAME, http2Protocol, passedMap); // e.g. maxConcurrentStreams
+        connector.addUpgradeProtocol(http2Protocol);
+        logPassThroughEffectiveAfterStart(logger, connector, passedMap);
+        logger.info("...Adding HTTP/2 upgrade protocol: maxConcurrentStreams=" + http2Protocol.getMaxConcurrentStreams()
+                + ", maxConcurrentStreamExecution=" + http2Protocol.getMaxConcurrentStreamExecution() + ", initialWindowSize="
+                + http2Protocol.getInitialWindowSize() + ", overheadDataThreshold=" + http2Protocol.getOverheadDataThreshold());
+    }
+
+    // -----------------------------------------------------
+    //                                      Request Executor
+    //                                      ----------------
+    protected void setupRequestExecutorIfNeeds(BootLogger logger, Tomcat server, Properties props) {
+        final String virtualThreads = props.getProperty(EXECUTOR_PREFIX + "virtualThreads");
+        if (virtualThreads != null && isStringBooleanTrue(virtualThreads)) {
+            logger.info(" " + EXECUTOR_PREFIX + "virtualThreads = " + virtualThreads);
+            if (reflectPropertyVirtualThreads(logger, server)) {
+                return; // pool settings are unneeded
+            }
+        }
+        final List<String> poolKeyList = props.stringPropertyNames().stream().filter(key -> {
+            return key.startsWith(EXECUTOR_PREFIX) && !key.equals(EXECUTOR_PREFIX + "virtualThreads");
+        }).filter(key -> !props.getProperty(key).trim().isEmpty()).sorted().collect(Collectors.toList());
+        if (!poolKeyList.isEmpty()) {
+            reflectPropertyThreadPool(logger, server, props, poolKeyList);
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                       Virtual Threads
+    //                                       ---------------
+    protected boolean reflectPropertyVirtualThreads(BootLogger logger, Tomcat server) { // true if used
+        if (!isVirtualThreadsSupported()) { // e.g. Java8, Java17
+            final String javaVersion = System.getProperty("java.version");
+            logger.info("*Cannot use virtual threads on this JVM (needs Java21 or later): java.version=" + javaVersion
+                    + " so platform threads are used as usual");
+            return false;
+        }
+        // executor of Tomcat (Java8 compatible) uses virtual threads via reflection (JreCompat)
+        final StandardVirtualThreadExecutor executor = new StandardVirtualThreadExecutor();
+        executor.setName(VIRTUAL_THREAD_EXECUTOR_NAME);
+        executor.setNamePrefix("tomcat-virtual-exec-");
+        server.getService().addExecutor(executor); // lifecycle is managed by service
+        final int attachedCount = attachExecutorToConnectors(server, executor);
+        logger.info("...Using virtual threads for requests: executor=" + executor.getName() + ", connectors=" + attachedCount);
+        return true;
+    }
+
+    protected boolean isVirtualThreadsSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual"); // since Java21
+            return true;
+        } catch (NoSuchMethodException | SecurityException ignored) {
+            return false;
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                           Thread Pool
+    //                                           -----------
+    protected void reflectPropertyThreadPool(BootLogger logger, Tomcat server, Properties props, List<String> poolKeyList) {
+        final StandardThreadExecutor executor = new StandardThreadExecutor();
+        executor.setName(THREAD_POOL_EXECUTOR_NAME); // may be overridden by config
+        for (String key : poolKeyList) {
+            final String keyword = key.substring(EXECUTOR_PREFIX.length());
+            final String value = props.getProperty(key).trim();
+            logger.info(" " + key + " = " + value);
+            reflectThreadPoolProperty(logger, executor, keyword, value);
+        }
+        adjustThreadPoolSpareThreads(logger, executor);
+        server.getService().addExecutor(executor); // lifecycle is managed by service
+        final int attachedCount = attachExecutorToConnectors(server, executor);
+        logger.info("...Using shared thread pool for requests: " + buildThreadPoolExp(executor) + ", connectors=" + attachedCount);
+        if (props.getProperty("tomcat.maxThreads") != null) { // connector's own pool is not used
+            logger.info("*The property 'tomcat.maxThreads' is ignored by the executor, use " + EXECUTOR_PREFIX + "maxThreads");
+        }
+    }
+
+    protected void reflectThreadPoolProperty(BootLogger logger, StandardThreadExecutor executor, String keyword, String value) {
+        final String property = EXECUTOR_PREFIX + keyword + "(config)";
+        if ("name".equals(keyword)) {
+            executor.setName(value);
+        } else if ("namePrefix".equals(keyword)) {
+            executor.setNamePrefix(value);
+        } else if ("maxThreads".equals(keyword)) {
+            executor.setMaxThreads(toInt(property, value));
+        } else if ("minSpareThreads".equals(keyword)) {
+            executor.setMinSpareThreads(toInt(property, value));
+        } else if ("maxQueueSize".equals(keyword)) { // bounded queue, rejected if full
+            executor.setMaxQueueSize(toInt(property, value));
+        } else if ("maxIdleTime".equals(keyword)) {
+            executor.setMaxIdleTime(toInt(property, value));
+        } else if ("threadPriority".equals(keyword)) {
+            executor.setThreadPriority(toInt(property, value));
+        } else if ("threadRenewalDelay".equals(keyword)) {
+            executor.setThreadRenewalDelay(toInt(property, value));
+        } else if ("daemon".equals(keyword)) {
+            executor.setDaemon(isStringBooleanTrue(value));
+        } else if ("prestartminSpareThreads".equals(keyword)) {
+            // no such property in executor of this Tomcat, it prestarts core threads at start (confirmed by unit test)
+            // so only true is accepted as no-op, and false cannot be reflected so fails as unknown property
+            if (!isStringBooleanTrue(value)) {
+                throw new IllegalStateException("Unsupported executor property (minSpareThreads are always prestarted): "
+                        + EXECUTOR_PREFIX + keyword + "=" + value);
+            }
+        } else {
+            throw new IllegalStateException("Unknown executor property: " + EXECUTOR_PREFIX + keyword + "=" + value);
+        }
+    }
+
+    protected void adjustThreadPoolSpareThreads(BootLogger logger, StandardThreadExecutor executor) {
+        // pool cannot start if core size is greater than max size, e.g. only maxThreads=10 (default minSpareThreads=25)
+        if (executor.getMinSpareThreads() > executor.getMaxThreads()) {
+            logger.info("*Adjusted minSpareThreads to maxThreads: " + executor.getMinSpareThreads() + " to " + executor.getMaxThreads());
+            executor.setMinSpareThreads(executor.getMaxThreads());
+        }
+    }
+
+    protected String buildThreadPoolExp(StandardThreadExecutor executor) {
+        return "name=" + executor.getName() + ", namePrefix=" + executor.getNamePrefix() + ", maxThreads=" + executor.getMaxThreads()
+                + ", minSpareThreads=" + executor.getMinSpareThreads() + ", maxQueueSize=" + executor.getMaxQueueSize()
+                + ", maxIdleTime=" + executor.getMaxIdleTime() + ", threadPriority=" + executor.getThreadPriority() + ", daemon="
+                + executor.isDaemon();
+    }
+
+    protected int attachExecutorToConnectors(Tomcat server, Executor executor) { // returns count of connectors
+        final Connector[] connectors = server.getService().findConnectors();
+        for (Connector connector : connectors) { // basically one, default connector
+            connector.getProtocolHandler().setExecutor(executor);
+        }
+        return connectors.length;
+    }
+
+    // -----------------------------------------------------
+    //                                   Concurrency Limiter
+    //                                   -------------------
+    protected void setupConcurrencyLimiterIfNeeds(BootLogger logger, Tomcat server, Connector connector, Properties props) {
+        final String enabled = props.getProperty(LIMITER_PREFIX + ENABLED_NAME);
+        if (enabled == null || !isStringBooleanTrue(enabled)) {
+            return;
+        }
+        logger.info(" " + LIMITER_PREFIX + ENABLED_NAME + " = " + enabled);
+        final ConcurrencyLimitValve valve = new ConcurrencyLimitValve(connector); // not limit e.g. admin connector
+        doSetupLimiterConfig(logger, props, "initialLimit", value -> valve.setInitialLimit(toInt(LIMITER_PREFIX + "initialLimit(config)", value)));
+        doSetupLimiterConfig(logger, props, "minLimit", value -> valve.setMinLimit(toInt(LIMITER_PREFIX + "minLimit(config)", value)));
+        doSetupLimiterConfig(logger, props, "maxLimit", value -> valve.setMaxLimit(toInt(LIMITER_PREFIX + "maxLimit(config)", value)));
+        doSetupLimiterConfig(logger, props, "latencyThresholdMillis", value -> {
+            valve.setLatencyThresholdMillis(toInt(LIMITER_PREFIX + "latencyThresholdMillis(config)", value));
+        });
+        doSetupLimiterConfig(logger, props, "backoffRatio", value -> { // e.g. 0.9
+            try {
+                valve.setBackoffRatio(Double.parseDouble(value));
+            } catch (NumberFormatException e) {
+                throw new IllegalStateException("Failed to parse the property '" + LIMITER_PREFIX + "backoffRatio' as double: " + value, e);
+            }
+        });
+        if (valve.getMinLimit() > valve.getMaxLimit() || valve.getLimit() < valve.getMinLimit() || valve.getLimit() > valve.getMaxLimit()) {
+            throw new IllegalStateException("The limits should be min <= initial <= max: min=" + valve.getMinLimit() + ", initial="
+                    + valve.getLimit() + ", max=" + valve.getMaxLimit());
+        }
+        server.getEngine().getPipeline().addValve(valve); // before queuing in context
+        logger.info("...Using concurrency limiter: limit=" + valve.getLimit() + " (" + valve.getMinLimit() + " to " + valve.getMaxLimit()
+                + "), latencyThreshold=" + valve.getLatencyThresholdMillis() + "ms, backoffRatio=" + valve.getBackoffRatio());
+    }
+
+    protected void doSetupLimiterConfig(BootLogger logger, Properties props, String keyword, Consumer<String> reflector) {
+        doSetupServerConfig(logger, props, LIMITER_PREFIX.substring("tomcat.".length()) + keyword, reflector);
+    }
+
+    // ===================================================================================
+    //                                                                     Admin Connector
+    //                                                                     ===============
+    public void setupAdminConnectorIfNeeds(BootLogger logger, Tomcat server, Properties props, List<String> readConfigList) {
+        if (props == null) {
+            return;
+        }
+        final String port = props.getProperty(ADMIN_PREFIX + "port");
+        if (port == null || port.trim().isEmpty()) {
+            return;
+        }
+        logger.info("...Adding admin connector: config=" + readConfigList);
+        final Connector mainConnector = server.getConnector(); // created here if not yet
+        final Connector adminConnector = new Connector(mainConnector.getProtocolHandlerClassName()); // same protocol
+        adminConnector.setPort(toInt(ADMIN_PREFIX + "port(config)", port.trim()));
+        adminConnector.setURIEncoding(mainConnector.getURIEncoding());
+        doSetupAdminConfig(logger, props, "bindAddress", value -> adminConnector.setProperty("address", value));
+
+        // isolated small thread pool not to be influenced by saturation of user traffic
+        final StandardThreadExecutor executor = new StandardThreadExecutor();
+        executor.setName(ADMIN_EXECUTOR_NAME);
+        executor.setNamePrefix("tomcat-admin-exec-");
+        executor.setMaxThreads(ADMIN_DEFAULT_MAX_THREADS);
+        executor.setMinSpareThreads(1);
+        doSetupAdminConfig(logger, props, "maxThreads", value -> executor.setMaxThreads(toInt(ADMIN_PREFIX + "maxThreads(config)", value)));
+        doSetupAdminConfig(logger, props, "minSpareThreads", value -> {
+            executor.setMinSpareThreads(toInt(ADMIN_PREFIX + "minSpareThreads(config)", value));
+        });
+        server.getService().addExecutor(executor); // lifecycle is managed by service
+        adminConnector.getProtocolHandler().setExecutor(executor);
+        server.getService().addConnector(adminConnector); // after main connector
+
+        final List<String> allowedPathList = new ArrayList<String>();
+        doSetupAdminConfig(logger, props, "allowedPaths", value -> { // e.g. /fortress/health,/fortress/metrics
+            Stream.of(value.split(",")).map(path -> path.trim()).filter(path -> !path.isEmpty()).forEach(path -> {
+                allowedPathList.add(path);
+            });
+        });
+        if (!allowedPathList.isEmpty()) {
+            server.getEngine().getPipeline().addValve(new AdminPathRestrictionValve(adminConnector, allowedPathList));
+        }
+        logger.info("...Using admin connector: port=" + adminConnector.getPort() + ", executor=" + executor.getName() + "(maxThreads="
+                + executor.getMaxThreads() + "), allowedPaths=" + (allowedPathList.isEmpty() ? "(all)" : allowedPathList));
+    }
+
+    protected void doSetupAdminConfig(BootLogger logger, Properties props, String keyword, Consumer<String> reflector) {
+        doSetupServerConfig(logger, props, ADMIN_PREFIX.substring("tomcat.".length()) + keyword, reflector);
+    }
+
     // ===================================================================================
     //                                                                        Assist Logic
     //                                                                        ============
@@ -192,4 +777,28 @@ public class BootPropsTranslator {
             throw new IllegalStateException("Failed to parse the value as int: property=" + property + " value=" + value);
         }
     }
+
+    protected long toByteSize(String property, String value) { // with optional unit: KB, MB, GB
+        final String upper = value.trim().toUpperCase();
+        final long unit;
+        final String number;
+        if (upper.endsWith("GB")) {
+            unit = 1024L * 1024L * 1024L;
+            number = upper.substring(0, upper.length() - 2);
+        } else if (upper.endsWith("MB")) {
+            unit = 1024L * 1024L;
+            number = upper.substring(0, upper.length() - 2);
+        } else if (upper.endsWith("KB")) {
+            unit = 1024L;
+            number = upper.substring(0, upper.length() - 2);
+        } else {
+            unit = 1L;
+            number = upper;
+        }
+        try {
+            return Math.multiplyExact(Long.parseLong(number.trim()), unit);
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalStateException("Failed to parse the value as byte size: property=" + property + " value=" + value);
+        }
+    }
 }
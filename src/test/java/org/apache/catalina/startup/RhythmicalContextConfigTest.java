@@ -0,0 +1,348 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.apache.catalina.startup;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import javax.servlet.ServletContainerInitializer;
+import javax.servlet.ServletContext;
+import javax.servlet.annotation.WebServlet;
+
+import org.apache.catalina.LifecycleEvent;
+import org.apache.catalina.core.StandardContext;
+import org.apache.jasper.servlet.JasperInitializer;
+import org.dbflute.tomcat.core.RhythmicalHandlingDef.AnnotationHandling;
+import org.dbflute.tomcat.core.RhythmicalHandlingDef.MetaInfoResourceHandling;
+import org.dbflute.tomcat.core.RhythmicalHandlingDef.TldHandling;
+import org.dbflute.tomcat.core.RhythmicalHandlingDef.WebFragmentsHandling;
+import org.dbflute.tomcat.core.profile.BootProfiler;
+import org.dbflute.tomcat.core.profile.BootProfiler.ReportFormat;
+import org.dbflute.tomcat.core.profile.ProfilingJarScanner;
+import org.dbflute.tomcat.core.scan.IdentifiedPackageSelector;
+import org.dbflute.tomcat.core.tld.RhythmicalJasperInitializer;
+import org.dbflute.utflute.core.PlainTestCase;
+
+// same package as the config to call protected methods
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class RhythmicalContextConfigTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                          Scan Cache
+    //                                                                          ==========
+    public void test_buildAnnotationScanSignature_basic() {
+        // ## Arrange ##
+        final RhythmicalContextConfig config = createConfig(AnnotationHandling.CACHED, null);
+        config.typeInitializerMap.put(WebServlet.class, new HashSet<ServletContainerInitializer>());
+        config.typeInitializerMap.put(Runnable.class, new HashSet<ServletContainerInitializer>());
+
+        // ## Act ##
+        final String signature = config.buildAnnotationScanSignature(false);
+
+        // ## Assert ##
+        log(signature);
+        assertContains(signature, ";handlesTypesOnly=false");
+        assertContains(signature, ";handlesTypes=java.lang.Runnable,javax.servlet.annotation.WebServlet"); // sorted
+        assertContains(signature, ";packages=all");
+    }
+
+    public void test_buildAnnotationScanSignature_changedByCondition() {
+        // ## Arrange ##
+        final RhythmicalContextConfig config = createConfig(AnnotationHandling.CACHED, null);
+        final String plain = config.buildAnnotationScanSignature(false);
+
+        // ## Act ##
+        // ## Assert ##
+        assertFalse(plain.equals(config.buildAnnotationScanSignature(true)));
+        config.typeInitializerMap.put(WebServlet.class, new HashSet<ServletContainerInitializer>());
+        assertFalse(plain.equals(config.buildAnnotationScanSignature(false)));
+        final RhythmicalContextConfig selected = createConfig(AnnotationHandling.CACHED, pkg -> pkg.startsWith("org.docksidestage"));
+        assertContains(selected.buildAnnotationScanSignature(false), ";packages=(unidentified)");
+    }
+
+    public void test_buildAnnotationScanSignature_identifiedSelector() {
+        // ## Arrange ##
+        final RhythmicalContextConfig narrow = createConfig(AnnotationHandling.CACHED,
+                new IdentifiedPackageSelector("web-v1", pkg -> pkg.startsWith("org.docksidestage.app.web")));
+        final RhythmicalContextConfig wide = createConfig(AnnotationHandling.CACHED,
+                new IdentifiedPackageSelector("web-v2", pkg -> pkg.startsWith("org.docksidestage")));
+
+        // ## Act ##
+        final String narrowSignature = narrow.buildAnnotationScanSignature(false);
+        final String wideSignature = wide.buildAnnotationScanSignature(false);
+
+        // ## Assert ##
+        log(narrowSignature, wideSignature);
+        assertContains(narrowSignature, ";packages=id:web-v1");
+        assertFalse(narrowSignature.equals(wideSignature)); // so old results are discarded
+    }
+
+    public void test_isAnnotationScanCacheEnabled_selector() {
+        // ## Arrange ##
+        final RhythmicalContextConfig plain = createConfig(AnnotationHandling.CACHED, null);
+        final RhythmicalContextConfig lambda = createConfig(AnnotationHandling.CACHED, pkg -> pkg.startsWith("org.docksidestage"));
+        final RhythmicalContextConfig identified = createConfig(AnnotationHandling.CACHED,
+                new IdentifiedPackageSelector("web-v1", pkg -> pkg.startsWith("org.docksidestage")));
+        final RhythmicalContextConfig detect = createConfig(AnnotationHandling.DETECT, null);
+        for (RhythmicalContextConfig config : Arrays.asList(plain, lambda, identified, detect)) {
+            config.context = new StandardContext();
+        }
+
+        // ## Act ##
+        // ## Assert ##
+        assertTrue(plain.isAnnotationScanCacheEnabled());
+        assertFalse(lambda.isAnnotationScanCacheEnabled()); // cannot identify lambda
+        assertTrue(identified.isAnnotationScanCacheEnabled());
+        assertFalse(detect.isAnnotationScanCacheEnabled());
+    }
+
+    // ===================================================================================
+    //                                                                    Package Selector
+    //                                                                    ================
+    public void test_isAnnotationPackageSelected_selector() {
+        // ## Arrange ##
+        final List<String> packageList = new ArrayList<String>();
+        final RhythmicalContextConfig config = createConfig(AnnotationHandling.DETECT, pkg -> {
+            packageList.add(pkg);
+            return pkg.startsWith("org.docksidestage.app");
+        });
+
+        // ## Act ##
+        // ## Assert ##
+        assertTrue(config.isAnnotationPackageSelected("org/docksidestage/app/web/SeaServlet.class"));
+        assertTrue(config.isAnnotationPackageSelected("org/docksidestage/app/LandFilter$Nested.class"));
+        assertFalse(config.isAnnotationPackageSelected("org/docksidestage/SeaServlet.class"));
+        assertFalse(config.isAnnotationPackageSelected("DefaultPackageServlet.class"));
+        assertEquals(Arrays.asList("org.docksidestage.app.web", "org.docksidestage.app", "org.docksidestage", ""), packageList);
+    }
+
+    public void test_isAnnotationPackageSelected_noSelector() {
+        // ## Arrange ##
+        final RhythmicalContextConfig config = createConfig(AnnotationHandling.DETECT, null);
+
+        // ## Act ##
+        // ## Assert ##
+        assertTrue(config.isAnnotationPackageSelected("org/docksidestage/SeaServlet.class"));
+        assertTrue(config.isAnnotationPackageSelected("DefaultPackageServlet.class"));
+    }
+
+    // ===================================================================================
+    //                                                                Initializer Selector
+    //                                                                ====================
+    public void test_removeUnselectedInitializer_handlesTypesRemoved() {
+        // ## Arrange ##
+        final RhythmicalContextConfig config = createConfig(AnnotationHandling.CACHED, null, className -> {
+            return className.endsWith("SeaInitializer");
+        });
+        final ServletContainerInitializer sea = new SeaInitializer();
+        final ServletContainerInitializer land = new LandInitializer();
+        config.initializerClassMap.put(sea, new HashSet<Class<?>>());
+        config.initializerClassMap.put(land, new HashSet<Class<?>>());
+        config.typeInitializerMap.put(Runnable.class, new HashSet<ServletContainerInitializer>(Arrays.asList(sea, land))); // shared
+        config.typeInitializerMap.put(WebServlet.class, new HashSet<ServletContainerInitializer>(Arrays.asList(land))); // land only
+        final String beforeSignature = config.buildAnnotationScanSignature(false);
+
+        // ## Act ##
+        config.removeUnselectedInitializer();
+
+        // ## Assert ##
+        assertEquals(new HashSet<Object>(Arrays.asList(sea)), config.initializerClassMap.keySet());
+        assertEquals(new HashSet<Object>(Arrays.asList(Runnable.class)), config.typeInitializerMap.keySet());
+        assertEquals(new HashSet<Object>(Arrays.asList(sea)), config.typeInitializerMap.get(Runnable.class));
+        assertFalse(config.handlesTypesAnnotations); // no more scanning for land's annotation
+        assertTrue(config.handlesTypesNonAnnotations);
+        final String afterSignature = config.buildAnnotationScanSignature(false); // built from typeInitializerMap
+        log(beforeSignature, afterSignature);
+        assertContains(afterSignature, ";handlesTypes=java.lang.Runnable;");
+        assertFalse(beforeSignature.equals(afterSignature)); // so cache of other selection is discarded
+    }
+
+    public void test_removeUnselectedInitializer_allSelected() {
+        // ## Arrange ##
+        final RhythmicalContextConfig config = createConfig(AnnotationHandling.DETECT, null, className -> true);
+        final ServletContainerInitializer sea = new SeaInitializer();
+        config.initializerClassMap.put(sea, new HashSet<Class<?>>());
+        config.typeInitializerMap.put(WebServlet.class, new HashSet<ServletContainerInitializer>(Arrays.asList(sea)));
+        config.handlesTypesAnnotations = true;
+
+        // ## Act ##
+        config.removeUnselectedInitializer();
+
+        // ## Assert ##
+        assertEquals(1, config.initializerClassMap.size());
+        assertEquals(1, config.typeInitializerMap.size());
+        assertTrue(config.handlesTypesAnnotations);
+    }
+
+    // ===================================================================================
+    //                                                                     TLD Parse Cache
+    //                                                                     ===============
+    public void test_switchToRhythmicalJasperInitializer_replacedInOrder() {
+        // ## Arrange ##
+        final RhythmicalContextConfig config = createTldConfig(TldHandling.CACHED);
+        config.context = new StandardContext();
+        final ServletContainerInitializer sea = new SeaInitializer();
+        final ServletContainerInitializer jasper = new JasperInitializer();
+        final ServletContainerInitializer land = new LandInitializer();
+        final Set<Class<?>> jasperClasses = new HashSet<Class<?>>();
+        config.initializerClassMap.put(sea, new HashSet<Class<?>>());
+        config.initializerClassMap.put(jasper, jasperClasses);
+        config.initializerClassMap.put(land, new HashSet<Class<?>>());
+
+        // ## Act ##
+        config.switchToRhythmicalJasperInitializer();
+
+        // ## Assert ##
+        final List<ServletContainerInitializer> initializerList = new ArrayList<>(config.initializerClassMap.keySet());
+        assertEquals(3, initializerList.size());
+        assertSame(sea, initializerList.get(0));
+        assertEquals(RhythmicalJasperInitializer.class, initializerList.get(1).getClass()); // same position as jasper's one
+        assertSame(land, initializerList.get(2));
+        assertSame(jasperClasses, config.initializerClassMap.get(initializerList.get(1)));
+    }
+
+    public void test_switchToRhythmicalJasperInitializer_parallelWithoutCache() {
+        // ## Arrange ##
+        final List<Object> argList = new ArrayList<Object>();
+        final RhythmicalContextConfig config = new RhythmicalContextConfig(AnnotationHandling.NONE, null // annotation
+                , MetaInfoResourceHandling.NONE // meta
+                , TldHandling.DETECT, null // taglib files
+                , WebFragmentsHandling.NONE, null // web fragments
+                , 4 // jar parsing
+                , null // initializers
+                , null // profiler
+        ) {
+            @Override
+            protected ServletContainerInitializer newRhythmicalJasperInitializer(File parseCacheFile, int parsingParallelism) {
+                argList.add(parseCacheFile);
+                argList.add(parsingParallelism);
+                return super.newRhythmicalJasperInitializer(parseCacheFile, parsingParallelism);
+            }
+        };
+        config.context = new StandardContext();
+        config.initializerClassMap.put(new JasperInitializer(), new HashSet<Class<?>>());
+
+        // ## Act ##
+        config.switchToRhythmicalJasperInitializer();
+
+        // ## Assert ##
+        assertEquals(RhythmicalJasperInitializer.class, config.initializerClassMap.keySet().iterator().next().getClass());
+        assertEquals(Arrays.asList(null, 4), argList); // no cache file because of detect only
+    }
+
+    public void test_switchToRhythmicalJasperInitializer_noJasper() {
+        // ## Arrange ##
+        final RhythmicalContextConfig config = createTldConfig(TldHandling.CACHED);
+        final ServletContainerInitializer sea = new SeaInitializer();
+        config.initializerClassMap.put(sea, new HashSet<Class<?>>());
+
+        // ## Act ##
+        config.switchToRhythmicalJasperInitializer(); // e.g. removed by selector
+
+        // ## Assert ##
+        assertEquals(new HashSet<Object>(Arrays.asList(sea)), config.initializerClassMap.keySet());
+    }
+
+    // ===================================================================================
+    //                                                                        Boot Profile
+    //                                                                        ============
+    public void test_lifecycleEvent_profiled() {
+        // ## Arrange ##
+        final BootProfiler profiler = new BootProfiler(ReportFormat.TEXT, 10);
+        final RhythmicalContextConfig config = createConfig(AnnotationHandling.NONE, null, null, profiler);
+        final StandardContext context = new StandardContext();
+
+        // ## Act ##
+        config.lifecycleEvent(new LifecycleEvent(context, "sea", null)); // unknown type for super
+        config.lifecycleEvent(new LifecycleEvent(context, "land", null));
+
+        // ## Assert ##
+        log(profiler.buildTextReport());
+        assertTrue(context.getJarScanner() instanceof ProfilingJarScanner);
+        final String report = profiler.buildTextReport();
+        assertContains(report, " lifecycle: count=2");
+        assertTrue(report.indexOf("  sea wall=") < report.indexOf("  land wall=")); // in event order
+    }
+
+    public void test_lifecycleEvent_notProfiled() {
+        // ## Arrange ##
+        final RhythmicalContextConfig config = createConfig(AnnotationHandling.NONE, null, null, null);
+        final StandardContext context = new StandardContext();
+
+        // ## Act ##
+        config.lifecycleEvent(new LifecycleEvent(context, "sea", null));
+
+        // ## Assert ##
+        assertFalse(config.isJarScannerAdjustmentEnabled());
+        assertFalse(context.getJarScanner() instanceof ProfilingJarScanner); // no-op
+        assertFalse(context.getJarScanner().getJarScanFilter() instanceof RhythmicalContextConfig.SelectableJarScanFilter);
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected RhythmicalContextConfig createConfig(AnnotationHandling annotationHandling, Predicate<String> packageSelector) {
+        return createConfig(annotationHandling, packageSelector, null);
+    }
+
+    protected RhythmicalContextConfig createConfig(AnnotationHandling annotationHandling, Predicate<String> packageSelector,
+            Predicate<String> initializerSelector) {
+        return createConfig(annotationHandling, packageSelector, initializerSelector, null);
+    }
+
+    protected RhythmicalContextConfig createConfig(AnnotationHandling annotationHandling, Predicate<String> packageSelector,
+            Predicate<String> initializerSelector, BootProfiler bootProfiler) {
+        return createConfig(annotationHandling, packageSelector, TldHandling.NONE, 0, initializerSelector, bootProfiler);
+    }
+
+    protected RhythmicalContextConfig createTldConfig(TldHandling tldHandling) {
+        return createConfig(AnnotationHandling.NONE, null, tldHandling, 0, null, null);
+    }
+
+    protected RhythmicalContextConfig createConfig(AnnotationHandling annotationHandling, Predicate<String> packageSelector,
+            TldHandling tldHandling, int jarParsingParallelism, Predicate<String> initializerSelector, BootProfiler bootProfiler) {
+        return new RhythmicalContextConfig(annotationHandling, packageSelector // annotation
+                , MetaInfoResourceHandling.NONE // meta
+                , tldHandling, null // taglib files
+                , WebFragmentsHandling.NONE, null // web fragments
+                , jarParsingParallelism // jar parsing
+                , initializerSelector // initializers
+                , bootProfiler // profiler
+        );
+    }
+
+    protected static class SeaInitializer implements ServletContainerInitializer {
+
+        @Override
+        public void onStartup(Set<Class<?>> classes, ServletContext ctx) {
+        }
+    }
+
+    protected static class LandInitializer implements ServletContainerInitializer {
+
+        @Override
+        public void onStartup(Set<Class<?>> classes, ServletContext ctx) {
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat;
+
+import java.io.File;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.http11.Http11Nio2Protocol;
+import org.dbflute.tomcat.core.profile.BootProfiler.ProfileStopwatch;
+import org.dbflute.tomcat.logging.BootLogger;
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class TomcatBootTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                      Prepare Server
+    //                                                                      ==============
+    public void test_prepareServer_protocolWithBaseDir() throws Exception {
+        // ## Arrange ##
+        final File baseDir = Files.createTempDirectory("tomcatboot").toFile();
+        try {
+            final TomcatBoot boot = new TomcatBoot(0, "/fortress") {
+                @Override
+                protected void setupWebappContext() { // no webapp in unit test
+                }
+            };
+            boot.atBaseDir(baseDir.getAbsolutePath());
+            boot.configProps = new Properties();
+            boot.configProps.setProperty("tomcat.protocol", "nio2");
+            boot.bootLogger = new BootLogger(null, null, boot.configProps);
+
+            // ## Act ##
+            boot.prepareServer();
+
+            // ## Assert ##
+            assertEquals(Http11Nio2Protocol.class.getName(), boot.server.getConnector().getProtocolHandlerClassName());
+            assertEquals(baseDir.getCanonicalFile(), boot.server.getServer().getCatalinaBase().getCanonicalFile()); // not tomcat.(port)
+        } finally {
+            deleteRecursively(baseDir);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                             Warm-up
+    //                                                                             =======
+    public void test_buildWarmUpBaseUrl_allInterfaces() {
+        // ## Arrange ##
+        final TomcatBoot boot = new TomcatBoot(8152, "/fortress");
+        final Connector connector = new Connector("HTTP/1.1");
+
+        // ## Act ##
+        final String baseUrl = boot.buildWarmUpBaseUrl(connector);
+
+        // ## Assert ##
+        assertEquals("http://localhost:8152/fortress", baseUrl);
+    }
+
+    public void test_buildWarmUpBaseUrl_specificAddress() {
+        // ## Arrange ##
+        final TomcatBoot boot = new TomcatBoot(8152, "/fortress");
+        final Connector connector = new Connector("HTTP/1.1");
+        connector.setScheme("https");
+        connector.setProperty("address", "127.0.0.2");
+
+        // ## Act ##
+        final String baseUrl = boot.buildWarmUpBaseUrl(connector);
+
+        // ## Assert ##
+        assertEquals("https://127.0.0.2:8152/fortress", baseUrl);
+    }
+
+    public void test_deriveWarmUpHost_basic() throws Exception {
+        // ## Arrange ##
+        final TomcatBoot boot = new TomcatBoot(8152, "/fortress");
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals("localhost", boot.deriveWarmUpHost(null));
+        assertEquals("localhost", boot.deriveWarmUpHost(InetAddress.getByName("0.0.0.0")));
+        assertEquals("localhost", boot.deriveWarmUpHost(InetAddress.getByName("::")));
+        assertEquals("192.168.0.10", boot.deriveWarmUpHost(InetAddress.getByName("192.168.0.10")));
+        assertEquals("[0:0:0:0:0:0:0:1]", boot.deriveWarmUpHost(InetAddress.getByName("::1")));
+    }
+
+    // ===================================================================================
+    //                                                                  Unix Domain Socket
+    //                                                                  ==================
+    public void test_buildUnixDomainSocketUri_roundTrip() throws Exception {
+        // ## Arrange ##
+        final TomcatBoot boot = new TomcatBoot(8152, "/fortress");
+
+        // ## Act ##
+        // ## Assert ##
+        for (String socketPath : Arrays.asList("/var/run/sea.sock", "/tmp/land piari+bonvo.sock", "/tmp/海/dstore%.sock")) {
+            final String uriExp = boot.buildUnixDomainSocketUri("http", socketPath);
+            log(uriExp);
+            final URI uri = new URI(uriExp);
+            assertEquals("http+unix", uri.getScheme());
+            assertEquals(socketPath, uri.getAuthority()); // decoded by URI
+            assertEquals(socketPath, URLDecoder.decode(uri.getRawAuthority(), "UTF-8")); // also by form decoding
+            assertEquals("/fortress", uri.getPath());
+        }
+        assertEquals("https+unix://%2Fvar%2Frun%2Fsea.sock/fortress", boot.buildUnixDomainSocketUri("https", "/var/run/sea.sock"));
+    }
+
+    // ===================================================================================
+    //                                                                        Boot Profile
+    //                                                                        ============
+    public void test_startProfile_disabled() {
+        // ## Arrange ##
+        final TomcatBoot boot = new TomcatBoot(8152, "/fortress");
+
+        // ## Act ##
+        final ProfileStopwatch stopwatch = boot.startProfile("prepareServer");
+        boot.stopProfile(stopwatch); // no exception
+
+        // ## Assert ##
+        assertNull(stopwatch);
+        assertNull(boot.bootProfiler);
+    }
+
+    public void test_startProfile_enabled() {
+        // ## Arrange ##
+        final TomcatBoot boot = new TomcatBoot(8152, "/fortress").useBootProfiler();
+
+        // ## Act ##
+        boot.stopProfile(boot.startProfile("prepareServer"));
+        boot.stopProfile(boot.startProfile("startServer"));
+
+        // ## Assert ##
+        final String report = boot.bootProfiler.buildReport();
+        log(report);
+        assertContains(report, " phase: count=2");
+        assertTrue(report.indexOf("  prepareServer wall=") < report.indexOf("  startServer wall="));
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected void deleteRecursively(File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.catalina.Context;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.dbflute.tomcat.logging.BootLogger;
+import org.dbflute.tomcat.props.BootPropsTranslator;
+
+/**
+ * The minimal harness to compare connector protocols selected by tomcat.protocol (nio, nio2) on the same machine. <br>
+ * It is not a unit test (not run by the build), run the main method with test class path.
+ * <pre>
+ * e.g. mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.dbflute.tomcat.bench.ProtocolComparisonHarness
+ *  args: [clients] [seconds] [bodyBytes], default 16 10 4096
+ * </pre>
+ * The result is only a rough guide, compare on the actual server with the actual application before switching.
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class ProtocolComparisonHarness {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final List<String> PROTOCOL_LIST = Arrays.asList("nio", "nio2"); // values of tomcat.protocol
+    protected static final int WARM_UP_SECONDS = 3;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int clients;
+    protected final int seconds;
+    protected final int bodyBytes;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public ProtocolComparisonHarness(int clients, int seconds, int bodyBytes) {
+        this.clients = clients;
+        this.seconds = seconds;
+        this.bodyBytes = bodyBytes;
+    }
+
+    // ===================================================================================
+    //                                                                                Main
+    //                                                                                ====
+    public static void main(String[] args) throws Exception {
+        final int clients = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        final int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        final int bodyBytes = args.length > 2 ? Integer.parseInt(args[2]) : 4096;
+        final ProtocolComparisonHarness harness = new ProtocolComparisonHarness(clients, seconds, bodyBytes);
+        final List<String> resultList = new ArrayList<String>();
+        for (String protocol : PROTOCOL_LIST) {
+            resultList.add(harness.measure(protocol));
+        }
+        System.out.println("clients=" + clients + ", seconds=" + seconds + ", bodyBytes=" + bodyBytes);
+        resultList.forEach(result -> System.out.println(result));
+    }
+
+    // ===================================================================================
+    //                                                                             Measure
+    //                                                                             =======
+    public String measure(String protocol) throws Exception {
+        final File baseDir = Files.createTempDirectory("protocol-" + protocol).toFile();
+        final Tomcat server = startServer(protocol, baseDir);
+        try {
+            final String url = "http://localhost:" + server.getConnector().getLocalPort() + "/bench";
+            drive(url, WARM_UP_SECONDS); // JIT and pools
+            final long[] latencies = drive(url, seconds);
+            Arrays.sort(latencies);
+            final double throughput = latencies.length / (double) seconds;
+            return String.format("%-5s requests=%d, throughput=%.1f/s, p50=%.3fms, p99=%.3fms, max=%.3fms", protocol, latencies.length,
+                    throughput, percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99), percentileMillis(latencies, 1.0));
+        } finally {
+            server.stop();
+            server.destroy();
+            deleteRecursively(baseDir);
+        }
+    }
+
+    protected Tomcat startServer(String protocol, File baseDir) throws Exception {
+        final Properties props = new Properties();
+        props.setProperty("tomcat.protocol", protocol);
+        final String protocolClassName = new BootPropsTranslator().prepareConnectorProtocol(new BootLogger(null, null, props), props);
+        final Tomcat server = new Tomcat();
+        server.setBaseDir(baseDir.getAbsolutePath()); // before connector as boot does
+        final Connector connector = new Connector(protocolClassName);
+        connector.setPort(0); // free port
+        server.setConnector(connector);
+        final Context context = server.addContext("", baseDir.getAbsolutePath());
+        final byte[] body = new byte[bodyBytes];
+        Arrays.fill(body, (byte) 'a');
+        Tomcat.addServlet(context, "bench", new HttpServlet() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("text/plain");
+                resp.setContentLength(body.length);
+                resp.getOutputStream().write(body);
+            }
+        });
+        context.addServletMappingDecoded("/bench", "bench");
+        server.start();
+        return server;
+    }
+
+    protected long[] drive(String url, int durationSeconds) throws Exception { // returns latencies in nanoseconds
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        final ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            final List<Future<List<Long>>> futureList = new ArrayList<Future<List<Long>>>();
+            for (int i = 0; i < clients; i++) {
+                futureList.add(executor.submit(() -> {
+                    final List<Long> latencyList = new ArrayList<Long>();
+                    final byte[] buffer = new byte[8192];
+                    while (System.nanoTime() < deadline) {
+                        final long begin = System.nanoTime();
+                        final HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection(); // keep-alive by JDK
+                        try (InputStream ins = conn.getInputStream()) {
+                            while (ins.read(buffer) >= 0) {
+                            }
+                        }
+                        latencyList.add(System.nanoTime() - begin);
+                    }
+                    return latencyList;
+                }));
+            }
+            final List<Long> allList = new ArrayList<Long>();
+            for (Future<List<Long>> future : futureList) {
+                allList.addAll(future.get());
+            }
+            return allList.stream().mapToLong(latency -> latency).toArray();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected double percentileMillis(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0.0;
+        }
+        final int index = Math.min(sortedLatencies.length - 1, (int) Math.ceil(sortedLatencies.length * percentile) - 1);
+        return sortedLatencies[Math.max(0, index)] / 1000000.0;
+    }
+
+    protected void deleteRecursively(File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.accesslog;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class AccessLogArchiverTest extends PlainTestCase {
+
+    protected File logDir;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        logDir = Files.createTempDirectory("accesslog").toFile();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        for (File file : logDir.listFiles()) {
+            file.delete();
+        }
+        logDir.delete();
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                        Rotated File
+    //                                                                        ============
+    public void test_isRotatedFileName_basic() {
+        // ## Arrange ##
+        final AccessLogArchiver archiver = createArchiver(false, -1, -1L);
+
+        // ## Act ##
+        // ## Assert ##
+        assertTrue(archiver.isRotatedFileName("access_log.2026-10-16.log"));
+        assertTrue(archiver.isRotatedFileName("access_log.2026-10-16.log.gz"));
+        assertFalse(archiver.isRotatedFileName("access_log.2026-10-16.log.gz.tmp")); // compressing
+        assertFalse(archiver.isRotatedFileName("access_log.2026-13-16.log")); // not lenient
+        assertFalse(archiver.isRotatedFileName("access_log.2026-10-16-old.log"));
+        assertFalse(archiver.isRotatedFileName("access_log.log"));
+        assertFalse(archiver.isRotatedFileName("other_log.2026-10-16.log"));
+        assertFalse(archiver.isRotatedFileName("access_log.2026-10-16.txt"));
+    }
+
+    // ===================================================================================
+    //                                                                            Compress
+    //                                                                            ========
+    public void test_archive_compress() throws Exception {
+        // ## Arrange ##
+        final AccessLogArchiver archiver = createArchiver(true, -1, -1L);
+        final File current = createLogFile("access_log.2026-10-16.log", "current", 3000L);
+        final File rotated = createLogFile("access_log.2026-10-15.log", "sea\nland\n", 2000L);
+        final File other = createLogFile("other.txt", "piari", 1000L);
+
+        // ## Act ##
+        archiver.archive(current);
+
+        // ## Assert ##
+        final File compressed = new File(logDir, "access_log.2026-10-15.log.gz");
+        assertFalse(rotated.exists());
+        assertTrue(compressed.exists());
+        assertEquals("sea\nland\n", readGzip(compressed));
+        assertEquals(2000L, compressed.lastModified()); // for pruning order
+        assertTrue(current.exists()); // not compressed
+        assertTrue(other.exists());
+        assertFalse(new File(logDir, "access_log.2026-10-15.log.gz.tmp").exists());
+    }
+
+    // ===================================================================================
+    //                                                                               Prune
+    //                                                                               =====
+    public void test_archive_prune_byHistory() throws Exception {
+        // ## Arrange ##
+        final AccessLogArchiver archiver = createArchiver(false, 2, -1L);
+        final File current = createLogFile("access_log.2026-10-16.log", "current", 5000L);
+        createLogFile("access_log.2026-10-15.log", "a", 4000L);
+        createLogFile("access_log.2026-10-14.log.gz", "b", 3000L);
+        createLogFile("access_log.2026-10-12.log", "c", 1000L); // file name order is different from modified
+        createLogFile("access_log.2026-10-13.log", "d", 2000L);
+
+        // ## Act ##
+        archiver.archive(current);
+
+        // ## Assert ##
+        assertEquals(Arrays.asList("access_log.2026-10-14.log.gz", "access_log.2026-10-15.log", "access_log.2026-10-16.log"),
+                listFileNames());
+    }
+
+    public void test_archive_prune_byTotalSize() throws Exception {
+        // ## Arrange ##
+        final AccessLogArchiver archiver = createArchiver(false, -1, 25L);
+        final File current = createLogFile("access_log.2026-10-16.log", "0123456789", 5000L); // 10 bytes
+        createLogFile("access_log.2026-10-15.log", "0123456789", 4000L); // total 20
+        createLogFile("access_log.2026-10-14.log", "0123456789", 3000L); // total 30, over
+        createLogFile("access_log.2026-10-13.log", "0", 2000L); // older ones are deleted even if small
+
+        // ## Act ##
+        archiver.archive(current);
+
+        // ## Assert ##
+        assertEquals(Arrays.asList("access_log.2026-10-15.log", "access_log.2026-10-16.log"), listFileNames());
+    }
+
+    public void test_archive_noLimit() throws Exception {
+        // ## Arrange ##
+        final AccessLogArchiver archiver = createArchiver(false, -1, -1L);
+        final File current = createLogFile("access_log.2026-10-16.log", "current", 5000L);
+        createLogFile("access_log.2026-10-15.log", "a", 4000L);
+
+        // ## Act ##
+        archiver.archive(current);
+
+        // ## Assert ##
+        assertEquals(2, listFileNames().size());
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected AccessLogArchiver createArchiver(boolean compressRotated, int maxHistory, long maxTotalSize) {
+        return new AccessLogArchiver(logDir, "access_log", ".log", ".yyyy-MM-dd", compressRotated, maxHistory, maxTotalSize);
+    }
+
+    protected File createLogFile(String name, String content, long lastModified) throws IOException {
+        final File file = new File(logDir, name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        file.setLastModified(lastModified);
+        return file;
+    }
+
+    protected List<String> listFileNames() {
+        final String[] names = logDir.list();
+        Arrays.sort(names);
+        return Arrays.asList(names);
+    }
+
+    protected String readGzip(File file) throws IOException {
+        try (InputStream ins = new GZIPInputStream(new FileInputStream(file))) {
+            final ByteArrayOutputStream ous = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[1024];
+            int length;
+            while ((length = ins.read(buffer)) >= 0) {
+                ous.write(buffer, 0, length);
+            }
+            return new String(ous.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
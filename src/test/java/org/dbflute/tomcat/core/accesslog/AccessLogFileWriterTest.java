@@ -0,0 +1,129 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.accesslog;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class AccessLogFileWriterTest extends PlainTestCase {
+
+    protected File logFile;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        logFile = File.createTempFile("access", ".log");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        logFile.delete();
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                               Write
+    //                                                                               =====
+    public void test_write_bufferedUntilFlush() throws Exception {
+        // ## Arrange ##
+        final AccessLogFileWriter writer = new AccessLogFileWriter(logFile, StandardCharsets.UTF_8, 1024);
+        try {
+            // ## Act ##
+            writer.write("sea\n");
+
+            // ## Assert ##
+            assertEquals(0, logFile.length()); // still in buffer
+            writer.flush();
+            assertEquals("sea\n", readText());
+            writer.flush(); // no more bytes
+            assertEquals("sea\n", readText());
+        } finally {
+            writer.close();
+        }
+    }
+
+    public void test_write_overflow() throws Exception {
+        // ## Arrange ##
+        final AccessLogFileWriter writer = new AccessLogFileWriter(logFile, StandardCharsets.UTF_8, 16);
+        try {
+            // ## Act ##
+            writer.write("mystic-oneman-mystic-oneman-"); // larger than buffer
+            final long written = logFile.length();
+            writer.write("piari\n".toCharArray(), 0, 6);
+            writer.flush();
+
+            // ## Assert ##
+            assertTrue(written > 0); // written when buffer is full
+            assertEquals("mystic-oneman-mystic-oneman-piari\n", readText());
+        } finally {
+            writer.close();
+        }
+    }
+
+    public void test_write_multibyte() throws Exception {
+        // ## Arrange ##
+        final AccessLogFileWriter writer = new AccessLogFileWriter(logFile, StandardCharsets.UTF_8, 16); // smaller than the text
+        final String text = "海と陸とピアリ🌊\n"; // 3 bytes and 4 bytes (surrogate pair)
+
+        // ## Act ##
+        writer.write(text);
+        writer.write("broken\uD83C\n"); // lone surrogate is replaced
+        writer.close();
+
+        // ## Assert ##
+        assertEquals(text + "broken?\n", readText());
+    }
+
+    public void test_write_tooSmallBuffer() throws Exception {
+        // ## Arrange ##
+        final AccessLogFileWriter writer = new AccessLogFileWriter(logFile, StandardCharsets.UTF_8, 1);
+
+        // ## Act ##
+        writer.write("海🌊\n"); // cannot be encoded into one byte
+        writer.close();
+
+        // ## Assert ##
+        assertEquals("海🌊\n", readText());
+    }
+
+    public void test_close_flushAndAppend() throws Exception {
+        // ## Arrange ##
+        Files.write(logFile.toPath(), "existing\n".getBytes(StandardCharsets.UTF_8));
+        final AccessLogFileWriter writer = new AccessLogFileWriter(logFile, StandardCharsets.UTF_8, 1024);
+
+        // ## Act ##
+        writer.write("land\n");
+        writer.force(); // no error without flushed bytes
+        writer.close();
+
+        // ## Assert ##
+        assertEquals("existing\nland\n", readText());
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected String readText() throws Exception {
+        return new String(Files.readAllBytes(logFile.toPath()), StandardCharsets.UTF_8);
+    }
+}
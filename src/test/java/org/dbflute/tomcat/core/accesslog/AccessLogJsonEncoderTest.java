@@ -0,0 +1,161 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.accesslog;
+
+import java.io.CharArrayWriter;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class AccessLogJsonEncoderTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                              Encode
+    //                                                                              ======
+    public void test_encode_basic() {
+        // ## Arrange ##
+        final AccessLogJsonEncoder encoder = new AccessLogJsonEncoder("remoteAddr, method,uri,query,status,elapsedMillis,header:X-Sea");
+        final Request request = createRequest("GET", "/fortress/sea", "land=\"oneman\"");
+        request.getCoyoteRequest().getMimeHeaders().addValue("X-Sea").setString("mystic");
+        final Response response = createResponse(request, 404);
+        final CharArrayWriter buf = new CharArrayWriter();
+
+        // ## Act ##
+        encoder.encode(buf, new Date(), request, response, 123L);
+
+        // ## Assert ##
+        assertEquals("{\"remoteAddr\":\"127.0.0.1\",\"method\":\"GET\",\"uri\":\"/fortress/sea\",\"query\":\"land=\\\"oneman\\\"\""
+                + ",\"status\":404,\"elapsedMillis\":123,\"X-Sea\":\"mystic\"}", buf.toString());
+    }
+
+    public void test_encode_nullValue() {
+        // ## Arrange ##
+        final AccessLogJsonEncoder encoder = new AccessLogJsonEncoder("query,referer");
+        final Request request = createRequest("GET", "/fortress/sea", null);
+        final CharArrayWriter buf = new CharArrayWriter();
+
+        // ## Act ##
+        encoder.encode(buf, new Date(), request, createResponse(request, 200), 0L);
+
+        // ## Assert ##
+        assertEquals("{\"query\":null,\"referer\":null}", buf.toString());
+    }
+
+    public void test_compile_illegalField() {
+        assertException(IllegalStateException.class, () -> new AccessLogJsonEncoder("time,unknown"));
+        assertException(IllegalStateException.class, () -> new AccessLogJsonEncoder("header:"));
+        assertException(IllegalStateException.class, () -> new AccessLogJsonEncoder(" , "));
+    }
+
+    // ===================================================================================
+    //                                                                               Value
+    //                                                                               =====
+    public void test_writeString_escape() {
+        assertEquals("\"plain\"", writeString("plain"));
+        assertEquals("\"\"", writeString(""));
+        assertEquals("\"a\\\"b\\\\c\"", writeString("a\"b\\c"));
+        assertEquals("\"line\\nbreak\\r\\ttab\"", writeString("line\nbreak\r\ttab"));
+        assertEquals("\"\\u0000\\u001f\"", writeString("\u0000\u001f"));
+        assertEquals("\"海/</>\"", writeString("海/</>")); // not escaped
+        assertEquals("null", writeString(null));
+    }
+
+    public void test_writeNumber_basic() {
+        assertEquals("0", writeNumber(0L));
+        assertEquals("7", writeNumber(7L));
+        assertEquals("10", writeNumber(10L));
+        assertEquals("1234567890", writeNumber(1234567890L));
+        assertEquals("-1", writeNumber(-1L));
+        assertEquals("-100", writeNumber(-100L));
+        assertEquals(String.valueOf(Long.MAX_VALUE), writeNumber(Long.MAX_VALUE));
+        assertEquals(String.valueOf(Long.MIN_VALUE), writeNumber(Long.MIN_VALUE));
+    }
+
+    public void test_writeTimestamp_basic() throws Exception {
+        // ## Arrange ##
+        final TimeZone existing = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+        try {
+            AccessLogJsonEncoder.timestampCacheLocal.remove(); // formats are created with default zone
+            final SimpleDateFormat parser = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+            final Date first = parser.parse("2026-10-16 12:34:56.007");
+            final Date sameSecond = parser.parse("2026-10-16 12:34:56.890");
+            final Date nextSecond = parser.parse("2026-10-16 12:34:57.050");
+
+            // ## Act ##
+            // ## Assert ##
+            assertEquals("\"2026-10-16T12:34:56.007+09:00\"", writeTimestamp(first));
+            assertEquals("\"2026-10-16T12:34:56.890+09:00\"", writeTimestamp(sameSecond)); // cached second
+            assertEquals("\"2026-10-16T12:34:57.050+09:00\"", writeTimestamp(nextSecond));
+        } finally {
+            TimeZone.setDefault(existing);
+            AccessLogJsonEncoder.timestampCacheLocal.remove();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected String writeString(String value) {
+        final CharArrayWriter buf = new CharArrayWriter();
+        AccessLogJsonEncoder.writeString(buf, value);
+        return buf.toString();
+    }
+
+    protected String writeNumber(long value) {
+        final CharArrayWriter buf = new CharArrayWriter();
+        AccessLogJsonEncoder.writeNumber(buf, value);
+        return buf.toString();
+    }
+
+    protected String writeTimestamp(Date date) {
+        final CharArrayWriter buf = new CharArrayWriter();
+        AccessLogJsonEncoder.writeTimestamp(buf, date);
+        return buf.toString();
+    }
+
+    protected Request createRequest(String method, String uri, String query) {
+        final Request request = new Request(new Connector("HTTP/1.1"));
+        final org.apache.coyote.Request coyoteRequest = new org.apache.coyote.Request();
+        coyoteRequest.method().setString(method);
+        coyoteRequest.requestURI().setString(uri);
+        if (query != null) {
+            coyoteRequest.queryString().setString(query);
+        }
+        request.setCoyoteRequest(coyoteRequest);
+        request.setRemoteAddr("127.0.0.1");
+        return request;
+    }
+
+    protected Response createResponse(Request request, int status) {
+        final Response response = new Response();
+        final org.apache.coyote.Response coyoteResponse = new org.apache.coyote.Response();
+        coyoteResponse.setStatus(status);
+        response.setCoyoteResponse(coyoteResponse);
+        response.setRequest(request);
+        request.setResponse(response);
+        return response;
+    }
+}
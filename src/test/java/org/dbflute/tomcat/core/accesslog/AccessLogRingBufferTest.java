@@ -0,0 +1,166 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.accesslog;
+
+import java.io.CharArrayWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.dbflute.tomcat.core.accesslog.AccessLogRingBuffer.RecordSlot;
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class AccessLogRingBufferTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                            Capacity
+    //                                                                            ========
+    public void test_capacity_roundUp() {
+        assertEquals(1, new AccessLogRingBuffer(1).getCapacity());
+        assertEquals(4, new AccessLogRingBuffer(3).getCapacity());
+        assertEquals(1024, new AccessLogRingBuffer(1000).getCapacity());
+        assertEquals(1024, new AccessLogRingBuffer(1024).getCapacity());
+        assertException(IllegalArgumentException.class, () -> new AccessLogRingBuffer(0));
+    }
+
+    // ===================================================================================
+    //                                                                      Offer and Peek
+    //                                                                      ==============
+    public void test_peek_empty() {
+        // ## Arrange ##
+        final AccessLogRingBuffer buffer = new AccessLogRingBuffer(4);
+
+        // ## Act ##
+        // ## Assert ##
+        assertNull(buffer.peek());
+        assertTrue(buffer.isEmpty());
+    }
+
+    public void test_offer_full() {
+        // ## Arrange ##
+        final AccessLogRingBuffer buffer = new AccessLogRingBuffer(2);
+
+        // ## Act ##
+        // ## Assert ##
+        assertTrue(buffer.offer(message("sea")));
+        assertTrue(buffer.offer(message("land")));
+        assertFalse(buffer.offer(message("piari"))); // full
+        assertEquals("sea", takeText(buffer));
+        assertTrue(buffer.offer(message("bonvo"))); // released one
+        assertEquals("land", takeText(buffer));
+        assertEquals("bonvo", takeText(buffer));
+        assertTrue(buffer.isEmpty());
+    }
+
+    public void test_offer_wrapAround() {
+        // ## Arrange ##
+        final AccessLogRingBuffer buffer = new AccessLogRingBuffer(4);
+        final List<String> takenList = new ArrayList<String>();
+
+        // ## Act ##
+        for (int round = 0; round < 5; round++) { // over capacity several times
+            for (int i = 0; i < 3; i++) {
+                assertTrue(buffer.offer(message("r" + round + "-" + i)));
+            }
+            while (!buffer.isEmpty()) {
+                takenList.add(takeText(buffer));
+            }
+        }
+
+        // ## Assert ##
+        assertEquals(15, takenList.size());
+        assertEquals("r0-0", takenList.get(0));
+        assertEquals("r1-2", takenList.get(5));
+        assertEquals("r4-2", takenList.get(14)); // in order
+    }
+
+    public void test_offer_largeRecord_shrunkAtRelease() {
+        // ## Arrange ##
+        final AccessLogRingBuffer buffer = new AccessLogRingBuffer(1);
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < AccessLogRingBuffer.MAX_KEPT_SLOT_CHARS + 1; i++) {
+            sb.append('a');
+        }
+
+        // ## Act ##
+        assertTrue(buffer.offer(message(sb.toString())));
+        final RecordSlot slot = buffer.peek();
+        assertEquals(sb.length(), slot.getLength());
+        buffer.release();
+
+        // ## Assert ##
+        assertEquals(AccessLogRingBuffer.INITIAL_SLOT_CHARS, slot.getChars().length);
+        assertTrue(buffer.offer(message("sea")));
+        assertEquals("sea", takeText(buffer));
+    }
+
+    public void test_offer_multipleProducers() throws Exception {
+        // ## Arrange ##
+        final AccessLogRingBuffer buffer = new AccessLogRingBuffer(8);
+        final int producerCount = 4;
+        final int recordCount = 500;
+        final CountDownLatch latch = new CountDownLatch(producerCount);
+        for (int i = 0; i < producerCount; i++) {
+            final int producer = i;
+            new Thread(() -> {
+                for (int j = 0; j < recordCount; j++) {
+                    final CharArrayWriter message = message(producer + ":" + j);
+                    while (!buffer.offer(message)) { // retry while full
+                        Thread.yield();
+                    }
+                }
+                latch.countDown();
+            }).start();
+        }
+
+        // ## Act ##
+        final Set<String> takenSet = new HashSet<String>();
+        while (takenSet.size() < producerCount * recordCount) {
+            if (buffer.isEmpty()) {
+                Thread.yield();
+                continue;
+            }
+            assertTrue(takenSet.add(takeText(buffer))); // no duplicate
+        }
+        latch.await();
+
+        // ## Assert ##
+        assertTrue(buffer.isEmpty());
+        assertTrue(takenSet.contains("3:499"));
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected CharArrayWriter message(String text) {
+        final CharArrayWriter message = new CharArrayWriter();
+        message.append(text);
+        return message;
+    }
+
+    protected String takeText(AccessLogRingBuffer buffer) {
+        final RecordSlot slot = buffer.peek();
+        final String text = new String(slot.getChars(), 0, slot.getLength());
+        buffer.release();
+        return text;
+    }
+}
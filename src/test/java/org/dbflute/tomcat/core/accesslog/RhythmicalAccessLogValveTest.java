@@ -0,0 +1,148 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.accesslog;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class RhythmicalAccessLogValveTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                     Skipped Request
+    //                                                                      ===============
+    public void test_isSkippedRequest_noCondition() {
+        // ## Arrange ##
+        final RhythmicalAccessLogValve valve = new RhythmicalAccessLogValve();
+        final Request request = createRequest(null);
+
+        // ## Act ##
+        // ## Assert ##
+        assertFalse(valve.isSkippedRequest(request, createResponse(request, 200), 0L));
+    }
+
+    public void test_isSkippedRequest_slowThreshold() {
+        // ## Arrange ##
+        final RhythmicalAccessLogValve valve = new RhythmicalAccessLogValve();
+        valve.setSlowThresholdMillis(100L);
+        final Request request = createRequest(null);
+
+        // ## Act ##
+        // ## Assert ##
+        assertTrue(valve.isSkippedRequest(request, createResponse(request, 200), 99L)); // fast
+        assertFalse(valve.isSkippedRequest(request, createResponse(request, 200), 100L)); // slow
+        assertFalse(valve.isSkippedRequest(request, createResponse(request, 400), 0L)); // error
+        assertFalse(valve.isSkippedRequest(request, createResponse(request, 503), 0L));
+    }
+
+    public void test_isSkippedRequest_sampling() {
+        // ## Arrange ##
+        final RhythmicalAccessLogValve valve = new RhythmicalAccessLogValve();
+        valve.setSampleRate(10);
+        final Request request = createRequest(null); // sequence is used
+
+        // ## Act ##
+        int loggedCount = 0;
+        for (int i = 0; i < 100; i++) {
+            if (!valve.isSkippedRequest(request, createResponse(request, 200), 0L)) {
+                ++loggedCount;
+            }
+        }
+
+        // ## Assert ##
+        assertEquals(10, loggedCount); // exactly one of rate by sequence
+        assertFalse(valve.isSkippedRequest(request, createResponse(request, 500), 0L)); // error
+    }
+
+    public void test_isSkippedRequest_slowThresholdAndSampling() {
+        // ## Arrange ##
+        final RhythmicalAccessLogValve valve = new RhythmicalAccessLogValve();
+        valve.setSlowThresholdMillis(100L);
+        valve.setSampleRate(1000000);
+        final Request request = createRequest(null);
+        valve.isSkippedRequest(request, createResponse(request, 200), 0L); // consume sequence zero
+
+        // ## Act ##
+        // ## Assert ##
+        assertFalse(valve.isSkippedRequest(request, createResponse(request, 200), 100L)); // slow is always logged
+        assertTrue(valve.isSkippedRequest(request, createResponse(request, 200), 0L)); // not sampled
+    }
+
+    // ===================================================================================
+    //                                                                     Sampled Request
+    //                                                                     ===============
+    public void test_isSampledRequest_deterministicById() {
+        // ## Arrange ##
+        final RhythmicalAccessLogValve valve = new RhythmicalAccessLogValve();
+        valve.setSampleRate(4);
+
+        // ## Act ##
+        int sampledCount = 0;
+        for (int i = 0; i < 4000; i++) {
+            final String requestId = "req-" + i; // sequential IDs
+            final boolean sampled = valve.isSampledRequest(createRequest(requestId));
+            assertEquals(sampled, valve.isSampledRequest(createRequest(requestId))); // same result for the same ID
+            if (sampled) {
+                ++sampledCount;
+            }
+        }
+
+        // ## Assert ##
+        log("sampled: {}", sampledCount);
+        assertTrue(sampledCount > 800 && sampledCount < 1200); // spread, about quarter
+        assertEquals(0L, valve.sampleSequence.get()); // not used if ID exists
+    }
+
+    public void test_isSampledRequest_noIdHeader() {
+        // ## Arrange ##
+        final RhythmicalAccessLogValve valve = new RhythmicalAccessLogValve();
+        valve.setSampleRate(2);
+        valve.setSampleIdHeader(null);
+
+        // ## Act ##
+        // ## Assert ##
+        assertTrue(valve.isSampledRequest(createRequest("req-1"))); // sequence 0
+        assertFalse(valve.isSampledRequest(createRequest("req-1"))); // sequence 1
+        assertTrue(valve.isSampledRequest(createRequest("req-1")));
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected Request createRequest(String requestId) {
+        final Request request = new Request(new Connector("HTTP/1.1"));
+        final org.apache.coyote.Request coyoteRequest = new org.apache.coyote.Request();
+        if (requestId != null) {
+            coyoteRequest.getMimeHeaders().addValue("X-Request-Id").setString(requestId);
+        }
+        request.setCoyoteRequest(coyoteRequest);
+        return request;
+    }
+
+    protected Response createResponse(Request request, int status) {
+        final Response response = new Response();
+        final org.apache.coyote.Response coyoteResponse = new org.apache.coyote.Response();
+        coyoteResponse.setStatus(status);
+        response.setCoyoteResponse(coyoteResponse);
+        response.setRequest(request);
+        return response;
+    }
+}
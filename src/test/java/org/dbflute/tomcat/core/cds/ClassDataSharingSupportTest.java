@@ -0,0 +1,142 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.cds;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class ClassDataSharingSupportTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                        Training Run
+    //                                                                        ============
+    public void test_dumpTrainingArchive_archiveClassesAtExit() {
+        // ## Arrange ##
+        final MockSupport support = new MockSupport("-Xmx512m", "-XX:ArchiveClassesAtExit=sea.jsa", "-XX:+RecordDynamicDumpInfo");
+
+        // ## Act ##
+        final String result = support.dumpTrainingArchive(new File("land.jsa"));
+
+        // ## Assert ##
+        log(result);
+        assertContains(result, "dumped at JVM exit: sea.jsa");
+        assertTrue(support.invokedList.isEmpty()); // prior to dynamic dump
+    }
+
+    public void test_dumpTrainingArchive_dynamicDump() {
+        // ## Arrange ##
+        final MockSupport support = new MockSupport("-XX:+RecordDynamicDumpInfo");
+        final File archiveFile = new File("land.jsa");
+
+        // ## Act ##
+        final String result = support.dumpTrainingArchive(archiveFile);
+
+        // ## Assert ##
+        log(result);
+        assertContains(result, "dumped by diagnostic command: " + archiveFile.getAbsolutePath());
+        assertEquals(Arrays.asList("vmCds dynamic_dump " + archiveFile.getAbsolutePath()), support.invokedList);
+    }
+
+    public void test_dumpTrainingArchive_dynamicDump_failure() {
+        // ## Arrange ##
+        final MockSupport support = new MockSupport("-XX:+RecordDynamicDumpInfo");
+        support.failure = "InstanceNotFoundException: no command";
+
+        // ## Act ##
+        final String result = support.dumpTrainingArchive(new File("land.jsa"));
+
+        // ## Assert ##
+        log(result);
+        assertContains(result, "Failed to dump CDS archive");
+        assertContains(result, "no command");
+    }
+
+    public void test_dumpTrainingArchive_dynamicDump_disabledByLast() {
+        // ## Arrange ##
+        final MockSupport support = new MockSupport("-XX:+RecordDynamicDumpInfo", "-XX:-RecordDynamicDumpInfo");
+
+        // ## Act ##
+        final String result = support.dumpTrainingArchive(new File("land.jsa"));
+
+        // ## Assert ##
+        log(result);
+        assertContains(result, "Cannot dump CDS archive");
+        assertContains(result, "-XX:ArchiveClassesAtExit=land.jsa");
+        assertTrue(support.invokedList.isEmpty());
+    }
+
+    public void test_dumpTrainingArchive_classListFallback() {
+        // ## Arrange ##
+        final MockSupport support = new MockSupport("-XX:DumpLoadedClassList=sea.lst", "-XX:+RecordDynamicDumpInfo");
+
+        // ## Act ##
+        final String result = support.dumpTrainingArchive(new File("land.jsa"));
+
+        // ## Assert ##
+        log(result);
+        assertContains(result, "class list will be dumped at JVM exit: sea.lst");
+        assertContains(result, "-XX:SharedClassListFile=sea.lst");
+        assertTrue(support.invokedList.isEmpty());
+    }
+
+    // ===================================================================================
+    //                                                                              Status
+    //                                                                              ======
+    public void test_isSharedArchiveSpecified() {
+        assertTrue(new MockSupport("-XX:SharedArchiveFile=sea.jsa").isSharedArchiveSpecified());
+        assertFalse(new MockSupport("-XX:ArchiveClassesAtExit=sea.jsa").isSharedArchiveSpecified());
+        assertFalse(new MockSupport().isSharedArchiveSpecified());
+    }
+
+    public void test_buildSharingStatus() {
+        // ## Arrange ##
+        final MockSupport support = new MockSupport("-XX:SharedArchiveFile=sea.jsa", "-XX:SharedArchiveFile=land-notfound.jsa");
+
+        // ## Act ##
+        final String status = support.buildSharingStatus();
+
+        // ## Assert ##
+        log(status);
+        assertContains(status, "archive=land-notfound.jsa (not found)"); // the last wins
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected static class MockSupport extends ClassDataSharingSupport {
+
+        protected final List<String> invokedList = new ArrayList<String>();
+        protected String failure; // null allowed
+
+        public MockSupport(String... jvmArgs) {
+            super(Arrays.asList(jvmArgs));
+        }
+
+        @Override
+        protected String invokeDiagnosticCommand(String operation, String... arguments) {
+            invokedList.add(operation + " " + String.join(" ", arguments));
+            return failure;
+        }
+    }
+}
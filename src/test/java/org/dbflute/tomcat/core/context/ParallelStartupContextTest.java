@@ -0,0 +1,239 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.context;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.ServletException;
+
+import org.apache.catalina.Container;
+import org.apache.catalina.core.StandardWrapper;
+import org.apache.catalina.loader.WebappLoader;
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class ParallelStartupContextTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                     Load on Startup
+    //                                                                     ===============
+    public void test_loadOnStartup_concurrentInGroup_groupOrdered() {
+        // ## Arrange ##
+        final ParallelStartupContext context = createContext(2);
+        final List<String> eventList = new CopyOnWriteArrayList<String>();
+        final CyclicBarrier firstBarrier = new CyclicBarrier(2); // times out unless both run concurrently
+        final CyclicBarrier secondBarrier = new CyclicBarrier(2);
+        final Container[] children = { // not sorted
+                new MockWrapper("land", 2, eventList, awaitBarrier(secondBarrier)), //
+                new MockWrapper("sea", 1, eventList, awaitBarrier(firstBarrier)), //
+                new MockWrapper("piari", 2, eventList, awaitBarrier(secondBarrier)), //
+                new MockWrapper("bonvo", 1, eventList, awaitBarrier(firstBarrier)) //
+        };
+
+        // ## Act ##
+        final boolean loaded = context.loadOnStartup(children);
+
+        // ## Assert ##
+        log(eventList);
+        assertTrue(loaded);
+        assertEquals(8, eventList.size());
+        for (String event : eventList.subList(0, 4)) { // first group completely before second group
+            assertTrue(event, event.endsWith(":sea") || event.endsWith(":bonvo"));
+        }
+        for (String event : eventList.subList(4, 8)) {
+            assertTrue(event, event.endsWith(":land") || event.endsWith(":piari"));
+        }
+    }
+
+    public void test_loadOnStartup_failure_afterGroupFinished() {
+        // ## Arrange ##
+        final ParallelStartupContext context = createContext(2);
+        context.setFailCtxIfServletStartFails(true);
+        final List<String> eventList = new CopyOnWriteArrayList<String>();
+        final MockWrapper failing = new MockWrapper("sea", 1, eventList, () -> {
+            throw new ServletException("sea failure");
+        });
+        final MockWrapper slow = new MockWrapper("land", 1, eventList, () -> {
+            Thread.sleep(200L); // still loading when the failure is returned
+        });
+        final MockWrapper next = new MockWrapper("piari", 2, eventList, () -> {});
+
+        // ## Act ##
+        final boolean loaded = context.loadOnStartup(new Container[] { failing, slow, next });
+
+        // ## Assert ##
+        log(eventList);
+        assertFalse(loaded);
+        assertTrue(eventList.contains("end:land")); // whole group finished
+        assertFalse(eventList.contains("start:piari")); // next group is not started
+    }
+
+    public void test_loadOnStartup_failure_continuedIfNotFailCtx() {
+        // ## Arrange ##
+        final ParallelStartupContext context = createContext(2);
+        context.setFailCtxIfServletStartFails(false);
+        final List<String> eventList = new CopyOnWriteArrayList<String>();
+        final MockWrapper failing = new MockWrapper("sea", 1, eventList, () -> {
+            throw new ServletException("sea failure");
+        });
+
+        // ## Act ##
+        final boolean loaded = context.loadOnStartup(new Container[] { failing, new MockWrapper("land", 1, eventList, () -> {}),
+                new MockWrapper("piari", 2, eventList, () -> {}) });
+
+        // ## Assert ##
+        assertTrue(loaded);
+        assertTrue(eventList.contains("end:piari"));
+    }
+
+    public void test_loadOnStartup_contextClassLoader() {
+        // ## Arrange ##
+        final ParallelStartupContext context = createContext(2);
+        final ClassLoader webappLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        context.setLoader(new WebappLoader() {
+            @Override
+            public ClassLoader getClassLoader() {
+                return webappLoader;
+            }
+        });
+        final Map<String, ClassLoader> loaderMap = new ConcurrentHashMap<String, ClassLoader>();
+        final Map<String, String> threadMap = new ConcurrentHashMap<String, String>();
+        final List<String> eventList = new CopyOnWriteArrayList<String>();
+        final Container[] children = new Container[2];
+        for (int i = 0; i < children.length; i++) {
+            final String name = "sea" + i;
+            children[i] = new MockWrapper(name, 1, eventList, () -> {
+                loaderMap.put(name, Thread.currentThread().getContextClassLoader());
+                threadMap.put(name, Thread.currentThread().getName());
+            });
+        }
+
+        // ## Act ##
+        assertTrue(context.loadOnStartup(children));
+
+        // ## Assert ##
+        log(threadMap);
+        assertEquals(2, loaderMap.size());
+        for (String name : loaderMap.keySet()) {
+            assertTrue(threadMap.get(name).startsWith("loadOnStartup-/sea-")); // on worker thread
+            assertSame(webappLoader, loaderMap.get(name));
+        }
+        assertNotSame(webappLoader, Thread.currentThread().getContextClassLoader());
+    }
+
+    public void test_loadOnStartup_executorShutdownWhenGroupThrows() {
+        // ## Arrange ##
+        final ExecutorService[] executorHolder = new ExecutorService[1];
+        final ParallelStartupContext context = new ParallelStartupContext(2) {
+            @Override
+            protected ExecutorService createLoadOnStartupExecutor() {
+                final ExecutorService executor = super.createLoadOnStartupExecutor();
+                executorHolder[0] = executor;
+                return executor;
+            }
+        };
+        context.setName("/sea");
+        final List<String> eventList = new CopyOnWriteArrayList<String>();
+        final MockWrapper broken = new MockWrapper("sea", 1, eventList, () -> {
+            throw new IllegalStateException("sea broken"); // not servlet exception so thrown by loadGroup()
+        });
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(IllegalStateException.class, () -> {
+            context.loadOnStartup(new Container[] { broken, new MockWrapper("land", 1, eventList, () -> {}) });
+        });
+        assertNotNull(executorHolder[0]);
+        assertTrue(executorHolder[0].isShutdown());
+    }
+
+    public void test_loadOnStartup_noGroupBenefit() {
+        // ## Arrange ##
+        final ParallelStartupContext context = new ParallelStartupContext(2) {
+            @Override
+            protected ExecutorService createLoadOnStartupExecutor() {
+                throw new IllegalStateException("should not be called");
+            }
+        };
+        context.setName("/sea");
+        final List<String> eventList = new CopyOnWriteArrayList<String>();
+
+        // ## Act ##
+        final boolean loaded = context.loadOnStartup(new Container[] { new MockWrapper("sea", 1, eventList, () -> {}),
+                new MockWrapper("land", 2, eventList, () -> {}), new MockWrapper("piari", -1, eventList, () -> {}) });
+
+        // ## Assert ##
+        assertTrue(loaded);
+        assertEquals("[start:sea, end:sea, start:land, end:land]", eventList.toString()); // by super, negative is not loaded
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected ParallelStartupContext createContext(int parallelism) {
+        final ParallelStartupContext context = new ParallelStartupContext(parallelism);
+        context.setName("/sea");
+        return context;
+    }
+
+    protected LoadingCall awaitBarrier(CyclicBarrier barrier) {
+        return () -> barrier.await(5L, TimeUnit.SECONDS);
+    }
+
+    @FunctionalInterface
+    protected static interface LoadingCall {
+
+        void call() throws Exception;
+    }
+
+    protected static class MockWrapper extends StandardWrapper {
+
+        protected final List<String> eventList;
+        protected final LoadingCall loadingCall;
+
+        public MockWrapper(String name, int loadOnStartup, List<String> eventList, LoadingCall loadingCall) {
+            this.eventList = eventList;
+            this.loadingCall = loadingCall;
+            setName(name);
+            setLoadOnStartup(loadOnStartup);
+        }
+
+        @Override
+        public synchronized void load() throws ServletException {
+            eventList.add("start:" + getName());
+            try {
+                loadingCall.call();
+            } catch (ServletException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to load the mock: " + getName(), e);
+            } finally {
+                eventList.add("end:" + getName());
+            }
+        }
+    }
+}
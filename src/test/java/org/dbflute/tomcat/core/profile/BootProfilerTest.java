@@ -0,0 +1,115 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.profile;
+
+import java.util.List;
+
+import org.dbflute.tomcat.core.profile.BootProfiler.ProfileRecord;
+import org.dbflute.tomcat.core.profile.BootProfiler.ProfileStopwatch;
+import org.dbflute.tomcat.core.profile.BootProfiler.ReportFormat;
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class BootProfilerTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                             Measure
+    //                                                                             =======
+    public void test_start_stop_recordedOnce() {
+        // ## Arrange ##
+        final BootProfiler profiler = new BootProfiler(ReportFormat.TEXT, 10);
+
+        // ## Act ##
+        final ProfileStopwatch stopwatch = profiler.start(BootProfiler.CATEGORY_PHASE, "prepareServer");
+        stopwatch.stop();
+        stopwatch.stop(); // ignored
+
+        // ## Assert ##
+        final List<ProfileRecord> recordList = profiler.copyCategoryRecordMap().get(BootProfiler.CATEGORY_PHASE);
+        assertEquals(1, recordList.size());
+        final ProfileRecord record = recordList.get(0);
+        assertEquals("prepareServer", record.getName());
+        assertTrue(record.getWallNanos() >= 0);
+        assertEquals(Thread.currentThread().getName(), record.getThreadName());
+    }
+
+    // ===================================================================================
+    //                                                                              Report
+    //                                                                              ======
+    public void test_buildTextReport_order() {
+        // ## Arrange ##
+        final BootProfiler profiler = new BootProfiler(ReportFormat.TEXT, 2);
+        profiler.record(newRecord(BootProfiler.CATEGORY_PHASE, "prepareServer", 3));
+        profiler.record(newRecord(BootProfiler.CATEGORY_LIFECYCLE, "configure_start", 5));
+        profiler.record(newRecord(BootProfiler.CATEGORY_PHASE, "startServer", 1)); // faster but later
+        profiler.record(newRecord(BootProfiler.CATEGORY_JAR_SCAN, "TLD sea.jar", 1));
+        profiler.record(newRecord(BootProfiler.CATEGORY_JAR_SCAN, "TLD land.jar", 7));
+        profiler.record(newRecord(BootProfiler.CATEGORY_JAR_SCAN, "TLD piari.jar", 4));
+        profiler.count("TLD scanned");
+        profiler.count("TLD scanned");
+        profiler.count("TLD rejected");
+
+        // ## Act ##
+        final String report = profiler.buildReport();
+
+        // ## Assert ##
+        log(report);
+        final String[] lines = report.split("\n");
+        assertTrue(lines[0].startsWith("[Boot Profile] elapsed="));
+        assertEquals(" phase: count=2, totalWall=4.0ms", lines[1]); // categories in recorded order
+        assertTrue(lines[2].startsWith("  prepareServer wall=3.0ms cpu=")); // phase in recorded order
+        assertTrue(lines[3].startsWith("  startServer wall=1.0ms"));
+        assertEquals(" lifecycle: count=1, totalWall=5.0ms", lines[4]);
+        assertEquals(" jar scan: count=3, totalWall=12.0ms", lines[6]);
+        assertTrue(lines[7].startsWith("  TLD land.jar wall=7.0ms")); // jars slower first
+        assertTrue(lines[8].startsWith("  TLD piari.jar wall=4.0ms"));
+        assertEquals("  ...(1 more)", lines[9]); // limited by top count
+        assertEquals(" counter: {TLD scanned=2, TLD rejected=1}", lines[10]);
+    }
+
+    public void test_buildJsonReport_basic() {
+        // ## Arrange ##
+        final BootProfiler profiler = new BootProfiler(ReportFormat.JSON, 10);
+        profiler.record(newRecord(BootProfiler.CATEGORY_PHASE, "ready", 2));
+        profiler.record(new ProfileRecord(BootProfiler.CATEGORY_JAR_SCAN, "TLD \"sea\".jar", 1_500_000L, -1L, "jarscan-1"));
+        profiler.count("TLD scanned");
+
+        // ## Act ##
+        final String report = profiler.buildReport();
+
+        // ## Assert ##
+        log(report);
+        assertFalse(report.contains("\n"));
+        assertContains(report, "{\"category\":\"phase\",\"name\":\"ready\",\"wallMillis\":2.0,\"cpuMillis\":1.0,\"thread\":\"main\"}");
+        assertContains(report, "\"name\":\"TLD \\\"sea\\\".jar\",\"wallMillis\":1.5,\"cpuMillis\":null,\"thread\":\"jarscan-1\"");
+        assertTrue(report.endsWith(",\"counters\":{\"TLD scanned\":1}}"));
+    }
+
+    public void test_constructor_illegal() {
+        assertException(IllegalArgumentException.class, () -> new BootProfiler(null, 10));
+        assertException(IllegalArgumentException.class, () -> new BootProfiler(ReportFormat.TEXT, 0));
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected ProfileRecord newRecord(String category, String name, long wallMillis) {
+        return new ProfileRecord(category, name, wallMillis * 1_000_000L, 1_000_000L, "main");
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.profile;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.servlet.ServletContext;
+
+import org.apache.tomcat.Jar;
+import org.apache.tomcat.JarScanFilter;
+import org.apache.tomcat.JarScanType;
+import org.apache.tomcat.JarScanner;
+import org.apache.tomcat.JarScannerCallback;
+import org.apache.tomcat.util.scan.JarFactory;
+import org.apache.tomcat.util.scan.StandardJarScanFilter;
+import org.dbflute.tomcat.core.profile.BootProfiler.ProfileRecord;
+import org.dbflute.tomcat.core.profile.BootProfiler.ReportFormat;
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class ProfilingJarScannerTest extends PlainTestCase {
+
+    protected File workDir;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        workDir = Files.createTempDirectory("profilingscan").toFile();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        final File[] children = workDir.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                child.delete();
+            }
+        }
+        workDir.delete();
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                                Scan
+    //                                                                                ====
+    public void test_scan_perJarTiming() throws Exception {
+        // ## Arrange ##
+        final File seaJar = createJar("sea.jar");
+        final File landJar = createJar("land.jar");
+        final BootProfiler profiler = new BootProfiler(ReportFormat.TEXT, 10);
+        final List<String> callbackList = new ArrayList<String>();
+        final ProfilingJarScanner scanner = new ProfilingJarScanner(new MockJarScanner(seaJar, landJar, workDir), profiler);
+
+        // ## Act ##
+        scanner.scan(JarScanType.TLD, null, new JarScannerCallback() {
+            public void scan(Jar jar, String webappPath, boolean isWebapp) {
+                callbackList.add(webappPath);
+            }
+
+            public void scan(File file, String webappPath, boolean isWebapp) {
+                callbackList.add(webappPath);
+            }
+
+            public void scanWebInfClasses() {
+                callbackList.add("classes");
+            }
+        });
+
+        // ## Assert ##
+        log(profiler.buildTextReport());
+        assertEquals(Arrays.asList("/WEB-INF/lib/sea.jar", "/WEB-INF/lib/land.jar", "dir", "classes"), callbackList); // delegated
+        final Map<String, List<ProfileRecord>> recordMap = profiler.copyCategoryRecordMap();
+        assertEquals(Arrays.asList(BootProfiler.CATEGORY_JAR_SCAN, BootProfiler.CATEGORY_JAR_SCAN_TYPE), new ArrayList<>(recordMap.keySet()));
+        assertEquals(Arrays.asList("TLD sea.jar", "TLD land.jar", "TLD " + workDir.getPath(), "TLD /WEB-INF/classes"),
+                toNameList(recordMap.get(BootProfiler.CATEGORY_JAR_SCAN))); // in scanned order
+        assertEquals(Arrays.asList("TLD"), toNameList(recordMap.get(BootProfiler.CATEGORY_JAR_SCAN_TYPE))); // whole scan
+        assertNull(recordMap.get(BootProfiler.CATEGORY_PHASE)); // not counted twice in phase
+        assertEquals(Long.valueOf(4L), profiler.copyCounterMap().get("TLD scanned"));
+    }
+
+    public void test_scan_perScanType() throws Exception {
+        // ## Arrange ##
+        final File seaJar = createJar("sea.jar");
+        final BootProfiler profiler = new BootProfiler(ReportFormat.TEXT, 10);
+        final ProfilingJarScanner scanner = new ProfilingJarScanner(new MockJarScanner(seaJar), profiler);
+        final JarScannerCallback noop = new JarScannerCallback() {
+            public void scan(Jar jar, String webappPath, boolean isWebapp) {
+            }
+
+            public void scan(File file, String webappPath, boolean isWebapp) {
+            }
+
+            public void scanWebInfClasses() {
+            }
+        };
+
+        // ## Act ##
+        scanner.scan(JarScanType.TLD, null, noop);
+        scanner.scan(JarScanType.PLUGGABILITY, null, noop);
+
+        // ## Assert ##
+        final Map<String, List<ProfileRecord>> recordMap = profiler.copyCategoryRecordMap();
+        assertEquals(Arrays.asList("TLD sea.jar", "PLUGGABILITY sea.jar"), toNameList(recordMap.get(BootProfiler.CATEGORY_JAR_SCAN)));
+        assertEquals(Arrays.asList("TLD", "PLUGGABILITY"), toNameList(recordMap.get(BootProfiler.CATEGORY_JAR_SCAN_TYPE)));
+        assertEquals(Long.valueOf(1L), profiler.copyCounterMap().get("TLD scanned"));
+        assertEquals(Long.valueOf(1L), profiler.copyCounterMap().get("PLUGGABILITY scanned"));
+    }
+
+    public void test_filter_delegated() {
+        // ## Arrange ##
+        final MockJarScanner delegate = new MockJarScanner();
+        final ProfilingJarScanner scanner = new ProfilingJarScanner(delegate, new BootProfiler(ReportFormat.TEXT, 10));
+        final StandardJarScanFilter filter = new StandardJarScanFilter();
+
+        // ## Act ##
+        scanner.setJarScanFilter(filter);
+
+        // ## Assert ##
+        assertSame(filter, delegate.getJarScanFilter());
+        assertSame(filter, scanner.getJarScanFilter());
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected static class MockJarScanner implements JarScanner {
+
+        protected final File[] files; // jar or directory
+        protected JarScanFilter jarScanFilter;
+
+        public MockJarScanner(File... files) {
+            this.files = files;
+        }
+
+        @Override
+        public void scan(JarScanType scanType, ServletContext context, JarScannerCallback callback) {
+            try {
+                for (File file : files) {
+                    if (file.isDirectory()) {
+                        callback.scan(file, "dir", true);
+                    } else {
+                        try (Jar jar = JarFactory.newInstance(file.toURI().toURL())) {
+                            callback.scan(jar, "/WEB-INF/lib/" + file.getName(), true);
+                        }
+                    }
+                }
+                if (files.length > 2) {
+                    callback.scanWebInfClasses();
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public JarScanFilter getJarScanFilter() {
+            return jarScanFilter;
+        }
+
+        @Override
+        public void setJarScanFilter(JarScanFilter jarScanFilter) {
+            this.jarScanFilter = jarScanFilter;
+        }
+    }
+
+    protected List<String> toNameList(List<ProfileRecord> recordList) {
+        return recordList.stream().map(record -> record.getName()).collect(Collectors.toList());
+    }
+
+    protected File createJar(String name) throws IOException {
+        final File jarFile = new File(workDir, name);
+        try (ZipOutputStream ous = new ZipOutputStream(new FileOutputStream(jarFile))) {
+            ous.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+            ous.closeEntry();
+        }
+        return jarFile;
+    }
+}
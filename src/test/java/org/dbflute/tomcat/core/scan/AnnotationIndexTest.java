@@ -0,0 +1,180 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.scan;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class AnnotationIndexTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                                Load
+    //                                                                                ====
+    public void test_load_basic() throws Exception {
+        // ## Arrange ##
+        final String index = "# annotation index\n" // comment
+                + "org.docksidestage.SeaServlet:javax.servlet.annotation.WebServlet,javax.servlet.http.HttpServlet\n" //
+                + "org.docksidestage.LandBean:\n" // no types
+                + ":broken.NoClass\n" // broken
+                + "brokenLine\n" // no delimiter
+                + "\n";
+
+        // ## Act ##
+        final AnnotationIndex annotationIndex = load(index);
+
+        // ## Assert ##
+        assertEquals(2, annotationIndex.size());
+        assertTrue(annotationIndex.classTypesMap.get("org.docksidestage.SeaServlet").contains("javax.servlet.http.HttpServlet"));
+        assertTrue(annotationIndex.classTypesMap.get("org.docksidestage.LandBean").isEmpty());
+    }
+
+    public void test_load_multibyte() throws Exception {
+        // ## Arrange ##
+        final String index = "org.docksidestage.海Servlet:javax.servlet.annotation.WebServlet\n"; // UTF-8
+
+        // ## Act ##
+        final AnnotationIndex annotationIndex = load(index);
+
+        // ## Assert ##
+        assertTrue(annotationIndex.classTypesMap.containsKey("org.docksidestage.海Servlet"));
+    }
+
+    // ===================================================================================
+    //                                                                    Select Candidate
+    //                                                                    ================
+    public void test_selectCandidateClassPaths_component() throws Exception {
+        // ## Arrange ##
+        final AnnotationIndex annotationIndex = load(prepareIndex());
+
+        // ## Act ##
+        final List<String> pathList = annotationIndex.selectCandidateClassPaths(Collections.emptySet(), false);
+
+        // ## Assert ##
+        assertEquals(Arrays.asList("org/docksidestage/SeaServlet.class", "org/docksidestage/LandFilter$Nested.class"), pathList);
+    }
+
+    public void test_selectCandidateClassPaths_handlesTypes() throws Exception {
+        // ## Arrange ##
+        final AnnotationIndex annotationIndex = load(prepareIndex());
+        final HashSet<String> handlesTypeNames = new HashSet<>(Arrays.asList("org.docksidestage.PiariInterface"));
+
+        // ## Act ##
+        final List<String> allList = annotationIndex.selectCandidateClassPaths(handlesTypeNames, false);
+        final List<String> onlyList = annotationIndex.selectCandidateClassPaths(handlesTypeNames, true);
+
+        // ## Assert ##
+        assertEquals(3, allList.size());
+        assertTrue(allList.contains("org/docksidestage/PiariImpl.class"));
+        assertEquals(Arrays.asList("org/docksidestage/PiariImpl.class"), onlyList); // components are not needed
+    }
+
+    // ===================================================================================
+    //                                                                           Processor
+    //                                                                           =========
+    public void test_processor_memberAnnotation() throws Exception {
+        // ## Arrange ##
+        final File srcDir = Files.createTempDirectory("annotation-index-src").toFile();
+        final File outDir = Files.createTempDirectory("annotation-index-out").toFile();
+        writeSource(srcDir, "SeaMark", "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\n" //
+                + "public @interface SeaMark {}");
+        writeSource(srcDir, "SeaAction", "public class SeaAction { @SeaMark public void go() {} }");
+        writeSource(srcDir, "LandForm", "public class LandForm { @SeaMark protected String name; }");
+        writeSource(srcDir, "PiariBean", "public class PiariBean { @SeaMark public PiariBean() {} }");
+        writeSource(srcDir, "BonvoBean", "public class BonvoBean { public void go() {} }");
+
+        // ## Act ##
+        final AnnotationIndex annotationIndex;
+        try {
+            compileWithProcessor(srcDir, outDir);
+            try (InputStream ins = new FileInputStream(new File(outDir, AnnotationIndex.INDEX_PATH))) {
+                annotationIndex = AnnotationIndex.load(ins);
+            }
+        } finally {
+            deleteRecursively(srcDir);
+            deleteRecursively(outDir);
+        }
+
+        // ## Assert ##
+        final HashSet<String> handlesTypeNames = new HashSet<>(Arrays.asList("org.docksidestage.SeaMark"));
+        final List<String> pathList = annotationIndex.selectCandidateClassPaths(handlesTypeNames, true);
+        log(pathList);
+        assertEquals(new HashSet<>(Arrays.asList("org/docksidestage/SeaAction.class", "org/docksidestage/LandForm.class",
+                "org/docksidestage/PiariBean.class")), new HashSet<>(pathList)); // method, field, constructor
+        assertFalse(annotationIndex.classTypesMap.containsKey("org.docksidestage.SeaMark")); // annotation type itself
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected String prepareIndex() {
+        return "org.docksidestage.SeaServlet:javax.servlet.annotation.WebServlet,javax.servlet.http.HttpServlet\n" //
+                + "org.docksidestage.LandFilter$Nested:javax.servlet.annotation.WebFilter\n" //
+                + "org.docksidestage.PiariImpl:org.docksidestage.PiariInterface,java.lang.Object\n" //
+                + "org.docksidestage.BonvoBean:java.lang.Object\n";
+    }
+
+    protected AnnotationIndex load(String index) throws IOException {
+        return AnnotationIndex.load(new ByteArrayInputStream(index.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    protected void writeSource(File srcDir, String className, String body) throws IOException {
+        final File pkgDir = new File(srcDir, "org/docksidestage");
+        pkgDir.mkdirs();
+        final String source = "package org.docksidestage;\n" + body + "\n";
+        Files.write(new File(pkgDir, className + ".java").toPath(), source.getBytes(StandardCharsets.UTF_8));
+    }
+
+    protected void compileWithProcessor(File srcDir, File outDir) {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler(); // null if JRE
+        assertNotNull(compiler);
+        final List<String> argList = new ArrayList<String>(Arrays.asList("-proc:only", "-processor",
+                AnnotationIndexProcessor.class.getName(), "-processorpath", System.getProperty("java.class.path"), "-d",
+                outDir.getAbsolutePath()));
+        for (File source : new File(srcDir, "org/docksidestage").listFiles()) {
+            argList.add(source.getAbsolutePath());
+        }
+        assertEquals(0, compiler.run(null, null, null, argList.toArray(new String[argList.size()])));
+    }
+
+    protected void deleteRecursively(File file) {
+        final File[] children = file.listFiles(); // null if file
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
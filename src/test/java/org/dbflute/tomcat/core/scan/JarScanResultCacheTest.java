@@ -0,0 +1,163 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.scan;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class JarScanResultCacheTest extends PlainTestCase {
+
+    protected File workDir;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        workDir = Files.createTempDirectory("jarscan").toFile();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        deleteRecursively(workDir);
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                        Load / Store
+    //                                                                        ============
+    public void test_store_load_sameSignature() throws Exception {
+        // ## Arrange ##
+        final File cacheFile = new File(workDir, "scancache/annotation.properties");
+        final File jarFile = createJar("sea.jar", "mystic");
+        final JarScanResultCache first = new JarScanResultCache(cacheFile, "tomcat9:handles=land");
+        assertEquals(0, first.load()); // no file yet
+        first.saveResult(jarFile, "none");
+
+        // ## Act ##
+        final int stored = first.store();
+        final JarScanResultCache second = new JarScanResultCache(cacheFile, "tomcat9:handles=land");
+        final int loaded = second.load();
+
+        // ## Assert ##
+        assertEquals(1, stored);
+        assertEquals(1, loaded);
+        assertEquals("none", second.findResult(jarFile));
+    }
+
+    public void test_load_signatureChanged() throws Exception {
+        // ## Arrange ##
+        final File cacheFile = new File(workDir, "annotation.properties");
+        final File jarFile = createJar("sea.jar", "mystic");
+        final JarScanResultCache first = new JarScanResultCache(cacheFile, "tomcat9:handles=land");
+        first.saveResult(jarFile, "none");
+        first.store();
+
+        // ## Act ##
+        final JarScanResultCache second = new JarScanResultCache(cacheFile, "tomcat9:handles=piari");
+        final int loaded = second.load();
+
+        // ## Assert ##
+        assertEquals(0, loaded);
+        assertNull(second.findResult(jarFile));
+    }
+
+    public void test_store_disappearedJarRemoved() throws Exception {
+        // ## Arrange ##
+        final File cacheFile = new File(workDir, "annotation.properties");
+        final File seaJar = createJar("sea.jar", "mystic");
+        final File landJar = createJar("land.jar", "oneman");
+        final JarScanResultCache first = new JarScanResultCache(cacheFile, "sig");
+        first.saveResult(seaJar, "none");
+        first.saveResult(landJar, "none");
+        first.store();
+
+        // ## Act ##
+        final JarScanResultCache second = new JarScanResultCache(cacheFile, "sig");
+        assertEquals(2, second.load());
+        assertEquals("none", second.findResult(seaJar)); // land is not found in this boot
+        final int stored = second.store();
+
+        // ## Assert ##
+        assertEquals(1, stored);
+        final JarScanResultCache third = new JarScanResultCache(cacheFile, "sig");
+        assertEquals(1, third.load());
+        assertNull(third.findResult(landJar));
+    }
+
+    // ===================================================================================
+    //                                                                       Result Access
+    //                                                                       =============
+    public void test_findResult_changedJar() throws Exception {
+        // ## Arrange ##
+        final File cacheFile = new File(workDir, "annotation.properties");
+        final File jarFile = createJar("sea.jar", "mystic");
+        final JarScanResultCache first = new JarScanResultCache(cacheFile, "sig");
+        first.saveResult(jarFile, "none");
+        first.store();
+        Files.write(jarFile.toPath(), "mystic and more".getBytes(StandardCharsets.UTF_8)); // size changed
+
+        // ## Act ##
+        final JarScanResultCache second = new JarScanResultCache(cacheFile, "sig");
+        second.load();
+
+        // ## Assert ##
+        assertNull(second.findResult(jarFile));
+    }
+
+    public void test_findResult_byUrl() throws Exception {
+        // ## Arrange ##
+        final File cacheFile = new File(workDir, "annotation.properties");
+        final File jarFile = createJar("sea.jar", "mystic");
+        final JarScanResultCache first = new JarScanResultCache(cacheFile, "sig");
+        first.saveResult(jarFile.toURI().toURL(), "none");
+        first.store();
+        final JarScanResultCache second = new JarScanResultCache(cacheFile, "sig");
+        second.load();
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals("none", second.findResult(new URL("jar:" + jarFile.toURI().toURL() + "!/")));
+        assertEquals("none", second.findResult(jarFile.toURI().toURL()));
+        assertNull(second.findResult(new URL("http://localhost/sea.jar"))); // not file
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected File createJar(String name, String content) throws IOException { // content is not checked
+        final File jarFile = new File(workDir, name);
+        Files.write(jarFile.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return jarFile;
+    }
+
+    protected void deleteRecursively(File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.scan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class OrderedParallelParserTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                                Take
+    //                                                                                ====
+    public void test_takeAll_inSubmittedOrder() {
+        // ## Arrange ##
+        final OrderedParallelParser<String> parser = new OrderedParallelParser<String>(4, "seaparse-");
+        final List<String> threadNameList = new CopyOnWriteArrayList<String>();
+        final List<String> expectedList = new ArrayList<String>();
+        for (int i = 0; i < 20; i++) {
+            final String name = "sea" + i;
+            expectedList.add(name);
+            if (i % 5 == 0) {
+                parser.add(name); // e.g. cached
+            } else {
+                final long sleepMillis = (20 - i) * 2L; // former tasks finish later
+                parser.submit(() -> {
+                    threadNameList.add(Thread.currentThread().getName());
+                    Thread.sleep(sleepMillis);
+                    return name;
+                });
+            }
+        }
+
+        // ## Act ##
+        final List<String> resultList = parser.takeAll();
+
+        // ## Assert ##
+        assertEquals(expectedList, resultList);
+        assertEquals(16, threadNameList.size());
+        threadNameList.forEach(threadName -> assertTrue(threadName.startsWith("seaparse-")));
+        assertTrue(parser.executor.isShutdown());
+    }
+
+    public void test_takeAll_contextClassLoader() {
+        // ## Arrange ##
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        final OrderedParallelParser<ClassLoader> parser = new OrderedParallelParser<ClassLoader>(2, "seaparse-");
+        parser.submit(() -> Thread.currentThread().getContextClassLoader());
+
+        // ## Act ##
+        final List<ClassLoader> resultList = parser.takeAll();
+
+        // ## Assert ##
+        assertSame(contextClassLoader, resultList.get(0));
+    }
+
+    public void test_takeAll_failure() {
+        // ## Arrange ##
+        final OrderedParallelParser<String> parser = new OrderedParallelParser<String>(2, "seaparse-");
+        parser.submit(() -> "sea");
+        parser.submit(() -> {
+            throw new IllegalStateException("land");
+        });
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(IllegalStateException.class, () -> parser.takeAll()).handle(cause -> {
+            assertEquals("land", cause.getMessage());
+        });
+        assertTrue(parser.executor.isShutdown());
+    }
+
+    public void test_constructor_illegalParallelism() {
+        assertException(IllegalArgumentException.class, () -> new OrderedParallelParser<String>(0, "seaparse-"));
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.scan;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.tomcat.Jar;
+import org.apache.tomcat.JarScannerCallback;
+import org.apache.tomcat.util.descriptor.web.FragmentJarScannerCallback;
+import org.apache.tomcat.util.descriptor.web.WebXml;
+import org.apache.tomcat.util.descriptor.web.WebXmlParser;
+import org.apache.tomcat.util.scan.JarFactory;
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class ParallelFragmentJarScannerCallbackTest extends PlainTestCase {
+
+    protected File workDir;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        workDir = Files.createTempDirectory("fragmentscan").toFile();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        deleteRecursively(workDir);
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                           Fragments
+    //                                                                           =========
+    public void test_takeFragments_sameAsStandard() throws Exception {
+        // ## Arrange ##
+        final List<File> fileList = new ArrayList<File>();
+        fileList.add(createFragmentJar("sea.jar", "sea"));
+        fileList.add(createFragmentJar("land.jar", "sea")); // duplicate name
+        fileList.add(createFragmentJar("piari.jar", null)); // no web-fragment.xml
+        for (int i = 0; i < 8; i++) {
+            fileList.add(createFragmentJar("bonvo" + i + ".jar", "bonvo" + i));
+        }
+        fileList.add(createFragmentDir("dstore", "dstore"));
+        final FragmentJarScannerCallback standard = new FragmentJarScannerCallback(newWebXmlParser(), false, true);
+        final ParallelFragmentJarScannerCallback parallel =
+                new ParallelFragmentJarScannerCallback(() -> newWebXmlParser(), false, true, 4);
+
+        // ## Act ##
+        scan(fileList, standard);
+        scan(fileList, parallel);
+        final Map<String, WebXml> fragments = parallel.takeFragments();
+
+        // ## Assert ##
+        log(fragments.keySet());
+        assertTrue(parallel.isOk());
+        assertEquals(toSummaryMap(standard.getFragments()), toSummaryMap(fragments));
+        assertEquals("sea.jar", fragments.get("sea").getJarName()); // first wins
+        assertEquals(1, fragments.get("sea").getDuplicates().size());
+        assertTrue(fragments.get("dstore").getURL().toString().endsWith("/dstore/"));
+    }
+
+    public void test_takeFragments_broken() throws Exception {
+        // ## Arrange ##
+        final List<File> fileList = new ArrayList<File>();
+        fileList.add(createFragmentJar("sea.jar", "sea"));
+        final File brokenJar = new File(workDir, "land.jar");
+        try (ZipOutputStream ous = new ZipOutputStream(new FileOutputStream(brokenJar))) {
+            ous.putNextEntry(new ZipEntry("META-INF/web-fragment.xml"));
+            ous.write("<web-fragment>".getBytes(StandardCharsets.UTF_8));
+            ous.closeEntry();
+        }
+        fileList.add(brokenJar);
+        final ParallelFragmentJarScannerCallback parallel =
+                new ParallelFragmentJarScannerCallback(() -> newWebXmlParser(), false, true, 2);
+
+        // ## Act ##
+        scan(fileList, parallel);
+        final Map<String, WebXml> fragments = parallel.takeFragments();
+
+        // ## Assert ##
+        assertFalse(parallel.isOk());
+        assertEquals(2, fragments.size()); // also broken one is added as standard
+    }
+
+    public void test_takeFragments_parseNotRequired() throws Exception {
+        // ## Arrange ##
+        final List<File> fileList = new ArrayList<File>();
+        fileList.add(createFragmentJar("sea.jar", "sea"));
+        final ParallelFragmentJarScannerCallback parallel =
+                new ParallelFragmentJarScannerCallback(() -> newWebXmlParser(), false, false, 2);
+
+        // ## Act ##
+        scan(fileList, parallel);
+        final Map<String, WebXml> fragments = parallel.takeFragments();
+
+        // ## Assert ##
+        assertEquals(1, fragments.size());
+        assertFalse(fragments.containsKey("sea")); // named by URL because not parsed
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected WebXmlParser newWebXmlParser() {
+        return new WebXmlParser(false, false, true);
+    }
+
+    protected void scan(List<File> fileList, JarScannerCallback callback) throws IOException {
+        for (File file : fileList) {
+            if (file.isDirectory()) {
+                callback.scan(file, "/WEB-INF/classes", true);
+            } else {
+                try (Jar jar = JarFactory.newInstance(file.toURI().toURL())) {
+                    callback.scan(jar, "/WEB-INF/lib/" + file.getName(), true);
+                }
+            }
+        }
+    }
+
+    protected Map<String, String> toSummaryMap(Map<String, WebXml> fragments) { // to compare as string
+        final Map<String, String> summaryMap = new TreeMap<String, String>();
+        fragments.forEach((name, fragment) -> {
+            summaryMap.put(name, fragment.getURL() + ", " + fragment.getJarName() + ", " + fragment.getDuplicates() + ", "
+                    + fragment.isDistributable());
+        });
+        return summaryMap;
+    }
+
+    protected File createFragmentJar(String jarName, String fragmentName) throws IOException {
+        final File jarFile = new File(workDir, jarName);
+        try (ZipOutputStream ous = new ZipOutputStream(new FileOutputStream(jarFile))) {
+            ous.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+            ous.closeEntry();
+            if (fragmentName != null) {
+                ous.putNextEntry(new ZipEntry("META-INF/web-fragment.xml"));
+                ous.write(buildFragmentXml(fragmentName).getBytes(StandardCharsets.UTF_8));
+                ous.closeEntry();
+            }
+        }
+        return jarFile;
+    }
+
+    protected File createFragmentDir(String dirName, String fragmentName) throws IOException {
+        final File dir = new File(workDir, dirName);
+        final File metaInfDir = new File(dir, "META-INF");
+        metaInfDir.mkdirs();
+        Files.write(new File(metaInfDir, "web-fragment.xml").toPath(), buildFragmentXml(fragmentName).getBytes(StandardCharsets.UTF_8));
+        return dir;
+    }
+
+    protected String buildFragmentXml(String fragmentName) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //
+                + "<web-fragment xmlns=\"http://xmlns.jcp.org/xml/ns/javaee\" version=\"4.0\">\n" //
+                + "  <name>" + fragmentName + "</name>\n" //
+                + "  <distributable/>\n" //
+                + "</web-fragment>\n";
+    }
+
+    protected void deleteRecursively(File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
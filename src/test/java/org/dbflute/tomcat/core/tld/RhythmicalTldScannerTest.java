@@ -0,0 +1,253 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.tld;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.servlet.ServletContext;
+
+import org.apache.tomcat.Jar;
+import org.apache.tomcat.JarScanFilter;
+import org.apache.tomcat.JarScanType;
+import org.apache.tomcat.JarScanner;
+import org.apache.tomcat.JarScannerCallback;
+import org.apache.tomcat.util.descriptor.tld.TaglibXml;
+import org.apache.tomcat.util.descriptor.tld.TldResourcePath;
+import org.apache.tomcat.util.scan.JarFactory;
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class RhythmicalTldScannerTest extends PlainTestCase {
+
+    protected File workDir;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        workDir = Files.createTempDirectory("tldscanner").toFile();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        final File[] children = workDir.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                child.delete();
+            }
+        }
+        workDir.delete();
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                           Parse TLD
+    //                                                                           =========
+    public void test_parseTld_reusedFromCache() throws Exception {
+        // ## Arrange ##
+        final File cacheFile = new File(workDir, "tld.cache");
+        final File jarFile = createTldJar("sea.jar");
+        final TldResourcePath path = new TldResourcePath(jarFile.toURI().toURL(), "/WEB-INF/lib/sea.jar", "META-INF/sea.tld");
+        final RhythmicalTldScanner first = newScanner(cacheFile);
+        first.parseTld(path); // parsed by jasper
+        first.parseCache.store();
+
+        // ## Act ##
+        final RhythmicalTldScanner second = newScanner(cacheFile);
+        second.parseCache.load();
+        second.parseTld(path);
+
+        // ## Assert ##
+        assertEquals(0, first.reusedCount);
+        assertEquals(1, first.parsedCount);
+        assertEquals(1, second.reusedCount);
+        assertEquals(0, second.parsedCount);
+        final TaglibXml parsed = first.getTldResourcePathTaglibXmlMap().get(path);
+        final TaglibXml reused = second.getTldResourcePathTaglibXmlMap().get(path);
+        assertNotSame(parsed, reused);
+        assertEquals(parsed.getUri(), reused.getUri());
+        assertEquals("mystic", reused.getTags().get(0).getName());
+        assertTrue(reused.getTags().get(0).getAttributes().get(0).isRequired());
+        assertEquals("java.lang.String piari(java.lang.String)", reused.getFunctions().get(0).getFunctionSignature());
+        assertEquals(path, second.getUriTldResourcePathMap().get("http://dbflute.org/sea")); // registered as jasper
+        assertEquals(Arrays.asList("org.docksidestage.SeaListener"), second.getListeners());
+    }
+
+    public void test_parseTld_sameJarTwice() throws Exception {
+        // ## Arrange ##
+        final File cacheFile = new File(workDir, "tld.cache");
+        final TldResourcePath path = new TldResourcePath(createTldJar("sea.jar").toURI().toURL(), null, "META-INF/sea.tld");
+        final RhythmicalTldScanner first = newScanner(cacheFile);
+        first.parseTld(path);
+        first.parseCache.store();
+        final RhythmicalTldScanner second = newScanner(cacheFile);
+        second.parseCache.load();
+
+        // ## Act ##
+        second.parseTld(path);
+        second.parseTld(path); // e.g. same jar in class path
+
+        // ## Assert ##
+        assertEquals(1, second.getTldResourcePathTaglibXmlMap().size());
+        assertEquals(1, second.getListeners().size()); // not added twice
+    }
+
+    // ===================================================================================
+    //                                                                            Parallel
+    //                                                                            ========
+    public void test_scanJars_parallel_sameAsSequential() throws Exception {
+        // ## Arrange ##
+        final List<File> jarList = new ArrayList<File>();
+        jarList.add(createTldJar("sea.jar", "http://dbflute.org/sea", "org.docksidestage.SeaListener"));
+        jarList.add(createTldJar("land.jar", "http://dbflute.org/sea", "org.docksidestage.LandListener")); // same URI
+        for (int i = 0; i < 8; i++) {
+            jarList.add(createTldJar("piari" + i + ".jar", "http://dbflute.org/piari" + i, "org.docksidestage.PiariListener" + i));
+        }
+        final ServletContext context = createServletContext(new MockJarScanner(jarList));
+        final RhythmicalTldScanner sequential = new RhythmicalTldScanner(context, true, false, true, null, 0);
+        final RhythmicalTldScanner parallel = new RhythmicalTldScanner(context, true, false, true, null, 4);
+
+        // ## Act ##
+        sequential.scanJars();
+        parallel.scanJars();
+
+        // ## Assert ##
+        assertEquals(10, parallel.parsedCount);
+        assertNull(parallel.jarTldParser); // shut down
+        assertEquals(sequential.getListeners(), parallel.getListeners()); // in scanned order
+        assertEquals("org.docksidestage.SeaListener", parallel.getListeners().get(0));
+        assertEquals(new ArrayList<>(sequential.getUriTldResourcePathMap().keySet()),
+                new ArrayList<>(parallel.getUriTldResourcePathMap().keySet()));
+        final TldResourcePath seaPath = parallel.getUriTldResourcePathMap().get("http://dbflute.org/sea");
+        assertEquals(jarList.get(0).toURI().toURL(), seaPath.getUrl()); // first wins
+        assertEquals(new ArrayList<>(sequential.getTldResourcePathTaglibXmlMap().keySet()),
+                new ArrayList<>(parallel.getTldResourcePathTaglibXmlMap().keySet()));
+    }
+
+    public void test_scanJars_parallel_reusedFromCache() throws Exception {
+        // ## Arrange ##
+        final File cacheFile = new File(workDir, "tld.cache");
+        final File seaJar = createTldJar("sea.jar");
+        final File landJar = createTldJar("land.jar", "http://dbflute.org/land", "org.docksidestage.LandListener");
+        final ServletContext context = createServletContext(new MockJarScanner(Arrays.asList(seaJar, landJar)));
+        final RhythmicalTldScanner first = new RhythmicalTldScanner(context, true, false, true, new TldParseCache(cacheFile, "sig"), 2);
+        first.scanJars();
+        first.parseCache.store();
+
+        // ## Act ##
+        final RhythmicalTldScanner second = new RhythmicalTldScanner(context, true, false, true, new TldParseCache(cacheFile, "sig"), 2);
+        second.parseCache.load();
+        second.scanJars();
+
+        // ## Assert ##
+        assertEquals(2, first.parsedCount);
+        assertEquals(2, second.reusedCount);
+        assertEquals(0, second.parsedCount);
+        assertEquals(Arrays.asList("org.docksidestage.SeaListener", "org.docksidestage.LandListener"), second.getListeners());
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected RhythmicalTldScanner newScanner(File cacheFile) {
+        final TldParseCache parseCache = new TldParseCache(cacheFile, "sig");
+        return new RhythmicalTldScanner(null, true, false, true, parseCache, 0); // servlet context is unused in parsing
+    }
+
+    protected ServletContext createServletContext(JarScanner jarScanner) { // only for jar scanner factory
+        return (ServletContext) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ServletContext.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getAttribute") && JarScanner.class.getName().equals(args[0])) {
+                        return jarScanner;
+                    }
+                    return null;
+                });
+    }
+
+    protected static class MockJarScanner implements JarScanner {
+
+        protected final List<File> jarList;
+
+        public MockJarScanner(List<File> jarList) {
+            this.jarList = jarList;
+        }
+
+        @Override
+        public void scan(JarScanType scanType, ServletContext context, JarScannerCallback callback) {
+            try {
+                for (File jarFile : jarList) {
+                    try (Jar jar = JarFactory.newInstance(jarFile.toURI().toURL())) {
+                        callback.scan(jar, "/WEB-INF/lib/" + jarFile.getName(), true);
+                    }
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public JarScanFilter getJarScanFilter() {
+            return null;
+        }
+
+        @Override
+        public void setJarScanFilter(JarScanFilter jarScanFilter) {
+        }
+    }
+
+    protected File createTldJar(String name) throws IOException {
+        return createTldJar(name, "http://dbflute.org/sea", "org.docksidestage.SeaListener");
+    }
+
+    protected File createTldJar(String name, String uri, String listenerClass) throws IOException {
+        final File jarFile = new File(workDir, name);
+        try (ZipOutputStream ous = new ZipOutputStream(new FileOutputStream(jarFile))) {
+            ous.putNextEntry(new ZipEntry("META-INF/sea.tld"));
+            ous.write(("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //
+                    + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n" //
+                    + "  <tlib-version>1.0</tlib-version>\n" //
+                    + "  <short-name>sea</short-name>\n" //
+                    + "  <uri>" + uri + "</uri>\n" //
+                    + "  <listener><listener-class>" + listenerClass + "</listener-class></listener>\n" //
+                    + "  <tag>\n" //
+                    + "    <name>mystic</name>\n" //
+                    + "    <tag-class>org.docksidestage.MysticTag</tag-class>\n" //
+                    + "    <body-content>empty</body-content>\n" //
+                    + "    <attribute><name>land</name><required>true</required><rtexprvalue>true</rtexprvalue></attribute>\n" //
+                    + "  </tag>\n" //
+                    + "  <function>\n" //
+                    + "    <name>piari</name>\n" //
+                    + "    <function-class>org.docksidestage.Piari</function-class>\n" //
+                    + "    <function-signature>java.lang.String piari(java.lang.String)</function-signature>\n" //
+                    + "  </function>\n" //
+                    + "</taglib>\n").getBytes(StandardCharsets.UTF_8));
+            ous.closeEntry();
+        }
+        return jarFile;
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.tld;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.servlet.jsp.tagext.TagAttributeInfo;
+import javax.servlet.jsp.tagext.TagVariableInfo;
+import javax.servlet.jsp.tagext.VariableInfo;
+
+import org.apache.tomcat.util.descriptor.tld.TagFileXml;
+import org.apache.tomcat.util.descriptor.tld.TagXml;
+import org.apache.tomcat.util.descriptor.tld.TaglibXml;
+import org.apache.tomcat.util.descriptor.tld.TldResourcePath;
+import org.apache.tomcat.util.descriptor.tld.ValidatorXml;
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class TldParseCacheTest extends PlainTestCase {
+
+    protected File workDir;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        workDir = Files.createTempDirectory("tldcache").toFile();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        deleteRecursively(workDir);
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                          Round Trip
+    //                                                                          ==========
+    public void test_store_load_roundTrip() throws Exception {
+        // ## Arrange ##
+        final File cacheFile = new File(workDir, "scancache/tld.cache");
+        final TldResourcePath path = newJarPath(createJar("sea.jar"), "META-INF/sea.tld");
+        final TldParseCache first = new TldParseCache(cacheFile, "sig");
+        assertEquals(0, first.load()); // no file
+        first.saveTaglib(path, newFullTaglib());
+        assertTrue(first.isChanged());
+        assertEquals(1, first.store());
+
+        // ## Act ##
+        final TldParseCache second = new TldParseCache(cacheFile, "sig");
+        final int loadedCount = second.load();
+        final TaglibXml cached = second.findTaglib(path);
+
+        // ## Assert ##
+        assertEquals(1, loadedCount);
+        assertNotNull(cached);
+        assertFalse(second.isChanged()); // so not stored again
+        assertEquals("1.2", cached.getTlibVersion());
+        assertEquals("2.1", cached.getJspVersion());
+        assertEquals("sea", cached.getShortName());
+        assertEquals("http://dbflute.org/sea", cached.getUri());
+        assertNull(cached.getInfo());
+        final ValidatorXml validator = cached.getValidator();
+        assertEquals("org.docksidestage.SeaValidator", validator.getValidatorClass());
+        assertEquals("over", validator.getInitParams().get("land"));
+        assertEquals(1, cached.getTags().size());
+        final TagXml tag = cached.getTags().get(0);
+        assertEquals("mystic", tag.getName());
+        assertEquals("org.docksidestage.MysticTag", tag.getTagClass());
+        assertEquals("org.docksidestage.MysticTei", tag.getTeiClass());
+        assertEquals("scriptless", tag.getBodyContent());
+        assertEquals("ミスティック", tag.getDisplayName()); // multi-byte
+        assertTrue(tag.hasDynamicAttributes());
+        final TagAttributeInfo attribute = tag.getAttributes().get(0);
+        assertEquals("bonvo", attribute.getName());
+        assertTrue(attribute.isRequired());
+        assertEquals("java.lang.String", attribute.getTypeName());
+        assertTrue(attribute.canBeRequestTime());
+        assertFalse(attribute.isFragment());
+        assertTrue(attribute.isDeferredValue());
+        assertEquals("java.lang.Integer", attribute.getExpectedTypeName());
+        assertNull(attribute.getMethodSignature());
+        final TagVariableInfo variable = tag.getVariables().get(0);
+        assertEquals("dstore", variable.getNameGiven());
+        assertNull(variable.getNameFromAttribute());
+        assertEquals("java.lang.Long", variable.getClassName());
+        assertEquals(VariableInfo.AT_END, variable.getScope());
+        final TagFileXml tagFile = cached.getTagFiles().get(0);
+        assertEquals("amba", tagFile.getName());
+        assertEquals("/META-INF/tags/amba.tag", tagFile.getPath());
+        assertEquals("org.docksidestage.SeaListener", cached.getListeners().get(0));
+        assertEquals("piari", cached.getFunctions().get(0).getName());
+        assertEquals("org.docksidestage.Piari", cached.getFunctions().get(0).getFunctionClass());
+        assertEquals("java.lang.String piari(java.lang.String)", cached.getFunctions().get(0).getFunctionSignature());
+    }
+
+    // ===================================================================================
+    //                                                                         Invalidated
+    //                                                                         ===========
+    public void test_findTaglib_jarChanged() throws Exception {
+        // ## Arrange ##
+        final File cacheFile = new File(workDir, "tld.cache");
+        final File jarFile = createJar("sea.jar");
+        final TldResourcePath path = newJarPath(jarFile, "META-INF/sea.tld");
+        final TldParseCache first = new TldParseCache(cacheFile, "sig");
+        first.saveTaglib(path, newFullTaglib());
+        first.store();
+        Files.write(jarFile.toPath(), "changed".getBytes(StandardCharsets.UTF_8)); // size changed
+
+        // ## Act ##
+        final TldParseCache second = new TldParseCache(cacheFile, "sig");
+        second.load();
+
+        // ## Assert ##
+        assertNull(second.findTaglib(path));
+        assertTrue(second.isChanged()); // removed from cache
+        assertEquals(0, second.store());
+    }
+
+    public void test_load_signatureChanged() throws Exception {
+        // ## Arrange ##
+        final File cacheFile = new File(workDir, "tld.cache");
+        final TldResourcePath path = newJarPath(createJar("sea.jar"), "META-INF/sea.tld");
+        final TldParseCache first = new TldParseCache(cacheFile, "9.0.86|validate=false");
+        first.saveTaglib(path, newFullTaglib());
+        first.store();
+
+        // ## Act ##
+        final TldParseCache second = new TldParseCache(cacheFile, "9.0.86|validate=true");
+
+        // ## Assert ##
+        assertEquals(0, second.load());
+        assertNull(second.findTaglib(path));
+    }
+
+    public void test_load_broken() throws Exception {
+        // ## Arrange ##
+        final File cacheFile = new File(workDir, "tld.cache");
+        Files.write(cacheFile.toPath(), "broken".getBytes(StandardCharsets.UTF_8));
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals(0, new TldParseCache(cacheFile, "sig").load()); // no exception
+    }
+
+    public void test_findTaglib_notInFileJar() throws Exception {
+        // ## Arrange ##
+        final TldParseCache cache = new TldParseCache(new File(workDir, "tld.cache"), "sig");
+        final File tldFile = new File(workDir, "sea.tld");
+        final TldResourcePath webInfPath = new TldResourcePath(tldFile.toURI().toURL(), "/WEB-INF/sea.tld"); // not in jar
+
+        // ## Act ##
+        cache.saveTaglib(webInfPath, newFullTaglib());
+
+        // ## Assert ##
+        assertNull(cache.findTaglib(webInfPath));
+        assertEquals(0, cache.store());
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected TaglibXml newFullTaglib() {
+        final TaglibXml taglib = new TaglibXml();
+        taglib.setTlibVersion("1.2");
+        taglib.setJspVersion("2.1");
+        taglib.setShortName("sea");
+        taglib.setUri("http://dbflute.org/sea");
+        final ValidatorXml validator = new ValidatorXml();
+        validator.setValidatorClass("org.docksidestage.SeaValidator");
+        validator.addInitParam("land", "over");
+        taglib.setValidator(validator);
+        final TagXml tag = new TagXml();
+        tag.setName("mystic");
+        tag.setTagClass("org.docksidestage.MysticTag");
+        tag.setTeiClass("org.docksidestage.MysticTei");
+        tag.setBodyContent("scriptless");
+        tag.setDisplayName("ミスティック");
+        tag.setDynamicAttributes(true);
+        tag.getAttributes().add(new TagAttributeInfo("bonvo", true, "java.lang.String", true, false, "desc", true, false,
+                "java.lang.Integer", null));
+        tag.getVariables().add(new TagVariableInfo("dstore", null, "java.lang.Long", true, VariableInfo.AT_END));
+        taglib.addTag(tag);
+        final TagFileXml tagFile = new TagFileXml();
+        tagFile.setName("amba");
+        tagFile.setPath("/META-INF/tags/amba.tag");
+        taglib.addTagFile(tagFile);
+        taglib.addListener("org.docksidestage.SeaListener");
+        taglib.addFunction("piari", "org.docksidestage.Piari", "java.lang.String piari(java.lang.String)");
+        return taglib;
+    }
+
+    protected TldResourcePath newJarPath(File jarFile, String entryName) throws IOException {
+        return new TldResourcePath(jarFile.toURI().toURL(), "/WEB-INF/lib/" + jarFile.getName(), entryName);
+    }
+
+    protected File createJar(String name) throws IOException {
+        final File jarFile = new File(workDir, name);
+        try (ZipOutputStream ous = new ZipOutputStream(new FileOutputStream(jarFile))) {
+            ous.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+            ous.closeEntry();
+        }
+        return jarFile;
+    }
+
+    protected void deleteRecursively(File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
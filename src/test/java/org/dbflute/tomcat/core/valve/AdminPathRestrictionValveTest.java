@@ -0,0 +1,52 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.valve;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.catalina.connector.Connector;
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class AdminPathRestrictionValveTest extends PlainTestCase {
+
+    public void test_isAllowedPath_basic() {
+        // ## Arrange ##
+        final AdminPathRestrictionValve valve = new AdminPathRestrictionValve(new Connector("HTTP/1.1"),
+                Arrays.asList("/fortress/health", "/fortress/metrics/"));
+
+        // ## Act ##
+        // ## Assert ##
+        assertTrue(valve.isAllowedPath("/fortress/health"));
+        assertTrue(valve.isAllowedPath("/fortress/health/deep"));
+        assertTrue(valve.isAllowedPath("/fortress/metrics/jvm"));
+        assertFalse(valve.isAllowedPath("/fortress/healthy")); // not path boundary
+        assertFalse(valve.isAllowedPath("/fortress/metrics")); // allowed path ends with slash
+        assertFalse(valve.isAllowedPath("/fortress/"));
+        assertFalse(valve.isAllowedPath(null));
+    }
+
+    public void test_constructor_illegal() {
+        assertException(IllegalArgumentException.class, () -> new AdminPathRestrictionValve(null, Arrays.asList("/health")));
+        assertException(IllegalArgumentException.class, () -> {
+            new AdminPathRestrictionValve(new Connector("HTTP/1.1"), Collections.emptyList());
+        });
+    }
+}
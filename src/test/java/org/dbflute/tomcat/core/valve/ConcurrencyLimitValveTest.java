@@ -0,0 +1,179 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.valve;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletException;
+
+import org.apache.catalina.Globals;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class ConcurrencyLimitValveTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                                AIMD
+    //                                                                                ====
+    public void test_release_additiveIncrease() {
+        // ## Arrange ##
+        final ConcurrencyLimitValve valve = new ConcurrencyLimitValve(null);
+        valve.setInitialLimit(10);
+        valve.inFlight.set(5); // half of limit, well used
+
+        // ## Act ##
+        valve.release(System.nanoTime());
+
+        // ## Assert ##
+        assertEquals(11, valve.getLimit());
+        assertEquals(4, valve.getInFlight());
+    }
+
+    public void test_release_notWellUsed() {
+        // ## Arrange ##
+        final ConcurrencyLimitValve valve = new ConcurrencyLimitValve(null);
+        valve.setInitialLimit(10);
+        valve.inFlight.set(4); // less than half
+
+        // ## Act ##
+        valve.release(System.nanoTime());
+
+        // ## Assert ##
+        assertEquals(10, valve.getLimit());
+    }
+
+    public void test_release_multiplicativeDecrease() {
+        // ## Arrange ##
+        final ConcurrencyLimitValve valve = new ConcurrencyLimitValve(null);
+        valve.setInitialLimit(100);
+        valve.setLatencyThresholdMillis(100L);
+        valve.setBackoffRatio(0.9);
+        valve.inFlight.set(100);
+
+        // ## Act ##
+        valve.release(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(200)); // slow
+
+        // ## Assert ##
+        assertEquals(90, valve.getLimit());
+    }
+
+    public void test_release_bounded() {
+        // ## Arrange ##
+        final ConcurrencyLimitValve valve = new ConcurrencyLimitValve(null);
+        valve.setMinLimit(4);
+        valve.setMaxLimit(10);
+        valve.setInitialLimit(10);
+        valve.setLatencyThresholdMillis(100L);
+        valve.setBackoffRatio(0.5);
+
+        // ## Act ##
+        // ## Assert ##
+        valve.inFlight.set(10);
+        valve.release(System.nanoTime());
+        assertEquals(10, valve.getLimit()); // not over max
+        for (int i = 0; i < 5; i++) {
+            valve.inFlight.set(1);
+            valve.release(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(200));
+        }
+        assertEquals(4, valve.getLimit()); // not under min
+    }
+
+    // ===================================================================================
+    //                                                                              Invoke
+    //                                                                              ======
+    public void test_invoke_overLimit() throws Exception {
+        // ## Arrange ##
+        final ConcurrencyLimitValve valve = new ConcurrencyLimitValve(null);
+        valve.setMinLimit(1);
+        valve.setInitialLimit(1);
+        final CountingValve next = new CountingValve(valve);
+        valve.setNext(next);
+        valve.inFlight.set(1); // already full
+        final Request request = createRequest(DispatcherType.REQUEST);
+
+        // ## Act ##
+        valve.invoke(request, createResponse(request));
+
+        // ## Assert ##
+        assertEquals(0, next.invokedCount);
+        assertEquals(1, valve.getRejectedCount());
+        assertEquals(1, valve.getInFlight());
+    }
+
+    public void test_invoke_asyncDispatch_notCounted() throws Exception {
+        // ## Arrange ##
+        final ConcurrencyLimitValve valve = new ConcurrencyLimitValve(null);
+        valve.setMinLimit(1);
+        valve.setInitialLimit(1);
+        final CountingValve next = new CountingValve(valve);
+        valve.setNext(next);
+        valve.inFlight.set(1); // counted by original request waiting async completion
+        final Request request = createRequest(DispatcherType.ASYNC);
+
+        // ## Act ##
+        valve.invoke(request, createResponse(request));
+
+        // ## Assert ##
+        assertEquals(1, next.invokedCount); // not rejected
+        assertEquals(1, next.inFlightOnInvoked); // not counted again
+        assertEquals(0, valve.getRejectedCount());
+        assertEquals(1, valve.getInFlight()); // not released here
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected Request createRequest(DispatcherType dispatcherType) {
+        final Request request = new Request(new Connector("HTTP/1.1"));
+        request.setCoyoteRequest(new org.apache.coyote.Request());
+        request.setAttribute(Globals.DISPATCHER_TYPE_ATTR, dispatcherType);
+        return request;
+    }
+
+    protected Response createResponse(Request request) {
+        final Response response = new Response();
+        response.setCoyoteResponse(new org.apache.coyote.Response());
+        response.setRequest(request);
+        request.setResponse(response);
+        return response;
+    }
+
+    protected static class CountingValve extends ValveBase {
+
+        protected final ConcurrencyLimitValve limitValve;
+        protected int invokedCount;
+        protected int inFlightOnInvoked;
+
+        public CountingValve(ConcurrencyLimitValve limitValve) {
+            this.limitValve = limitValve;
+        }
+
+        @Override
+        public void invoke(Request request, Response response) throws IOException, ServletException {
+            ++invokedCount;
+            inFlightOnInvoked = limitValve.getInFlight();
+        }
+    }
+}
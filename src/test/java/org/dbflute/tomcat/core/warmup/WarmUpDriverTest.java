@@ -0,0 +1,137 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.core.warmup;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.KeyStore;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class WarmUpDriverTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                               HTTPS
+    //                                                                               =====
+    public void test_drive_https_selfSigned() throws Exception {
+        // ## Arrange ##
+        final File workDir = Files.createTempDirectory("warmup").toFile();
+        final HttpsServer server = startSelfSignedServer(workDir); // certificate for other host than bound address
+        try {
+            final List<String> messageList = new CopyOnWriteArrayList<String>();
+            final String baseUrl = "https://127.0.0.1:" + server.getAddress().getPort() + "/fortress";
+            final WarmUpDriver driver = new WarmUpDriver(baseUrl, msg -> messageList.add(msg));
+
+            // ## Act ##
+            final String summary = driver.drive(new WarmUpOption().get("/sea").times(2));
+
+            // ## Assert ##
+            log(summary, messageList);
+            assertContains(summary, "executed=2, failures=0");
+            assertTrue(messageList.isEmpty());
+        } finally {
+            server.stop(0);
+            deleteRecursively(workDir);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                             Failure
+    //                                                                             =======
+    public void test_drive_allFailed_warned() throws Exception {
+        // ## Arrange ##
+        final int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        final List<String> messageList = new CopyOnWriteArrayList<String>();
+        final WarmUpDriver driver = new WarmUpDriver("http://127.0.0.1:" + closedPort + "/fortress", msg -> messageList.add(msg));
+
+        // ## Act ##
+        final String summary = driver.drive(new WarmUpOption().get("/sea").get("/land").timeoutMillis(2000));
+
+        // ## Assert ##
+        log(summary, messageList);
+        assertContains(summary, "executed=2, failures=2");
+        assertEquals(3, messageList.size()); // two failures and one warning
+        assertContains(messageList.get(2), "all requests failed");
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected HttpsServer startSelfSignedServer(File workDir) throws Exception {
+        final File keystoreFile = new File(workDir, "sea.p12");
+        final String password = "changeit";
+        final String keytool = new File(System.getProperty("java.home"), "bin/keytool").getPath();
+        final Process process = new ProcessBuilder(keytool, "-genkeypair", "-alias", "sea", "-keyalg", "RSA", "-keysize", "2048",
+                "-dname", "CN=sea.example.com", "-validity", "1", "-storetype", "PKCS12", "-keystore", keystoreFile.getPath(),
+                "-storepass", password, "-keypass", password).redirectErrorStream(true).start();
+        assertTrue(process.waitFor(60L, TimeUnit.SECONDS));
+        assertEquals(0, process.exitValue());
+
+        final KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream ins = new FileInputStream(keystoreFile)) {
+            keyStore.load(ins, password.toCharArray());
+        }
+        final KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, password.toCharArray());
+        final SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(keyManagerFactory.getKeyManagers(), null, null);
+
+        final HttpsServer server = HttpsServer.create(new InetSocketAddress(InetAddress.getByName("127.0.0.1"), 0), 0);
+        server.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+        server.createContext("/fortress", exchange -> {
+            final byte[] body = "mystic".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream ous = exchange.getResponseBody()) {
+                ous.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    protected void deleteRecursively(File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,555 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.tomcat.props;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.apache.catalina.Executor;
+import org.apache.catalina.Valve;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.core.StandardThreadExecutor;
+import org.apache.catalina.core.StandardVirtualThreadExecutor;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.apache.tomcat.util.IntrospectionUtils;
+import org.dbflute.tomcat.core.accesslog.AccessLogFormat;
+import org.dbflute.tomcat.core.accesslog.AccessLogFsyncPolicy;
+import org.dbflute.tomcat.core.accesslog.AccessLogOption;
+import org.dbflute.tomcat.core.accesslog.AccessLogOverflowPolicy;
+import org.dbflute.tomcat.core.servlet.DefaultServletOption;
+import org.dbflute.tomcat.core.valve.AdminPathRestrictionValve;
+import org.dbflute.tomcat.logging.BootLogger;
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.8.5 (2026/10/16 Friday)
+ */
+public class BootPropsTranslatorTest extends PlainTestCase {
+
+    protected File baseDir;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        baseDir = Files.createTempDirectory("bootprops").toFile();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        deleteRecursively(baseDir);
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                     Virtual Threads
+    //                                                                     ===============
+    public void test_setupRequestExecutorIfNeeds_virtualThreads() {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final Tomcat server = createServer();
+        final Properties props = new Properties();
+        props.setProperty("tomcat.executor.virtualThreads", "true");
+
+        // ## Act ##
+        translator.setupRequestExecutorIfNeeds(createLogger(), server, props);
+
+        // ## Assert ##
+        final Executor[] executors = server.getService().findExecutors();
+        if (translator.isVirtualThreadsSupported()) { // e.g. Java21
+            assertEquals(1, executors.length);
+            assertTrue(executors[0] instanceof StandardVirtualThreadExecutor);
+            assertSame(executors[0], server.getConnector().getProtocolHandler().getExecutor());
+        } else { // platform threads as usual
+            assertEquals(0, executors.length);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Thread Pool
+    //                                                                         ===========
+    public void test_setupRequestExecutorIfNeeds_threadPool() {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final Tomcat server = createServer();
+        final Properties props = new Properties();
+        props.setProperty("tomcat.executor.maxThreads", "10"); // less than default minSpareThreads
+        props.setProperty("tomcat.executor.maxQueueSize", "100");
+        props.setProperty("tomcat.executor.namePrefix", "sea-exec-");
+        props.setProperty("tomcat.executor.daemon", " "); // ignored
+
+        // ## Act ##
+        translator.setupRequestExecutorIfNeeds(createLogger(), server, props);
+
+        // ## Assert ##
+        final Executor[] executors = server.getService().findExecutors();
+        assertEquals(1, executors.length);
+        final StandardThreadExecutor executor = (StandardThreadExecutor) executors[0];
+        assertEquals("tomcatThreadPool", executor.getName());
+        assertEquals("sea-exec-", executor.getNamePrefix());
+        assertEquals(10, executor.getMaxThreads());
+        assertEquals(10, executor.getMinSpareThreads()); // adjusted
+        assertEquals(100, executor.getMaxQueueSize());
+        assertSame(executor, server.getConnector().getProtocolHandler().getExecutor());
+    }
+
+    public void test_reflectThreadPoolProperty_unknown() {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final StandardThreadExecutor executor = new StandardThreadExecutor();
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(IllegalStateException.class, () -> translator.reflectThreadPoolProperty(createLogger(), executor, "maxThread", "10"));
+        assertException(IllegalStateException.class, () -> translator.reflectThreadPoolProperty(createLogger(), executor, "maxThreads", "ten"));
+    }
+
+    public void test_reflectThreadPoolProperty_prestartminSpareThreads() throws Exception {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final StandardThreadExecutor executor = new StandardThreadExecutor();
+        translator.reflectThreadPoolProperty(createLogger(), executor, "minSpareThreads", "3");
+        translator.reflectThreadPoolProperty(createLogger(), executor, "prestartminSpareThreads", "true");
+
+        // ## Act ##
+        executor.start();
+        try {
+            // ## Assert ##
+            assertEquals(3, executor.getPoolSize()); // prestarted by executor of this Tomcat without tasks
+        } finally {
+            executor.stop();
+        }
+    }
+
+    public void test_reflectThreadPoolProperty_prestartminSpareThreads_false() {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final StandardThreadExecutor executor = new StandardThreadExecutor();
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(IllegalStateException.class, () -> {
+            translator.reflectThreadPoolProperty(createLogger(), executor, "prestartminSpareThreads", "false");
+        });
+    }
+
+    // ===================================================================================
+    //                                                                        Pass-through
+    //                                                                        ============
+    public void test_setupPassThroughConfig_basic() {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final Connector connector = createServer().getConnector();
+        final Properties props = new Properties();
+        props.setProperty("tomcat.connector.enableLookups", "true");
+        props.setProperty("tomcat.protocol.acceptCount", " 321 ");
+        props.setProperty("tomcat.protocol.socket.rxBufSize", "65536"); // to socket properties
+        props.setProperty("tomcat.protocol.keepAliveTimeout", ""); // ignored
+
+        // ## Act ##
+        translator.setupPassThroughConfig(createLogger(), props, connector);
+
+        // ## Assert ##
+        assertTrue(connector.getEnableLookups());
+        assertEquals(321, ((AbstractProtocol<?>) connector.getProtocolHandler()).getAcceptCount());
+        assertEquals("65536", String.valueOf(IntrospectionUtils.getProperty(connector.getProtocolHandler(), "socket.rxBufSize")));
+    }
+
+    public void test_setupPassThroughConfig_unknown() {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final Connector connector = createServer().getConnector();
+        final Properties props = new Properties();
+        props.setProperty("tomcat.connector.noSuchProperty", "true");
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(IllegalStateException.class, () -> translator.setupPassThroughConfig(createLogger(), props, connector));
+    }
+
+    public void test_setupPassThroughConfig_enabledIsUnknown() {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final Properties connectorProps = new Properties();
+        connectorProps.setProperty("tomcat.connector.enabled", "true"); // not switch unlike http2
+        final Properties protocolProps = new Properties();
+        protocolProps.setProperty("tomcat.protocol.enabled", "true");
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(IllegalStateException.class, () -> {
+            translator.setupPassThroughConfig(createLogger(), connectorProps, createServer().getConnector());
+        });
+        assertException(IllegalStateException.class, () -> {
+            translator.setupPassThroughConfig(createLogger(), protocolProps, createServer().getConnector());
+        });
+    }
+
+    public void test_extractPassThroughName_basic() {
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        assertEquals("socket.rxBufSize", translator.extractPassThroughName("tomcat.protocol.socket.rxBufSize"));
+        assertEquals("enableLookups", translator.extractPassThroughName("tomcat.connector.enableLookups"));
+        assertEquals("maxConcurrentStreams", translator.extractPassThroughName("tomcat.http2.maxConcurrentStreams"));
+    }
+
+    // ===================================================================================
+    //                                                                              HTTP/2
+    //                                                                              ======
+    public void test_setupServerConfigIfNeeds_http2() {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final Tomcat server = createServer();
+        final Properties props = new Properties();
+        props.setProperty("tomcat.http2.enabled", "true");
+        props.setProperty("tomcat.http2.maxConcurrentStreams", "50");
+
+        // ## Act ##
+        translator.setupServerConfigIfNeeds(createLogger(), server, server.getConnector(), props, Arrays.asList("sea_config.properties"));
+
+        // ## Assert ##
+        final UpgradeProtocol[] upgradeProtocols = server.getConnector().findUpgradeProtocols();
+        assertEquals(1, upgradeProtocols.length);
+        assertEquals(50, ((Http2Protocol) upgradeProtocols[0]).getMaxConcurrentStreams());
+    }
+
+    public void test_setupServerConfigIfNeeds_http2_disabled() {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final Tomcat server = createServer();
+        final Properties props = new Properties();
+        props.setProperty("tomcat.http2.enabled", "false");
+        props.setProperty("tomcat.http2.maxConcurrentStreams", "50");
+
+        // ## Act ##
+        translator.setupServerConfigIfNeeds(createLogger(), server, server.getConnector(), props, Arrays.asList("sea_config.properties"));
+
+        // ## Assert ##
+        assertEquals(0, server.getConnector().findUpgradeProtocols().length);
+    }
+
+    // ===================================================================================
+    //                                                                     Admin Connector
+    //                                                                     ===============
+    public void test_setupAdminConnectorIfNeeds_basic() {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final Tomcat server = createServer();
+        final Properties props = new Properties();
+        props.setProperty("tomcat.admin.port", "0");
+        props.setProperty("tomcat.admin.maxThreads", "2");
+        props.setProperty("tomcat.admin.allowedPaths", "/fortress/health, ,/fortress/metrics");
+
+        // ## Act ##
+        translator.setupAdminConnectorIfNeeds(createLogger(), server, props, Arrays.asList("sea_config.properties"));
+
+        // ## Assert ##
+        final Connector[] connectors = server.getService().findConnectors();
+        assertEquals(2, connectors.length);
+        final Connector adminConnector = connectors[1];
+        final StandardThreadExecutor executor = (StandardThreadExecutor) adminConnector.getProtocolHandler().getExecutor();
+        assertEquals("tomcatAdminThreadPool", executor.getName());
+        assertEquals(2, executor.getMaxThreads());
+        assertNull(connectors[0].getProtocolHandler().getExecutor()); // main connector has own pool
+        final AdminPathRestrictionValve valve = findAdminValve(server);
+        assertSame(adminConnector, valve.getAdminConnector());
+        assertEquals(Arrays.asList("/fortress/health", "/fortress/metrics"), valve.getAllowedPathList());
+    }
+
+    public void test_setupAdminConnectorIfNeeds_noPort() {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final Tomcat server = createServer();
+        final Properties props = new Properties();
+        props.setProperty("tomcat.admin.maxThreads", "2");
+
+        // ## Act ##
+        translator.setupAdminConnectorIfNeeds(createLogger(), server, props, Arrays.asList("sea_config.properties"));
+
+        // ## Assert ##
+        assertEquals(1, server.getService().findConnectors().length);
+        assertNull(findAdminValve(server));
+    }
+
+    protected AdminPathRestrictionValve findAdminValve(Tomcat server) { // null allowed
+        for (Valve valve : server.getEngine().getPipeline().getValves()) {
+            if (valve instanceof AdminPathRestrictionValve) {
+                return (AdminPathRestrictionValve) valve;
+            }
+        }
+        return null;
+    }
+
+    // ===================================================================================
+    //                                                                         Compression
+    //                                                                         ===========
+    public void test_setupServerConfigIfNeeds_compression() {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final Tomcat server = createServer();
+        final Properties props = new Properties();
+        props.setProperty("tomcat.compression", "on");
+        props.setProperty("tomcat.compressionMinSize", "1024");
+        props.setProperty("tomcat.compressibleMimeType", "application/json,text/html");
+
+        // ## Act ##
+        translator.setupServerConfigIfNeeds(createLogger(), server, server.getConnector(), props, Arrays.asList("sea_config.properties"));
+
+        // ## Assert ##
+        final AbstractHttp11Protocol<?> protocol = (AbstractHttp11Protocol<?>) server.getConnector().getProtocolHandler();
+        assertEquals("on", protocol.getCompression());
+        assertEquals(1024, protocol.getCompressionMinSize());
+        assertEquals("application/json,text/html", protocol.getCompressibleMimeType());
+    }
+
+    public void test_prepareDefaultServletOption_precompressed() {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final Properties props = new Properties();
+        props.setProperty("tomcat.defaultServlet.precompressed", "gzip=.gz,br=.br");
+
+        // ## Act ##
+        final DefaultServletOption option = translator.prepareDefaultServletOption(createLogger(), props, Arrays.asList("sea"));
+
+        // ## Assert ##
+        assertEquals("gzip=.gz,br=.br", option.getPrecompressed().get());
+        assertFalse(option.getSendfileSize().isPresent());
+        assertNull(translator.prepareDefaultServletOption(createLogger(), new Properties(), Arrays.asList("sea"))); // as default
+    }
+
+    // ===================================================================================
+    //                                                                      Large Download
+    //                                                                      ==============
+    public void test_prepareDefaultServletOption_largeDownload() {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final Properties props = new Properties();
+        props.setProperty("tomcat.largeDownload.threshold", "1024");
+
+        // ## Act ##
+        final DefaultServletOption option = translator.prepareDefaultServletOption(createLogger(), props, Arrays.asList("sea"));
+
+        // ## Assert ##
+        assertEquals(Integer.valueOf(1024), option.getSendfileSize().get());
+        assertEquals(Integer.valueOf(64 * 1024), option.getOutputBufferSize().get());
+    }
+
+    public void test_prepareDefaultServletOption_largeDownload_explicit() {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final Properties props = new Properties();
+        props.setProperty("tomcat.largeDownload.threshold", "1024");
+        props.setProperty("tomcat.defaultServlet.sendfileSize", "512");
+        props.setProperty("tomcat.defaultServlet.outputBufferSize", "8192");
+
+        // ## Act ##
+        final DefaultServletOption option = translator.prepareDefaultServletOption(createLogger(), props, Arrays.asList("sea"));
+
+        // ## Assert ##
+        assertEquals(Integer.valueOf(512), option.getSendfileSize().get()); // explicit is prior
+        assertEquals(Integer.valueOf(8192), option.getOutputBufferSize().get());
+    }
+
+    public void test_setupServerConfigIfNeeds_largeDownload() {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final Tomcat server = createServer();
+        final AbstractHttp11Protocol<?> protocol = (AbstractHttp11Protocol<?>) server.getConnector().getProtocolHandler();
+        protocol.setUseSendfile(false);
+        final Properties props = new Properties();
+        props.setProperty("tomcat.largeDownload.threshold", "1024");
+
+        // ## Act ##
+        translator.setupServerConfigIfNeeds(createLogger(), server, server.getConnector(), props, Arrays.asList("sea_config.properties"));
+
+        // ## Assert ##
+        assertTrue(protocol.getUseSendfile());
+    }
+
+    // ===================================================================================
+    //                                                                   Access Log Option
+    //                                                                   =================
+    public void test_prepareAccessLogOption_basic() {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final Properties props = new Properties();
+        props.setProperty("tomcat.accesslog.enabled", "true");
+        props.setProperty("tomcat.accesslog.format", " Json ");
+        props.setProperty("tomcat.accesslog.overflowPolicy", "drop");
+        props.setProperty("tomcat.accesslog.fsync", "interval");
+        props.setProperty("tomcat.accesslog.compressRotated", "true");
+        props.setProperty("tomcat.accesslog.maxHistory", "7");
+        props.setProperty("tomcat.accesslog.maxTotalSize", "512MB");
+        props.setProperty("tomcat.accesslog.sampleRate", "10");
+
+        // ## Act ##
+        final AccessLogOption option = translator.prepareAccessLogOption(createLogger(), props, Arrays.asList("sea"));
+
+        // ## Assert ##
+        assertEquals(AccessLogFormat.JSON, option.getFormat().get());
+        assertEquals(AccessLogOverflowPolicy.DROP, option.getOverflowPolicy().get());
+        assertEquals(AccessLogFsyncPolicy.INTERVAL, option.getFsyncPolicy().get());
+        assertTrue(option.isCompressRotated());
+        assertEquals(Integer.valueOf(7), option.getMaxHistory().get());
+        assertEquals(Long.valueOf(512L * 1024L * 1024L), option.getMaxTotalSize().get());
+        assertEquals(Integer.valueOf(10), option.getSampleRate().get());
+    }
+
+    public void test_prepareAccessLogOption_unknownEnum() {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(IllegalStateException.class, () -> translator.toAccessLogFormat("xml"));
+        assertException(IllegalStateException.class, () -> translator.toAccessLogOverflowPolicy("wait"));
+        assertException(IllegalStateException.class, () -> translator.toAccessLogFsyncPolicy("sometimes"));
+    }
+
+    public void test_prepareAccessLogOption_disabled() {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final Properties props = new Properties();
+        props.setProperty("tomcat.accesslog.enabled", "false");
+        props.setProperty("tomcat.accesslog.format", "json");
+
+        // ## Act ##
+        // ## Assert ##
+        assertNull(translator.prepareAccessLogOption(createLogger(), props, Arrays.asList("sea")));
+    }
+
+    // ===================================================================================
+    //                                                                  Unix Domain Socket
+    //                                                                  ==================
+    public void test_deleteStaleUnixDomainSocketIfExists_staleSocket() throws Exception {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final File socketFile = new File(baseDir, "sea.sock");
+        if (!bindAndCloseUnixDomainSocket(socketFile)) {
+            log("*Skipped because unix domain socket is not supported on this JVM or OS");
+            return;
+        }
+        assertTrue(Files.exists(socketFile.toPath(), LinkOption.NOFOLLOW_LINKS)); // remains after close
+
+        // ## Act ##
+        translator.deleteStaleUnixDomainSocketIfExists(createLogger(), socketFile.getAbsolutePath());
+
+        // ## Assert ##
+        assertFalse(Files.exists(socketFile.toPath(), LinkOption.NOFOLLOW_LINKS));
+    }
+
+    public void test_deleteStaleUnixDomainSocketIfExists_notSocket() throws Exception {
+        // ## Arrange ##
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        final File regularFile = new File(baseDir, "sea.sock");
+        Files.write(regularFile.toPath(), "mystic".getBytes(StandardCharsets.UTF_8));
+        final File dir = new File(baseDir, "land.sock");
+        dir.mkdirs();
+        final File danglingLink = new File(baseDir, "piari.sock");
+        Files.createSymbolicLink(danglingLink.toPath(), new File(baseDir, "nothing").toPath());
+        final File regularLink = new File(baseDir, "bonvo.sock");
+        Files.createSymbolicLink(regularLink.toPath(), regularFile.toPath());
+
+        // ## Act ##
+        for (File file : Arrays.asList(regularFile, dir, danglingLink, regularLink, new File(baseDir, "dstore.sock"))) {
+            translator.deleteStaleUnixDomainSocketIfExists(createLogger(), file.getAbsolutePath());
+        }
+
+        // ## Assert ##
+        assertEquals("mystic", new String(Files.readAllBytes(regularFile.toPath()), StandardCharsets.UTF_8));
+        assertTrue(dir.isDirectory());
+        assertTrue(Files.isSymbolicLink(danglingLink.toPath()));
+        assertTrue(Files.isSymbolicLink(regularLink.toPath()));
+    }
+
+    // ===================================================================================
+    //                                                                           Byte Size
+    //                                                                           =========
+    public void test_toByteSize_basic() {
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        assertEquals(1073741824L, translator.toByteSize("sea", "1073741824"));
+        assertEquals(2048L, translator.toByteSize("sea", "2KB"));
+        assertEquals(512L * 1024L * 1024L, translator.toByteSize("sea", " 512mb "));
+        assertEquals(10L * 1024L * 1024L * 1024L, translator.toByteSize("sea", "10 GB"));
+        assertEquals(0L, translator.toByteSize("sea", "0"));
+    }
+
+    public void test_toByteSize_illegal() {
+        final BootPropsTranslator translator = new BootPropsTranslator();
+        assertException(IllegalStateException.class, () -> translator.toByteSize("sea", "1TB"));
+        assertException(IllegalStateException.class, () -> translator.toByteSize("sea", "MB"));
+        assertException(IllegalStateException.class, () -> translator.toByteSize("sea", "1.5GB"));
+        assertException(IllegalStateException.class, () -> translator.toByteSize("sea", "9999999999GB")); // overflow
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected Tomcat createServer() {
+        final Tomcat server = new Tomcat();
+        server.setBaseDir(baseDir.getAbsolutePath()); // not to make work directory in project
+        server.setPort(0);
+        server.getConnector(); // created as boot does before setting up config
+        return server;
+    }
+
+    protected boolean bindAndCloseUnixDomainSocket(File socketFile) throws Exception { // false if not supported
+        final Object address;
+        final Method openMethod;
+        try {
+            final Class<?> addressType = Class.forName("java.net.UnixDomainSocketAddress"); // since Java16
+            address = addressType.getMethod("of", Path.class).invoke(null, socketFile.toPath());
+            openMethod = ServerSocketChannel.class.getMethod("open", ProtocolFamily.class);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            return false;
+        }
+        final ProtocolFamily unix = StandardProtocolFamily.valueOf("UNIX");
+        try (ServerSocketChannel channel = (ServerSocketChannel) openMethod.invoke(null, unix)) {
+            channel.bind((SocketAddress) address);
+        } catch (InvocationTargetException e) { // e.g. not supported by OS
+            return false;
+        }
+        return true;
+    }
+
+    protected BootLogger createLogger() {
+        return new BootLogger(null, null, new Properties()); // console
+    }
+
+    protected void deleteRecursively(File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}